@@ -0,0 +1,50 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.SpringBootPracticeApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application against the in-memory H2 database of the test resources, seeded
+ * by {@code CommandLineConfig} as usual, either without a web server or with one on a
+ * random port.
+ */
+final class BenchmarkApplication {
+
+    static final String STUB = "stub";
+    static final String H2 = "h2";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(SpringBootPracticeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * @param properties extra {@code --name=value} arguments
+     */
+    static ConfigurableApplicationContext startServer(String... properties) {
+        List<String> args = new ArrayList<>(List.of("--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--server.port=0"));
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(SpringBootPracticeApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args.toArray(new String[0]));
+    }
+
+    static int portOf(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
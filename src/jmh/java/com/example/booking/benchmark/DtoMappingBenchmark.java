@@ -0,0 +1,147 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.account.Account;
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.auditorium.AuditoriumController;
+import com.example.booking.auditorium.AuditoriumDto;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieController;
+import com.example.booking.movie.MovieDto;
+import com.example.booking.screening.Screening;
+import com.example.booking.screening.ScreeningController;
+import com.example.booking.screening.ScreeningDto;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingController;
+import com.example.booking.seatBooking.SeatBookingDto;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion of the controllers, which runs once per entity in every response.
+ * The {@code ...WithModelMapper} benchmarks keep the reflective mapping the static mappers
+ * replaced as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private SeatBookingController seatBookingController;
+    private MovieController movieController;
+    private ScreeningController screeningController;
+    private AuditoriumController auditoriumController;
+
+    private SeatBooking seatBooking;
+    private Movie movie;
+    private Screening screening;
+    private Auditorium auditorium;
+
+    @Setup
+    public void setUp() {
+        this.modelMapper = new ModelMapper();
+        this.seatBookingController = new SeatBookingController(null, null, null, null);
+        this.movieController = new MovieController(null, null);
+        this.screeningController = new ScreeningController(null, null, null, null);
+        this.auditoriumController = new AuditoriumController(null, null);
+
+        this.auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .numberOfSeats(15)
+                .build();
+
+        this.movie = Movie.builder()
+                .movieId(1L)
+                .title("The batman")
+                .description("When the Riddler, a sadistic serial killer, begins murdering key political figures in Gotham, Batman is forced to investigate the city's hidden corruption.")
+                .duration(172)
+                .casts("Robert Pattison")
+                .startDate(LocalDate.of(2022, Month.MARCH, 2))
+                .endDate(LocalDate.of(2022, Month.MAY, 10))
+                .createdDateTime(1646092800L)
+                .updatedDateTime(1646092800L)
+                .build();
+
+        this.screening = Screening.builder()
+                .screeningId(1L)
+                .movie(this.movie)
+                .auditorium(this.auditorium)
+                .showTime(1646092800L)
+                .build();
+
+        Seat seat = Seat.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber("A")
+                        .seatNumber(10)
+                        .build())
+                .cost(BigDecimal.valueOf(10.90d))
+                .build();
+
+        this.seatBooking = SeatBooking.builder()
+                .seatBookingId(1L)
+                .bookedTime(1646092800L)
+                .account(Account.builder()
+                        .accountId(1L)
+                        .build())
+                .screening(this.screening)
+                .seatAuditorium(SeatAuditorium.builder()
+                        .id(SeatAuditoriumCK.builder()
+                                .seatId(seat.getSeatId())
+                                .auditoriumId(this.auditorium.getAuditoriumId())
+                                .build())
+                        .seat(seat)
+                        .auditorium(this.auditorium)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public SeatBookingDto seatBookingToDto() {
+        return this.seatBookingController.convertToDTO(this.seatBooking);
+    }
+
+    @Benchmark
+    public MovieDto movieToDto() {
+        return this.movieController.convertToDTO(this.movie);
+    }
+
+    @Benchmark
+    public ScreeningDto screeningToDto() {
+        return this.screeningController.convertToDTO(this.screening);
+    }
+
+    @Benchmark
+    public AuditoriumDto auditoriumToDto() {
+        return this.auditoriumController.convertToDTO(this.auditorium);
+    }
+
+    @Benchmark
+    public MovieDto movieToDtoWithModelMapper() {
+        return this.modelMapper.map(this.movie, MovieDto.class);
+    }
+
+    @Benchmark
+    public ScreeningDto screeningToDtoWithModelMapper() {
+        return this.modelMapper.map(this.screening, ScreeningDto.class);
+    }
+
+    @Benchmark
+    public AuditoriumDto auditoriumToDtoWithModelMapper() {
+        return this.modelMapper.map(this.auditorium, AuditoriumDto.class);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.booking.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Map backed stand-in for a Spring Data repository, so a service can be benchmarked
+ * without a database. Lookups read the map and saves hand the entity straight back,
+ * which keeps the heap flat however many operations are measured.
+ */
+final class InMemoryRepository implements InvocationHandler {
+
+    private final Map<?, ?> rows;
+
+    private InMemoryRepository(Map<?, ?> rows) {
+        this.rows = rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R> R of(Class<R> repositoryType, Map<?, ?> rows) {
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(),
+                new Class<?>[]{repositoryType},
+                new InMemoryRepository(rows));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "findById":
+                return Optional.ofNullable(this.rows.get(args[0]));
+            case "existsById":
+                return this.rows.containsKey(args[0]);
+            case "findAll":
+                return new ArrayList<>(this.rows.values());
+            case "count":
+                return (long) this.rows.size();
+            case "save":
+            case "saveAndFlush":
+                return args[0];
+            case "insertIfSeatFree":
+                return Optional.of(1L);
+            case "saveAll": {
+                List<Object> saved = new ArrayList<>();
+                ((Iterable<?>) args[0]).forEach(saved::add);
+                return saved;
+            }
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryRepository" + this.rows.keySet();
+            default:
+                throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.account.Account;
+import com.example.booking.account.AccountRepository;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.example.booking.screening.Screening;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the request execution modes against the running application. A burst of
+ * bookings is posted to {@code POST api/v1/seatbooking} at once, each for a seat nobody
+ * holds, with {@code booking.virtual-threads.enabled} off (Tomcat's 200 workers) or on
+ * (a virtual thread per request, which needs a Java 21 runtime), and a Hikari pool of
+ * {@code connections}. The score is the time to drain the burst; the
+ * {@code created} and {@code rejected} counters report how the bookings were answered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestThreadsBenchmark {
+
+    private static final int BURST = 500;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"10", "100"})
+    public int connections;
+
+    private ConfigurableApplicationContext context;
+    private ScreeningRepository screeningRepository;
+    private ObjectMapper objectMapper;
+    private HttpClient httpClient;
+    private URI uri;
+    private Movie movie;
+    private Account account;
+    private List<SeatAuditorium> seatAuditoriums;
+    private long nextShowTime = 1L;
+    private List<HttpRequest> burst;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long created;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.created = 0;
+            this.rejected = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.startServer(
+                "--booking.virtual-threads.enabled=" + this.virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + this.connections);
+        this.screeningRepository = this.context.getBean(ScreeningRepository.class);
+        this.objectMapper = this.context.getBean(ObjectMapper.class);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.uri = URI.create("http://localhost:" + BenchmarkApplication.portOf(this.context) + "/api/v1/seatbooking");
+
+        SeatAuditoriumRepository seatAuditoriumRepository = this.context.getBean(SeatAuditoriumRepository.class);
+        SeatAuditorium firstSeat = seatAuditoriumRepository.findAll().get(0);
+        this.seatAuditoriums = seatAuditoriumRepository.findAllByAuditoriumId(firstSeat.getAuditorium().getAuditoriumId());
+        this.movie = this.context.getBean(MovieRepository.class).findAll().get(0);
+        this.account = this.context.getBean(AccountRepository.class).save(Account.builder()
+                .name("benchmark")
+                .email("benchmark@example.com")
+                .password("benchmark")
+                .build());
+    }
+
+    /**
+     * Schedules fresh screenings for every burst, so no booking of it loses to an earlier
+     * one. A burst takes milliseconds, which is long enough for a per-invocation setup.
+     */
+    @Setup(Level.Invocation)
+    public void prepareBurst() throws JsonProcessingException {
+        int screeningCount = (BURST + this.seatAuditoriums.size() - 1) / this.seatAuditoriums.size();
+        List<Screening> screenings = new ArrayList<>(screeningCount);
+        for(int i = 0; i < screeningCount; i++)
+            screenings.add(Screening.builder()
+                    .movie(this.movie)
+                    .auditorium(this.seatAuditoriums.get(0).getAuditorium())
+                    .showTime(this.nextShowTime++)
+                    .build());
+        screenings = this.screeningRepository.saveAll(screenings);
+
+        this.burst = new ArrayList<>(BURST);
+        for(int i = 0; i < BURST; i++){
+            SeatAuditorium seatAuditorium = this.seatAuditoriums.get(i % this.seatAuditoriums.size());
+            SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                    .bookedTime(1L)
+                    .accountId(this.account.getAccountId())
+                    .screeningId(screenings.get(i / this.seatAuditoriums.size()).getScreeningId())
+                    .auditoriumId(seatAuditorium.getId().getAuditoriumId())
+                    .rowNumber(seatAuditorium.getId().getSeatId().getRowNumber())
+                    .seatNumber(seatAuditorium.getId().getSeatId().getSeatNumber())
+                    .build();
+            this.burst.add(HttpRequest.newBuilder(this.uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(this.objectMapper.writeValueAsString(seatBookingDto)))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public void drainBurst(Responses responses) {
+        List<CompletableFuture<HttpResponse<Void>>> pending = new ArrayList<>(BURST);
+        for(HttpRequest request: this.burst)
+            pending.add(this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+
+        for(CompletableFuture<HttpResponse<Void>> response: pending){
+            if(response.join().statusCode() == 201)
+                responses.created++;
+            else
+                responses.rejected++;
+        }
+    }
+}
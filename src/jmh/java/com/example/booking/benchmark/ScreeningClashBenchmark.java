@@ -0,0 +1,109 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.example.booking.screening.ScreeningDto;
+import com.example.booking.screening.ScreeningImportService;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.screening.ScreeningSchedule;
+import com.example.booking.screening.ScreeningService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks random show times against an auditorium already holding back to back screenings,
+ * about half of which clash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScreeningClashBenchmark {
+
+    private static final int PROBES = 1 << 12;
+    private static final long DURATION_MINUTES = 120;
+
+    @Param({BenchmarkApplication.STUB, BenchmarkApplication.H2})
+    public String backend;
+
+    @Param({"100", "10000"})
+    public int screenings;
+
+    private ConfigurableApplicationContext context;
+    private ScreeningService screeningService;
+    private long auditoriumId;
+    private long[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long gap = 2 * DURATION_MINUTES * 60;
+
+        if(BenchmarkApplication.H2.equals(this.backend)){
+            this.context = BenchmarkApplication.start();
+            Movie movie = this.context.getBean(MovieRepository.class).save(Movie.builder()
+                    .title("benchmark")
+                    .duration((int) DURATION_MINUTES)
+                    .build());
+            Auditorium auditorium = this.context.getBean(AuditoriumRepository.class).findAll().get(0);
+
+            List<ScreeningDto> screeningDtos = new ArrayList<>(this.screenings);
+            for(int i = 0; i < this.screenings; i++)
+                screeningDtos.add(ScreeningDto.builder()
+                        .showTime(gap * (i + 1))
+                        .movieId(movie.getMovieId())
+                        .auditoriumId(auditorium.getAuditoriumId())
+                        .build());
+            this.context.getBean(ScreeningImportService.class).importScreenings(screeningDtos);
+
+            this.auditoriumId = auditorium.getAuditoriumId();
+            this.screeningService = this.context.getBean(ScreeningService.class);
+        }
+        else{
+            ScreeningSchedule screeningSchedule = new ScreeningSchedule();
+            screeningSchedule.setMovieDuration(1L, (int) DURATION_MINUTES);
+            for(int i = 0; i < this.screenings; i++)
+                screeningSchedule.put(i + 1, 1L, 1L, gap * (i + 1));
+
+            this.auditoriumId = 1L;
+            this.screeningService = new ScreeningService(
+                    InMemoryRepository.of(ScreeningRepository.class, Map.of()),
+                    InMemoryRepository.of(AuditoriumRepository.class, Map.of()),
+                    InMemoryRepository.of(MovieRepository.class, Map.of()),
+                    screeningSchedule);
+        }
+
+        Random random = new Random(42);
+        this.probes = new long[PROBES];
+        for(int i = 0; i < PROBES; i++)
+            this.probes[i] = gap + (long) (random.nextDouble() * gap * this.screenings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if(this.context != null)
+            this.context.close();
+    }
+
+    @Benchmark
+    public Boolean isScreeningExist() {
+        long showTime = this.probes[this.next++ & (PROBES - 1)];
+        return this.screeningService.isScreeningExist(this.auditoriumId, showTime, DURATION_MINUTES);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.account.Account;
+import com.example.booking.account.AccountRepository;
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.example.booking.screening.Screening;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import com.example.booking.seatBooking.BookingJournal;
+import com.example.booking.seatBooking.BookingMetrics;
+import com.example.booking.seatBooking.ScreeningMailboxes;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.example.booking.seatBooking.SeatBookingRepository;
+import com.example.booking.seatBooking.SeatBookingService;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Books every seat of many screenings in turn through {@link SeatBookingService#addSeatBooking},
+ * starting over with no bookings at each iteration or when every seat is taken.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SeatBookingBenchmark {
+
+    private static final int SCREENINGS = 2_000;
+
+    @Param({BenchmarkApplication.STUB, BenchmarkApplication.H2})
+    public String backend;
+
+    private ConfigurableApplicationContext context;
+    private SeatBookingService seatBookingService;
+    private Runnable clearBookings;
+    private List<SeatBookingDto> seatBookingDtos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if(BenchmarkApplication.H2.equals(this.backend))
+            setUpH2();
+        else
+            setUpStub();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        this.clearBookings.run();
+        this.next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if(this.context != null)
+            this.context.close();
+    }
+
+    @Benchmark
+    public SeatBooking addSeatBooking() {
+        if(this.next == this.seatBookingDtos.size())
+            clearBookings();
+        return this.seatBookingService.addSeatBooking(this.seatBookingDtos.get(this.next++));
+    }
+
+    private void setUpStub() {
+        Auditorium auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .numberOfSeats(15)
+                .build();
+
+        Map<SeatAuditoriumCK, SeatAuditorium> seatAuditoriums = new HashMap<>();
+        for(String rowNumber: List.of("A", "B", "C"))
+            for(int seatNumber = 10; seatNumber <= 50; seatNumber += 10){
+                Seat seat = Seat.builder()
+                        .seatId(SeatId.builder()
+                                .rowNumber(rowNumber)
+                                .seatNumber(seatNumber)
+                                .build())
+                        .cost(BigDecimal.valueOf(10.90d))
+                        .build();
+                SeatAuditoriumCK id = SeatAuditoriumCK.builder()
+                        .seatId(seat.getSeatId())
+                        .auditoriumId(auditorium.getAuditoriumId())
+                        .build();
+                seatAuditoriums.put(id, SeatAuditorium.builder()
+                        .id(id)
+                        .seat(seat)
+                        .auditorium(auditorium)
+                        .build());
+            }
+
+        Map<Long, Screening> screenings = new HashMap<>();
+        for(long screeningId = 1; screeningId <= SCREENINGS; screeningId++)
+            screenings.put(screeningId, Screening.builder()
+                    .screeningId(screeningId)
+                    .auditorium(auditorium)
+                    .build());
+
+        Account account = Account.builder()
+                .accountId(1L)
+                .build();
+
+        SeatOccupancyIndex seatOccupancyIndex = new SeatOccupancyIndex();
+        this.seatBookingService = new SeatBookingService(
+                InMemoryRepository.of(SeatBookingRepository.class, Map.of()),
+                InMemoryRepository.of(SeatAuditoriumRepository.class, seatAuditoriums),
+                InMemoryRepository.of(AccountRepository.class, Map.of(account.getAccountId(), account)),
+                InMemoryRepository.of(ScreeningRepository.class, screenings),
+                seatOccupancyIndex,
+                new BookingJournal(null, null, null, null, seatOccupancyIndex, new SimpleMeterRegistry(), false, null, 0, 0, 0),
+                new ScreeningMailboxes(0, 10000, 200),
+                new BookingMetrics(new SimpleMeterRegistry()));
+        this.clearBookings = seatOccupancyIndex::clear;
+        this.seatBookingDtos = seatBookingDtosOf(new ArrayList<>(screenings.values()), account,
+                new ArrayList<>(seatAuditoriums.values()));
+    }
+
+    private void setUpH2() {
+        this.context = BenchmarkApplication.start();
+
+        SeatAuditoriumRepository seatAuditoriumRepository = this.context.getBean(SeatAuditoriumRepository.class);
+        SeatBookingRepository seatBookingRepository = this.context.getBean(SeatBookingRepository.class);
+        SeatOccupancyIndex seatOccupancyIndex = this.context.getBean(SeatOccupancyIndex.class);
+
+        SeatAuditorium firstSeat = seatAuditoriumRepository.findAll().get(0);
+        Auditorium auditorium = firstSeat.getAuditorium();
+        List<SeatAuditorium> seatAuditoriums = seatAuditoriumRepository.findAllByAuditoriumId(auditorium.getAuditoriumId());
+        Movie movie = this.context.getBean(MovieRepository.class).findAll().get(0);
+
+        List<Screening> screenings = new ArrayList<>(SCREENINGS);
+        for(int i = 0; i < SCREENINGS; i++)
+            screenings.add(Screening.builder()
+                    .movie(movie)
+                    .auditorium(auditorium)
+                    .showTime(1L + i)
+                    .build());
+        screenings = this.context.getBean(ScreeningRepository.class).saveAll(screenings);
+
+        Account account = this.context.getBean(AccountRepository.class).save(Account.builder()
+                .name("benchmark")
+                .email("benchmark@example.com")
+                .password("benchmark")
+                .build());
+
+        this.seatBookingService = this.context.getBean(SeatBookingService.class);
+        this.clearBookings = () -> {
+            seatBookingRepository.deleteAllInBatch();
+            seatOccupancyIndex.clear();
+        };
+        this.seatBookingDtos = seatBookingDtosOf(screenings, account, seatAuditoriums);
+    }
+
+    private static List<SeatBookingDto> seatBookingDtosOf(List<Screening> screenings, Account account,
+                                                          List<SeatAuditorium> seatAuditoriums) {
+        return screenings.stream()
+                .flatMap(screening -> seatAuditoriums.stream()
+                        .map(seatAuditorium -> SeatBookingDto.builder()
+                                .bookedTime(1L)
+                                .accountId(account.getAccountId())
+                                .screeningId(screening.getScreeningId())
+                                .auditoriumId(seatAuditorium.getAuditorium().getAuditoriumId())
+                                .rowNumber(seatAuditorium.getSeat().getSeatId().getRowNumber())
+                                .seatNumber(seatAuditorium.getSeat().getSeatId().getSeatNumber())
+                                .build()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.booking.benchmark;
+
+import com.example.booking.account.Account;
+import com.example.booking.account.AccountRepository;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.example.booking.screening.Screening;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one seat booking on H2, either by reading whether the seat is taken and saving
+ * it in the same transaction, or with the single conflict-checked
+ * {@link SeatBookingRepository#insertIfSeatFree}. With {@code seat=free} every booking is
+ * for a seat nobody holds, starting over with no bookings at each iteration; with
+ * {@code seat=taken} every booking loses to the one already there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SeatBookingInsertBenchmark {
+
+    private static final int SCREENINGS = 2_000;
+    private static final String IS_TAKEN = "SELECT COUNT(b) FROM SeatBooking b " +
+            "WHERE b.screening = :screening AND b.seatAuditorium = :seatAuditorium";
+
+    @Param({"free", "taken"})
+    public String seat;
+
+    private ConfigurableApplicationContext context;
+    private SeatBookingRepository seatBookingRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private List<SeatBooking> seatBookings;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.context = BenchmarkApplication.start();
+        this.seatBookingRepository = this.context.getBean(SeatBookingRepository.class);
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                this.context.getBean(EntityManagerFactory.class));
+        this.transactionTemplate = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+
+        SeatAuditoriumRepository seatAuditoriumRepository = this.context.getBean(SeatAuditoriumRepository.class);
+        SeatAuditorium firstSeat = seatAuditoriumRepository.findAll().get(0);
+        List<SeatAuditorium> seatAuditoriums = seatAuditoriumRepository
+                .findAllByAuditoriumId(firstSeat.getAuditorium().getAuditoriumId());
+        Movie movie = this.context.getBean(MovieRepository.class).findAll().get(0);
+
+        List<Screening> screenings = new ArrayList<>(SCREENINGS);
+        for(int i = 0; i < SCREENINGS; i++)
+            screenings.add(Screening.builder()
+                    .movie(movie)
+                    .auditorium(firstSeat.getAuditorium())
+                    .showTime(1L + i)
+                    .build());
+        screenings = this.context.getBean(ScreeningRepository.class).saveAll(screenings);
+
+        Account account = this.context.getBean(AccountRepository.class).save(Account.builder()
+                .name("benchmark")
+                .email("benchmark@example.com")
+                .password("benchmark")
+                .build());
+
+        this.seatBookings = new ArrayList<>();
+        for(Screening screening: screenings)
+            for(SeatAuditorium seatAuditorium: seatAuditoriums)
+                this.seatBookings.add(SeatBooking.builder()
+                        .bookedTime(1L)
+                        .account(account)
+                        .screening(screening)
+                        .seatAuditorium(seatAuditorium)
+                        .build());
+    }
+
+    @Setup(Level.Iteration)
+    public void clearBookings() {
+        this.seatBookingRepository.deleteAllInBatch();
+        this.next = 0;
+        if("taken".equals(this.seat))
+            this.seatBookingRepository.save(copyOf(this.seatBookings.get(0)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.context.close();
+    }
+
+    @Benchmark
+    public Long readThenSave() {
+        SeatBooking seatBooking = nextSeatBooking();
+        return this.transactionTemplate.execute(status -> {
+            long taken = this.entityManager.createQuery(IS_TAKEN, Long.class)
+                    .setParameter("screening", seatBooking.getScreening())
+                    .setParameter("seatAuditorium", seatBooking.getSeatAuditorium())
+                    .getSingleResult();
+            return taken > 0 ? null : this.seatBookingRepository.save(seatBooking).getSeatBookingId();
+        });
+    }
+
+    @Benchmark
+    public Long insertIfSeatFree() {
+        return this.seatBookingRepository.insertIfSeatFree(nextSeatBooking()).orElse(null);
+    }
+
+    private SeatBooking nextSeatBooking() {
+        if("taken".equals(this.seat))
+            return copyOf(this.seatBookings.get(0));
+        if(this.next == this.seatBookings.size())
+            clearBookings();
+        return copyOf(this.seatBookings.get(this.next++));
+    }
+
+    private static SeatBooking copyOf(SeatBooking seatBooking) {
+        return SeatBooking.builder()
+                .bookedTime(seatBooking.getBookedTime())
+                .account(seatBooking.getAccount())
+                .screening(seatBooking.getScreening())
+                .seatAuditorium(seatBooking.getSeatAuditorium())
+                .build();
+    }
+}
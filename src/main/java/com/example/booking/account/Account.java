@@ -1,5 +1,6 @@
 package com.example.booking.account;
 
+import com.example.booking.config.IdAllocation;
 import com.example.booking.seatBooking.SeatBooking;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,7 +30,7 @@ public class Account {
     @SequenceGenerator(
             name="account_sequence",
             sequenceName = "account_sequence",
-            allocationSize = 1
+            allocationSize = IdAllocation.ACCOUNT_BLOCK_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
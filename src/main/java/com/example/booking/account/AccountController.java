@@ -6,6 +6,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -24,8 +25,9 @@ public class AccountController {
     }
 
     @GetMapping
-    public List<Account> getAccount(){
-        return this.service.getAccount();
+    public ResponseEntity<List<Account>> getAccount(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit){
+        return this.service.getAccount(cursor, limit).toResponse(account -> account);
     }
 
     @PostMapping
@@ -1,9 +1,13 @@
 package com.example.booking.account;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    List<Account> findByAccountIdGreaterThanOrderByAccountId(long accountId, Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package com.example.booking.account;
 
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,8 +19,12 @@ public class AccountService {
         this.repository = repository;
     }
 
-    public List<Account> getAccount() {
-        return this.repository.findAll();
+    public KeysetPage<Account> getAccount(String cursor, Integer limit) {
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 1);
+        List<Account> rows = this.repository.findByAccountIdGreaterThanOrderByAccountId(
+                after == null ? 0L : after.getLong(0), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, account -> Cursor.of(account.getAccountId()));
     }
 
     public Account addNewAccount(Account account) {
@@ -1,5 +1,7 @@
 package com.example.booking.auditorium;
 
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.config.IdAllocation;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import com.example.booking.screening.Screening;
 import lombok.AllArgsConstructor;
@@ -7,7 +9,10 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -26,13 +31,15 @@ import java.util.Objects;
 @Builder
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCache.AUDITORIUM_REGION)
 public class Auditorium {
 
     @Id
     @SequenceGenerator(
             name = "audi_sequence",
             sequenceName = "audi_sequence",
-            allocationSize = 1
+            allocationSize = IdAllocation.AUDITORIUM_BLOCK_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -1,6 +1,7 @@
 package com.example.booking.auditorium;
 
-import org.modelmapper.ModelMapper;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,37 +11,43 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path="api/v1/auditorium")
 public class AuditoriumController {
 
     private final AuditoriumService service;
-    private final ModelMapper modelMapper;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public AuditoriumController(AuditoriumService service, ModelMapper modelMapper) {
+    public AuditoriumController(AuditoriumService service, AggregateVersions aggregateVersions) {
         this.service = service;
-        this.modelMapper = modelMapper;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping(path="/{auditoriumId}")
-    public ResponseEntity<AuditoriumDto> getAuditoriumById(@PathVariable("auditoriumId") Long id){
+    public ResponseEntity<AuditoriumDto> getAuditoriumById(@PathVariable("auditoriumId") Long id, WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.AUDITORIUM)))
+            return null;
+
         return ResponseEntity.ok().body(convertToDTO(this.service.getAuditoriumById(id)));
     }
 
     @GetMapping
-    public ResponseEntity<List<AuditoriumDto>> getAuditoriums(){
-        return ResponseEntity.ok().body(
-                this.service.getAuditoriums().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<AuditoriumDto>> getAuditoriums(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.AUDITORIUM)))
+            return null;
+
+        return this.service.getAuditoriums(cursor, limit).toResponse(this::convertToDTO);
     }
 
     @PostMapping
@@ -75,10 +82,10 @@ public class AuditoriumController {
     }
 
     public Auditorium convertToEntity(AuditoriumDto postDTO){
-        return this.modelMapper.map(postDTO, Auditorium.class);
+        return AuditoriumMapper.toEntity(postDTO);
     }
 
     public AuditoriumDto convertToDTO(Auditorium auditorium){
-        return this.modelMapper.map(auditorium, AuditoriumDto.class);
+        return AuditoriumMapper.toDto(auditorium);
     }
 }
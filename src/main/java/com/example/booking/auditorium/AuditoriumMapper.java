@@ -0,0 +1,21 @@
+package com.example.booking.auditorium;
+
+public final class AuditoriumMapper {
+
+    private AuditoriumMapper() {
+    }
+
+    public static AuditoriumDto toDto(Auditorium auditorium){
+        return AuditoriumDto.builder()
+                .auditoriumId(auditorium.getAuditoriumId())
+                .numberOfSeats(auditorium.getNumberOfSeats())
+                .build();
+    }
+
+    public static Auditorium toEntity(AuditoriumDto auditoriumDto){
+        return Auditorium.builder()
+                .auditoriumId(auditoriumDto.getAuditoriumId())
+                .numberOfSeats(auditoriumDto.getNumberOfSeats())
+                .build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.booking.auditorium;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AuditoriumRepository extends JpaRepository<Auditorium, Long> {
 
+    List<Auditorium> findByAuditoriumIdGreaterThanOrderByAuditoriumId(long auditoriumId, Pageable pageable);
 }
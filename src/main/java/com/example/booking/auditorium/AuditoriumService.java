@@ -1,7 +1,12 @@
 package com.example.booking.auditorium;
 
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.AuditoriumNotFoundException;
 import com.example.booking.exception.BadRequestException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -11,14 +16,23 @@ import java.util.List;
 public class AuditoriumService {
 
     private final AuditoriumRepository repository;
+    private final AggregateVersions aggregateVersions;
+    private final ReferenceCache referenceCache;
 
     @Autowired
-    public AuditoriumService(AuditoriumRepository repository) {
+    public AuditoriumService(AuditoriumRepository repository, AggregateVersions aggregateVersions,
+                             ReferenceCache referenceCache) {
         this.repository = repository;
+        this.aggregateVersions = aggregateVersions;
+        this.referenceCache = referenceCache;
     }
 
-    public List<Auditorium> getAuditoriums() {
-        return this.repository.findAll();
+    public KeysetPage<Auditorium> getAuditoriums(String cursor, Integer limit) {
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 1);
+        List<Auditorium> rows = this.repository.findByAuditoriumIdGreaterThanOrderByAuditoriumId(
+                after == null ? 0L : after.getLong(0), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, auditorium -> Cursor.of(auditorium.getAuditoriumId()));
     }
 
     public Auditorium getAuditoriumById(Long id) {
@@ -29,7 +43,9 @@ public class AuditoriumService {
     }
 
     public Auditorium addNewAuditorium(Auditorium auditorium) {
-        return this.repository.save(auditorium);
+        Auditorium savedAuditorium = this.repository.save(auditorium);
+        this.aggregateVersions.bump(Aggregate.AUDITORIUM);
+        return savedAuditorium;
     }
 
     public void deleteAuditorium(Long id) {
@@ -41,6 +57,8 @@ public class AuditoriumService {
         }
 
         this.repository.deleteById(id);
+        this.referenceCache.evictSeatAuditoriums();
+        this.aggregateVersions.bump(Aggregate.AUDITORIUM, Aggregate.SEAT_AUDITORIUM);
 
     }
 
@@ -55,7 +73,9 @@ public class AuditoriumService {
             auditorium.setNumberOfSeats(numberOfSeats);
         }
 
-        return this.repository.save(auditorium);
+        Auditorium updatedAuditorium = this.repository.save(auditorium);
+        this.aggregateVersions.bump(Aggregate.AUDITORIUM);
+        return updatedAuditorium;
 
     }
 }
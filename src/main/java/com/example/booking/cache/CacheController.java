@@ -0,0 +1,24 @@
+package com.example.booking.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path="api/v1/cache")
+public class CacheController {
+
+    private final ReferenceCache referenceCache;
+
+    @Autowired
+    public CacheController(ReferenceCache referenceCache) {
+        this.referenceCache = referenceCache;
+    }
+
+    @GetMapping(path = "statistics")
+    public ResponseEntity<CacheStatisticsDto> getStatistics(){
+        return ResponseEntity.ok().body(this.referenceCache.getStatistics());
+    }
+}
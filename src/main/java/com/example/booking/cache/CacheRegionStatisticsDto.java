@@ -0,0 +1,18 @@
+package com.example.booking.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheRegionStatisticsDto {
+    private String region;
+    private Long hitCount;
+    private Long missCount;
+    private Long putCount;
+
+}
@@ -0,0 +1,22 @@
+package com.example.booking.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheStatisticsDto {
+    private Long secondLevelCacheHitCount;
+    private Long secondLevelCacheMissCount;
+    private Long queryCacheHitCount;
+    private Long queryCacheMissCount;
+    private Long prepareStatementCount;
+    private List<CacheRegionStatisticsDto> regions;
+
+}
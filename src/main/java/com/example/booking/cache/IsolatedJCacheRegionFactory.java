@@ -0,0 +1,29 @@
+package com.example.booking.cache;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Gives every session factory its own cache manager built from {@code ehcache.xml}.
+ * JCache shares managers by URI and Hibernate closes its manager along with the session
+ * factory, so a shared one would be closed under any other context still using it.
+ */
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    static final String CONFIGURATION = "/ehcache.xml";
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map properties) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:booking:hibernate-cache:" + UUID.randomUUID()),
+                new XmlConfiguration(IsolatedJCacheRegionFactory.class.getResource(CONFIGURATION)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.booking.cache;
+
+import com.example.booking.config.AfterCommit;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Second-level cache regions of the reference entities: seats, auditoriums and the seats of
+ * each auditorium. They change a few times a year, so bookings resolve them from memory.
+ * Hibernate keeps an entity region in step with writes made through the entity manager.
+ * A seat or auditorium delete also drops the cached seat auditoriums that may point at it.
+ * Region sizes are set in {@code ehcache.xml}.
+ */
+@Component
+public class ReferenceCache {
+
+    public static final String SEAT_REGION = "seat";
+    public static final String AUDITORIUM_REGION = "auditorium";
+    public static final String SEAT_AUDITORIUM_REGION = "seatAuditorium";
+    public static final String SEAT_AUDITORIUM_QUERY_REGION = "seatAuditoriumQuery";
+
+    private static final List<String> ENTITY_REGIONS = List.of(SEAT_REGION, AUDITORIUM_REGION, SEAT_AUDITORIUM_REGION);
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public ReferenceCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // a query region is otherwise built on first use, and Hibernate remembers statistics
+        // asked for before then as missing for good
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache()
+                .getQueryResultsCache(SEAT_AUDITORIUM_QUERY_REGION);
+    }
+
+    /**
+     * Drops every cached seat auditorium once the surrounding transaction commits.
+     */
+    public void evictSeatAuditoriums(){
+        AfterCommit.run(() -> {
+            this.sessionFactory.getCache().evictEntityData(SeatAuditorium.class);
+            this.sessionFactory.getCache().evictQueryRegion(SEAT_AUDITORIUM_QUERY_REGION);
+        });
+    }
+
+    public CacheStatisticsDto getStatistics(){
+        Statistics statistics = this.sessionFactory.getStatistics();
+        return CacheStatisticsDto.builder()
+                .secondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount())
+                .secondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount())
+                .queryCacheHitCount(statistics.getQueryCacheHitCount())
+                .queryCacheMissCount(statistics.getQueryCacheMissCount())
+                .prepareStatementCount(statistics.getPrepareStatementCount())
+                .regions(Stream.concat(
+                                ENTITY_REGIONS.stream()
+                                        .map(region -> toDto(region, statistics.getDomainDataRegionStatistics(region))),
+                                Stream.of(toDto(SEAT_AUDITORIUM_QUERY_REGION,
+                                        statistics.getQueryRegionStatistics(SEAT_AUDITORIUM_QUERY_REGION))))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics statistics){
+        return CacheRegionStatisticsDto.builder()
+                .region(region)
+                .hitCount(statistics.getHitCount())
+                .missCount(statistics.getMissCount())
+                .putCount(statistics.getPutCount())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.booking.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs an in-memory update once the surrounding transaction commits, or right away
+ * outside a transaction, so a read racing the write cannot cache the rows from before it
+ * and a rolled back write never reaches memory. An update that has to be made before the
+ * commit, such as a reservation, registers its undo with {@link #onRollback} instead.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    /**
+     * Runs the undo of an in-memory update if the surrounding transaction does not
+     * commit. Outside a transaction there is nothing to roll back, so it never runs.
+     */
+    public static void onRollback(Runnable undo) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if(status != STATUS_COMMITTED)
+                    undo.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.booking.config;
+
+import com.example.booking.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts every exception of the {@code exception} package that reaches a controller, as
+ * {@code booking.exceptions} tagged with the exception's simple name. The resolver runs
+ * first and never handles the exception itself, so the usual status mapping still applies.
+ */
+@Component
+public class ExceptionMetrics implements HandlerExceptionResolver, Ordered {
+
+    static final String EXCEPTION_COUNTER = "booking.exceptions";
+    private static final String EXCEPTION_PACKAGE = BadRequestException.class.getPackageName();
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExceptionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response,
+                                         Object handler, Exception ex) {
+        if(EXCEPTION_PACKAGE.equals(ex.getClass().getPackageName()))
+            this.counters.computeIfAbsent(ex.getClass(), type -> Counter.builder(EXCEPTION_COUNTER)
+                    .description("Exceptions returned to clients")
+                    .tag("exception", type.getSimpleName())
+                    .register(this.meterRegistry))
+                    .increment();
+        return null;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.booking.config;
+
+/**
+ * Block sizes of the entity id sequences. Each sequence increments by its block size
+ * and Hibernate hands out the ids of a block from memory, so an insert only hits the
+ * sequence once per block. Which end of the block the sequence value marks is set by
+ * {@code hibernate.id.optimizer.pooled.preferred}, {@code pooled} or {@code pooled-lo}.
+ * <p>
+ * The sizes are annotation values and need a rebuild to change. The sequence in the
+ * database must then increment by the new size, see {@code db/pooled-sequences.sql}.
+ */
+public final class IdAllocation {
+
+    public static final int SEAT_BOOKING_BLOCK_SIZE = 50;
+    public static final int SCREENING_BLOCK_SIZE = 50;
+    public static final int ACCOUNT_BLOCK_SIZE = 20;
+    public static final int MOVIE_BLOCK_SIZE = 10;
+    public static final int AUDITORIUM_BLOCK_SIZE = 10;
+
+    private IdAllocation() {
+    }
+}
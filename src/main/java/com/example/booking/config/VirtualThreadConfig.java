@@ -0,0 +1,35 @@
+package com.example.booking.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Opt-in with {@code booking.virtual-threads.enabled=true}. Tomcat then hands every
+ * request to a new virtual thread instead of its bounded worker pool, so controllers,
+ * services and their blocking repository calls park cheaply while they wait on the
+ * database, and async MVC work (the NDJSON export, seat map streams) runs the same way.
+ * Startup fails on a runtime older than Java 21.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    private final Executor requestExecutor = VirtualThreads.newPerTaskExecutor("http-virtual-");
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(this.requestExecutor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(VirtualThreads.newPerTaskExecutor("mvc-async-virtual-")));
+    }
+}
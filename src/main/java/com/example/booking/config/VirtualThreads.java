@@ -0,0 +1,45 @@
+package com.example.booking.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Reaches virtual threads through reflection so the application keeps compiling for
+ * Java 11 and only needs a Java 21 runtime when virtual threads are switched on.
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        try {
+            newFactory("virtual-thread-probe-");
+            return true;
+        }
+        catch (IllegalStateException e){
+            return false;
+        }
+    }
+
+    /**
+     * @return an executor that starts a new virtual thread for every task
+     * @throws IllegalStateException if the runtime has no virtual threads
+     */
+    public static Executor newPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = newFactory(namePrefix);
+        return task -> factory.newThread(task).start();
+    }
+
+    private static ThreadFactory newFactory(String namePrefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        }
+        catch (ReflectiveOperationException e){
+            throw new IllegalStateException("Virtual threads need a Java 21 or later runtime", e);
+        }
+    }
+}
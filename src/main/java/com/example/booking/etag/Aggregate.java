@@ -0,0 +1,11 @@
+package com.example.booking.etag;
+
+/**
+ * The catalogue aggregates whose GET responses carry an ETag.
+ */
+public enum Aggregate {
+    MOVIE,
+    AUDITORIUM,
+    SEAT,
+    SEAT_AUDITORIUM
+}
@@ -0,0 +1,50 @@
+package com.example.booking.etag;
+
+import com.example.booking.config.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One version counter per {@link Aggregate}, bumped by every write to it. The ETag of a
+ * response is the version of the aggregate it was read from, so a conditional GET is
+ * answered from the counter alone. Versions restart with the process, so the ETag also
+ * carries the start time to keep a restart from reusing an old tag.
+ */
+@Component
+public class AggregateVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+
+    public AggregateVersions() {
+        for(Aggregate aggregate: Aggregate.values())
+            this.versions.put(aggregate, new AtomicLong());
+    }
+
+    public String eTag(Aggregate aggregate) {
+        return "\"" + aggregate.name().toLowerCase() + "-" + this.epoch + "-" + this.versions.get(aggregate).get() + "\"";
+    }
+
+    /**
+     * ETag of a response that also depends on something other than the aggregate, such
+     * as the date a list was filtered by.
+     */
+    public String eTag(Aggregate aggregate, Object qualifier) {
+        String eTag = eTag(aggregate);
+        return eTag.substring(0, eTag.length() - 1) + "-" + qualifier + "\"";
+    }
+
+    /**
+     * Bumps the version of each aggregate once the surrounding transaction commits, so a
+     * read racing the write cannot tag the rows from before it with the new version.
+     */
+    public void bump(Aggregate... aggregates) {
+        AfterCommit.run(() -> {
+            for(Aggregate aggregate: aggregates)
+                this.versions.get(aggregate).incrementAndGet();
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.booking.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Answers a retry whose first attempt is still running. Extends
+ * {@link ResponseStatusException} rather than using {@code @ResponseStatus}, which has no
+ * way to add the {@code Retry-After} header.
+ */
+public class IdempotencyKeyInProgressException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public IdempotencyKeyInProgressException(String msg, long retryAfterSeconds) {
+        super(HttpStatus.CONFLICT, msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getResponseHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(this.retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SeatAlreadyBookedException extends RuntimeException{
+    public SeatAlreadyBookedException(String msg) {
+        super(msg);
+    }
+}
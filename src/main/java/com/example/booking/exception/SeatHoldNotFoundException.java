@@ -0,0 +1,11 @@
+package com.example.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SeatHoldNotFoundException extends RuntimeException{
+    public SeatHoldNotFoundException(String msg) {
+        super(msg);
+    }
+}
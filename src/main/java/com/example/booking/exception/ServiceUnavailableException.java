@@ -0,0 +1,11 @@
+package com.example.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException{
+    public ServiceUnavailableException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.booking.idempotency;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.IdempotencyKeyInProgressException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Replays the response of a request carrying an {@code Idempotency-Key} header to every
+ * retry with the same key, without running the request again. Keys live in a concurrent
+ * map for {@code booking.idempotency.ttl-seconds}, at most
+ * {@code booking.idempotency.max-keys} of them, evicted oldest first, so a retry storm is
+ * answered from memory. A retry racing the first attempt is answered at once with 409 and
+ * {@code Retry-After}, so it never holds a request thread while the first one runs. Successful
+ * responses are also written to a table, looked up only when a key is not in memory, so
+ * retries are still replayed after a restart or an eviction. A failed request is not kept,
+ * and its retry runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_LENGTH = 4000;
+    private static final long PURGE_MINUTES = 60;
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final IdempotentResponseRepository idempotentResponseRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxKeys;
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+    private final Queue<Slot> expiryOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private ScheduledExecutorService purger;
+
+    @Autowired
+    public IdempotencyStore(IdempotentResponseRepository idempotentResponseRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${booking.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                            @Value("${booking.idempotency.max-keys:100000}") int maxKeys) {
+        this(idempotentResponseRepository, objectMapper, ttlSeconds, maxKeys, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotentResponseRepository idempotentResponseRepository, ObjectMapper objectMapper,
+                     long ttlSeconds, int maxKeys, Clock clock) {
+        this.idempotentResponseRepository = idempotentResponseRepository;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start(){
+        this.purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.purger.scheduleWithFixedDelay(() -> {
+            try {
+                purge();
+            }
+            catch (RuntimeException e){
+                // expired rows are ignored on lookup, so a missed purge only costs space
+                log.error("Failed to purge expired idempotency keys", e);
+            }
+        }, PURGE_MINUTES, PURGE_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop(){
+        if(this.purger != null)
+            this.purger.shutdownNow();
+    }
+
+    /**
+     * Runs the request once per key within {@code scope}, replaying its response to
+     * retries. A request without a key always runs.
+     *
+     * @throws BadRequestException if the key is invalid or was used for a different request
+     * @throws IdempotencyKeyInProgressException if the first request with the key is still running
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> type,
+                                         Supplier<ResponseEntity<T>> action){
+        if(key == null)
+            return action.get();
+        if(key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new BadRequestException("Missing or invalid idempotency key");
+
+        String storeKey = scope + " " + key;
+        String requestHash = hashOf(request);
+        while(true){
+            long now = this.clock.millis();
+            Slot slot = new Slot(storeKey, now);
+            Slot existing = this.slots.putIfAbsent(storeKey, slot);
+            if(existing != null){
+                if(existing.isExpired(now, this.ttlMillis)){
+                    this.slots.remove(storeKey, existing);
+                    continue;
+                }
+                if(!existing.outcome.isDone())
+                    throw new IdempotencyKeyInProgressException("Request with this idempotency key is still in progress",
+                            RETRY_AFTER_SECONDS);
+                Stored stored = outcomeOf(existing);
+                if(stored == null)
+                    continue;
+                return replay(stored, requestHash, type);
+            }
+
+            this.expiryOrder.add(slot);
+            this.queued.incrementAndGet();
+            evict(now);
+            return executeOnce(slot, requestHash, type, action, now);
+        }
+    }
+
+    int size(){
+        return this.slots.size();
+    }
+
+    int queuedSize(){
+        return this.queued.get();
+    }
+
+    void purge(){
+        int purged = this.idempotentResponseRepository.deleteCreatedBefore(this.clock.millis() - this.ttlMillis);
+        if(purged > 0)
+            log.info("Purged {} expired idempotency keys", purged);
+    }
+
+    private <T> ResponseEntity<T> executeOnce(Slot slot, String requestHash, Class<T> type,
+                                              Supplier<ResponseEntity<T>> action, long now){
+        try {
+            Stored stored = load(slot.key, type, now);
+            if(stored != null){
+                slot.outcome.complete(stored);
+                return replay(stored, requestHash, type);
+            }
+
+            ResponseEntity<T> response = action.get();
+            if(!response.getStatusCode().is2xxSuccessful()){
+                this.slots.remove(slot.key, slot);
+                slot.outcome.complete(null);
+                return response;
+            }
+
+            URI location = response.getHeaders().getLocation();
+            stored = new Stored(requestHash, response.getStatusCodeValue(),
+                    location == null ? null : location.toString(), response.getBody());
+            save(slot.key, stored, now);
+            slot.outcome.complete(stored);
+            return response;
+        }
+        catch (RuntimeException | Error e){
+            this.slots.remove(slot.key, slot);
+            slot.outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the outcome of the finished first attempt, or null if it failed and this
+     * retry has to run the request itself
+     */
+    private static Stored outcomeOf(Slot slot){
+        try {
+            return slot.outcome.join();
+        }
+        catch (CompletionException e){
+            return null;
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(Stored stored, String requestHash, Class<T> type){
+        if(!stored.requestHash.equals(requestHash))
+            throw new BadRequestException("Idempotency key was already used for a different request");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(stored.status).header(REPLAYED_HEADER, "true");
+        if(stored.location != null)
+            response.location(URI.create(stored.location));
+        return response.body(type.cast(stored.body));
+    }
+
+    /**
+     * Drops expired keys and, past the size bound, the oldest ones. Keys are added in
+     * creation order and share one TTL, so both are found at the head of the queue. The
+     * bound applies to the queue rather than the map: a failed attempt leaves the map
+     * at once but stays queued, and is only dropped once it reaches the head.
+     */
+    private void evict(long now){
+        Slot oldest;
+        while((oldest = this.expiryOrder.peek()) != null
+                && (oldest.isExpired(now, this.ttlMillis) || this.queued.get() > this.maxKeys)){
+            Slot evicted = this.expiryOrder.poll();
+            if(evicted != null){
+                this.queued.decrementAndGet();
+                this.slots.remove(evicted.key, evicted);
+            }
+        }
+    }
+
+    private <T> Stored load(String storeKey, Class<T> type, long now){
+        IdempotentResponse idempotentResponse = this.idempotentResponseRepository.findById(storeKey).orElse(null);
+        if(idempotentResponse == null || idempotentResponse.getCreatedTime() <= now - this.ttlMillis)
+            return null;
+
+        try {
+            return new Stored(idempotentResponse.getRequestHash(), idempotentResponse.getStatus(),
+                    idempotentResponse.getLocation(), this.objectMapper.readValue(idempotentResponse.getBody(), type));
+        }
+        catch (JsonProcessingException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void save(String storeKey, Stored stored, long now){
+        try {
+            String body = this.objectMapper.writeValueAsString(stored.body);
+            if(body.length() > MAX_BODY_LENGTH)
+                return;
+
+            this.idempotentResponseRepository.save(IdempotentResponse.builder()
+                    .idempotencyKey(storeKey)
+                    .requestHash(stored.requestHash)
+                    .status(stored.status)
+                    .location(stored.location)
+                    .body(body)
+                    .createdTime(now)
+                    .build());
+        }
+        catch (JsonProcessingException | RuntimeException e){
+            // the request went through, so the key is kept in memory only
+            log.warn("Failed to persist idempotency key {}", storeKey, e);
+        }
+    }
+
+    private String hashOf(Object request){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(this.objectMapper.writeValueAsBytes(request));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for(byte b: digest)
+                hash.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            return hash.toString();
+        }
+        catch (JsonProcessingException e){
+            throw new UncheckedIOException(e);
+        }
+        catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Slot {
+
+        private final String key;
+        private final long createdTime;
+        private final CompletableFuture<Stored> outcome = new CompletableFuture<>();
+
+        private Slot(String key, long createdTime) {
+            this.key = key;
+            this.createdTime = createdTime;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            return this.createdTime <= now - ttlMillis;
+        }
+    }
+
+    private static final class Stored {
+
+        private final String requestHash;
+        private final int status;
+        private final String location;
+        private final Object body;
+
+        private Stored(String requestHash, int status, String location, Object body) {
+            this.requestHash = requestHash;
+            this.status = status;
+            this.location = location;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.booking.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * The response stored for an idempotency key, so a retry arriving after a restart, or
+ * after the key left the in-memory store, still replays it.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(columnList = "createdTime"))
+@Builder
+public class IdempotentResponse {
+
+    @Id
+    @Column(length = IdempotencyStore.MAX_KEY_LENGTH * 2)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    private int status;
+
+    private String location;
+
+    @Column(nullable = false, length = 4000)
+    private String body;
+
+    private long createdTime;
+}
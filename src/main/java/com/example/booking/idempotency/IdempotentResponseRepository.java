@@ -0,0 +1,14 @@
+package com.example.booking.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IdempotentResponseRepository extends JpaRepository<IdempotentResponse, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotentResponse r WHERE r.createdTime < ?1")
+    int deleteCreatedBefore(long createdTime);
+}
@@ -1,5 +1,6 @@
 package com.example.booking.movie;
 
+import com.example.booking.config.IdAllocation;
 import com.example.booking.screening.Screening;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,7 +33,7 @@ public class Movie {
     @SequenceGenerator(
             name = "show_sequence",
             sequenceName = "show_sequence",
-            allocationSize = 1
+            allocationSize = IdAllocation.MOVIE_BLOCK_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -1,6 +1,7 @@
 package com.example.booking.movie;
 
-import org.modelmapper.ModelMapper;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,43 +11,62 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path="api/v1/movie")
 public class MovieController {
 
     private final MovieService service;
-    private final ModelMapper modelMapper;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public MovieController(MovieService service, ModelMapper modelMapper) {
+    public MovieController(MovieService service, AggregateVersions aggregateVersions) {
         this.service = service;
-        this.modelMapper = modelMapper;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<MovieDto>> getMovies(){
-        return ResponseEntity.ok().body(this.service.getMovies().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<MovieDto>> getMovies(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.MOVIE)))
+            return null;
+
+        return this.service.getMovies(cursor, limit).toResponse(this::convertToDTO);
     }
 
     @GetMapping(path = {"{movieId}"})
-    public ResponseEntity<MovieDto> getMovie(@PathVariable Long movieId){
+    public ResponseEntity<MovieDto> getMovie(@PathVariable Long movieId, WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.MOVIE)))
+            return null;
+
         return ResponseEntity.ok().body(convertToDTO(this.service.getMovieById(movieId)));
     }
 
     @GetMapping(path="nowShowing")
-    public ResponseEntity<List<MovieDto>> getNowShowing(){
-        return ResponseEntity.ok().body(this.service.getNowShowing().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<MovieDto>> getNowShowing(WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.MOVIE, LocalDate.now())))
+            return null;
+
+        return ResponseEntity.ok().body(this.service.getNowShowing());
+    }
+
+    @GetMapping(path="search")
+    public ResponseEntity<List<MovieDto>> searchMovies(@RequestParam(required = false) String q,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.MOVIE)))
+            return null;
+
+        return ResponseEntity.ok().body(this.service.searchMovies(q, limit));
     }
 
     @PostMapping
@@ -81,10 +101,10 @@ public class MovieController {
     }
 
     public Movie convertToEntity(MovieDto postDTO){
-        return this.modelMapper.map(postDTO, Movie.class);
+        return MovieMapper.toEntity(postDTO);
     }
 
     public MovieDto convertToDTO(Movie movie) {
-        return this.modelMapper.map(movie, MovieDto.class);
+        return MovieMapper.toDto(movie);
     }
 }
@@ -0,0 +1,36 @@
+package com.example.booking.movie;
+
+public final class MovieMapper {
+
+    private MovieMapper() {
+    }
+
+    public static MovieDto toDto(Movie movie){
+        return MovieDto.builder()
+                .movieId(movie.getMovieId())
+                .title(movie.getTitle())
+                .description(movie.getDescription())
+                .duration(movie.getDuration())
+                .casts(movie.getCasts())
+                .startDate(movie.getStartDate())
+                .endDate(movie.getEndDate())
+                .createdDate(movie.getCreatedDateTime())
+                .updatedTime(movie.getUpdatedDateTime())
+                .build();
+    }
+
+    /**
+     * Created and updated times are left for {@link MovieService} to stamp.
+     */
+    public static Movie toEntity(MovieDto movieDto){
+        return Movie.builder()
+                .movieId(movieDto.getMovieId())
+                .title(movieDto.getTitle())
+                .description(movieDto.getDescription())
+                .duration(movieDto.getDuration())
+                .casts(movieDto.getCasts())
+                .startDate(movieDto.getStartDate())
+                .endDate(movieDto.getEndDate())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.booking.movie;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -14,4 +15,6 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
             "WHERE m.startDate <= ?1" +
             "AND m.endDate >= ?1")
     List<Movie> findNowShowing(LocalDate date);
+
+    List<Movie> findByMovieIdGreaterThanOrderByMovieId(Long movieId, Pageable pageable);
 }
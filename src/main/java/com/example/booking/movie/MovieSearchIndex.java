@@ -0,0 +1,227 @@
+package com.example.booking.movie;
+
+import com.example.booking.config.AfterCommit;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index over the title, casts and description of every movie. Terms are kept
+ * sorted so the last word of a query is matched as a prefix, for typeahead, while the
+ * words before it must match whole terms. Every query word has to match, and movies are
+ * ranked by the field weight of the matching terms scaled by how rare each term is.
+ */
+@Component
+public class MovieSearchIndex implements SmartInitializingSingleton {
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float CASTS_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final MovieRepository movieRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    @Autowired
+    public MovieSearchIndex(MovieRepository movieRepository) {
+        this.movieRepository = movieRepository;
+    }
+
+    /**
+     * Loads the index before the web server starts taking requests, so searches never
+     * see it empty.
+     */
+    @Override
+    public void afterSingletonsInstantiated(){
+        loadMovies();
+    }
+
+    void loadMovies(){
+        List<Movie> movies = this.movieRepository.findAll();
+        this.lock.writeLock().lock();
+        try {
+            for(Movie movie: movies){
+                // a movie put after the read is newer than the copy read here
+                if(!this.documents.containsKey(movie.getMovieId()))
+                    index(movie);
+            }
+        }
+        finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a movie once the surrounding transaction commits.
+     */
+    public void put(Movie movie){
+        AfterCommit.run(() -> {
+            this.lock.writeLock().lock();
+            try {
+                unindex(movie.getMovieId());
+                index(movie);
+            }
+            finally {
+                this.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(long movieId){
+        AfterCommit.run(() -> {
+            this.lock.writeLock().lock();
+            try {
+                unindex(movieId);
+            }
+            finally {
+                this.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public List<MovieDto> search(String query, int limit){
+        List<String> words = tokenize(query);
+        if(words.isEmpty())
+            return List.of();
+
+        this.lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for(int i = 0; i < words.size(); i++){
+                Map<Long, Float> wordScores = score(words.get(i), i == words.size() - 1);
+                scores = scores == null ? wordScores : intersect(scores, wordScores);
+                if(scores.isEmpty())
+                    return List.of();
+            }
+
+            Map<Long, Float> finalScores = scores;
+            return finalScores.keySet().stream()
+                    .map(this.documents::get)
+                    .sorted(Comparator.<Document>comparingDouble(document -> -finalScores.get(document.movie.getMovieId()))
+                            .thenComparing(document -> document.movie.getTitle(), Comparator.nullsLast(Comparator.naturalOrder()))
+                            .thenComparing(document -> document.movie.getMovieId()))
+                    .limit(limit)
+                    .map(document -> document.movie)
+                    .collect(Collectors.toList());
+        }
+        finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    int size(){
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        }
+        finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> score(String word, boolean isPrefix){
+        Map<Long, Float> scores = new HashMap<>();
+        Map<String, Map<Long, Float>> terms = isPrefix
+                ? this.postings.subMap(word, true, word + Character.MAX_VALUE, false)
+                : this.postings.subMap(word, true, word, true);
+
+        for(Map.Entry<String, Map<Long, Float>> term: terms.entrySet()){
+            float factor = term.getKey().equals(word) ? 1f : PREFIX_MATCH_FACTOR;
+            float idf = (float) Math.log(1 + (double) this.documents.size() / term.getValue().size());
+            for(Map.Entry<Long, Float> posting: term.getValue().entrySet())
+                scores.merge(posting.getKey(), posting.getValue() * idf * factor, Math::max);
+        }
+        return scores;
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> scores, Map<Long, Float> wordScores){
+        Map<Long, Float> intersection = new HashMap<>();
+        for(Map.Entry<Long, Float> score: scores.entrySet()){
+            Float wordScore = wordScores.get(score.getKey());
+            if(wordScore != null)
+                intersection.put(score.getKey(), score.getValue() + wordScore);
+        }
+        return intersection;
+    }
+
+    private void index(Movie movie){
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, movie.getTitle(), TITLE_WEIGHT);
+        addField(weights, movie.getCasts(), CASTS_WEIGHT);
+        addField(weights, movie.getDescription(), DESCRIPTION_WEIGHT);
+
+        for(Map.Entry<String, Float> weight: weights.entrySet())
+            this.postings.computeIfAbsent(weight.getKey(), term -> new HashMap<>())
+                    .put(movie.getMovieId(), weight.getValue());
+
+        this.documents.put(movie.getMovieId(), new Document(MovieMapper.toDto(movie), new ArrayList<>(weights.keySet())));
+    }
+
+    private void unindex(long movieId){
+        Document document = this.documents.remove(movieId);
+        if(document == null)
+            return;
+
+        for(String term: document.terms){
+            Map<Long, Float> posting = this.postings.get(term);
+            posting.remove(movieId);
+            if(posting.isEmpty())
+                this.postings.remove(term);
+        }
+    }
+
+    /**
+     * Weighs a term by its field, dampening repeats so a long description cannot outrank
+     * a title match by sheer repetition.
+     */
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight){
+        Map<String, Integer> counts = new HashMap<>();
+        for(String term: tokenize(text))
+            counts.merge(term, 1, Integer::sum);
+
+        for(Map.Entry<String, Integer> count: counts.entrySet())
+            weights.merge(count.getKey(), fieldWeight * (1 + (float) Math.log(count.getValue())), Float::sum);
+    }
+
+    static List<String> tokenize(String text){
+        if(text == null || text.isBlank())
+            return List.of();
+
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> terms = new ArrayList<>();
+        for(String term: SEPARATORS.split(normalized))
+            if(!term.isEmpty())
+                terms.add(term);
+        return terms;
+    }
+
+    private static final class Document {
+
+        private final MovieDto movie;
+        private final List<String> terms;
+
+        private Document(MovieDto movie, List<String> terms) {
+            this.movie = movie;
+            this.terms = terms;
+        }
+    }
+}
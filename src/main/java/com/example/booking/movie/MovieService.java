@@ -1,7 +1,13 @@
 package com.example.booking.movie;
 
+import com.example.booking.config.AfterCommit;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.MovieNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
+import com.example.booking.screening.ScreeningSchedule;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,26 +21,56 @@ import java.util.Objects;
 @Service
 public class MovieService {
 
+    static final int DEFAULT_SEARCH_LIMIT = 10;
+    static final int MAX_SEARCH_LIMIT = 50;
+
     private final MovieRepository repository;
+    private final ScreeningSchedule screeningSchedule;
+    private final NowShowingCache nowShowingCache;
+    private final AggregateVersions aggregateVersions;
+    private final MovieSearchIndex searchIndex;
 
     @Autowired
-    public MovieService(MovieRepository repository) {
+    public MovieService(MovieRepository repository, ScreeningSchedule screeningSchedule, NowShowingCache nowShowingCache,
+                        AggregateVersions aggregateVersions, MovieSearchIndex searchIndex) {
         this.repository = repository;
+        this.screeningSchedule = screeningSchedule;
+        this.nowShowingCache = nowShowingCache;
+        this.aggregateVersions = aggregateVersions;
+        this.searchIndex = searchIndex;
+    }
+
+    public KeysetPage<Movie> getMovies(String cursor, Integer limit) {
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 1);
+        List<Movie> rows = this.repository.findByMovieIdGreaterThanOrderByMovieId(
+                after == null ? 0L : after.getLong(0), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, movie -> Cursor.of(movie.getMovieId()));
     }
 
-    public List<Movie> getMovies() {
-        return this.repository.findAll();
+    public List<MovieDto> getNowShowing() {
+        return this.nowShowingCache.getNowShowing();
     }
 
-    public List<Movie> getNowShowing() {
-        return this.repository.findNowShowing(LocalDate.now());
+    public List<MovieDto> searchMovies(String query, Integer limit) {
+        if(query == null || query.isBlank())
+            throw new BadRequestException("Missing or invalid query");
+        if(limit != null && limit <= 0)
+            throw new BadRequestException("Missing or invalid limit");
+
+        int searchLimit = limit == null ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT);
+        return this.searchIndex.search(query, searchLimit);
     }
 
     public Movie addNewMovie(Movie movie) {
         long epochTimeNow = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
         movie.setUpdatedDateTime(epochTimeNow);
         movie.setCreatedDateTime(epochTimeNow);
-        return this.repository.save(movie);
+        Movie savedMovie = this.repository.save(movie);
+        this.searchIndex.put(savedMovie);
+        this.nowShowingCache.invalidate();
+        this.aggregateVersions.bump(Aggregate.MOVIE);
+        return savedMovie;
     }
 
     public void deleteMovie(Long id) {
@@ -44,6 +80,9 @@ public class MovieService {
                     "Movie with Id " + id + " does not exists");
 
         this.repository.deleteById(id);
+        this.searchIndex.remove(id);
+        this.nowShowingCache.invalidate();
+        this.aggregateVersions.bump(Aggregate.MOVIE);
     }
 
     @Transactional
@@ -96,7 +135,12 @@ public class MovieService {
         }
 
         movie.setUpdatedDateTime(epochTimeNow);
-        return this.repository.save(movie);
+        Movie updatedMovie = this.repository.save(movie);
+        AfterCommit.run(() -> this.screeningSchedule.setMovieDuration(movie.getMovieId(), movie.getDuration()));
+        this.searchIndex.put(updatedMovie);
+        this.nowShowingCache.invalidate();
+        this.aggregateVersions.bump(Aggregate.MOVIE);
+        return updatedMovie;
 
     }
 
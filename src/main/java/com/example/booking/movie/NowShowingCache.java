@@ -0,0 +1,134 @@
+package com.example.booking.movie;
+
+import com.example.booking.config.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Holds today's now-showing movies as prebuilt DTOs. The list is tagged with the date
+ * and the generation it was loaded at; a movie write bumps the generation once its
+ * transaction commits, and the list is reloaded at local midnight, so reads only reach
+ * the database after a change.
+ */
+@Component
+public class NowShowingCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NowShowingCache.class);
+
+    private final MovieRepository movieRepository;
+    private final Clock clock;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+    private ScheduledExecutorService refresher;
+
+    @Autowired
+    public NowShowingCache(MovieRepository movieRepository) {
+        this(movieRepository, Clock.systemDefaultZone());
+    }
+
+    NowShowingCache(MovieRepository movieRepository, Clock clock) {
+        this.movieRepository = movieRepository;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start(){
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "now-showing-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleMidnightRefresh();
+    }
+
+    @PreDestroy
+    public void stop(){
+        if(this.refresher != null)
+            this.refresher.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(){
+        getNowShowing();
+    }
+
+    public List<MovieDto> getNowShowing(){
+        LocalDate today = LocalDate.now(this.clock);
+        Snapshot current = this.snapshot;
+        if(current != null && current.isValid(today, this.generation.get()))
+            return current.movies;
+
+        return refresh(today);
+    }
+
+    /**
+     * Drops the cached list once the surrounding transaction commits.
+     */
+    public void invalidate(){
+        AfterCommit.run(this.generation::incrementAndGet);
+    }
+
+    private synchronized List<MovieDto> refresh(LocalDate date){
+        long loadedGeneration = this.generation.get();
+        Snapshot current = this.snapshot;
+        if(current != null && current.isValid(date, loadedGeneration))
+            return current.movies;
+
+        List<MovieDto> movies = this.movieRepository.findNowShowing(date).stream()
+                .map(MovieMapper::toDto)
+                .collect(Collectors.toUnmodifiableList());
+        this.snapshot = new Snapshot(date, loadedGeneration, movies);
+        return movies;
+    }
+
+    private void scheduleMidnightRefresh(){
+        ZonedDateTime now = ZonedDateTime.now(this.clock);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(now.getZone());
+        this.refresher.schedule(() -> {
+            try {
+                refresh(LocalDate.now(this.clock));
+            }
+            catch (RuntimeException e){
+                // the next read reloads the list on its own, so only the warm-up is lost
+                log.error("Failed to refresh now showing movies", e);
+            }
+            finally {
+                scheduleMidnightRefresh();
+            }
+        }, Duration.between(now, midnight).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Snapshot {
+
+        private final LocalDate date;
+        private final long generation;
+        private final List<MovieDto> movies;
+
+        private Snapshot(LocalDate date, long generation, List<MovieDto> movies) {
+            this.date = date;
+            this.generation = generation;
+            this.movies = movies;
+        }
+
+        private boolean isValid(LocalDate date, long generation) {
+            return this.date.equals(date) && this.generation == generation;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.booking.pagination;
+
+import com.example.booking.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor. A cursor carries the key of the last row of a page, so the next
+ * page starts with a seek on the key index instead of skipping over the earlier rows.
+ */
+public final class Cursor {
+
+    private static final String SEPARATOR = ".";
+
+    private final String[] keys;
+
+    private Cursor(String[] keys) {
+        this.keys = keys;
+    }
+
+    public static String of(Object... keys) {
+        StringBuilder token = new StringBuilder();
+        for(Object key: keys){
+            if(token.length() > 0)
+                token.append(SEPARATOR);
+            token.append(encode(String.valueOf(key)));
+        }
+        return token.toString();
+    }
+
+    /**
+     * Decodes a cursor holding the given number of keys, or returns null for the first page.
+     */
+    public static Cursor parse(String token, int size) {
+        if(token == null)
+            return null;
+
+        String[] parts = token.split("\\" + SEPARATOR, -1);
+        if(token.isEmpty() || parts.length != size)
+            throw new BadRequestException("Missing or invalid cursor");
+
+        String[] keys = new String[size];
+        for(int i = 0; i < size; i++)
+            keys[i] = decode(parts[i]);
+        return new Cursor(keys);
+    }
+
+    public String getString(int index) {
+        return this.keys[index];
+    }
+
+    public long getLong(int index) {
+        try{
+            return Long.parseLong(this.keys[index]);
+        }catch (NumberFormatException e){
+            throw new BadRequestException("Missing or invalid cursor");
+        }
+    }
+
+    public int getInt(int index) {
+        long key = getLong(index);
+        if(key < Integer.MIN_VALUE || key > Integer.MAX_VALUE)
+            throw new BadRequestException("Missing or invalid cursor");
+        return (int) key;
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String part) {
+        try{
+            return new String(Base64.getUrlDecoder().decode(part), StandardCharsets.UTF_8);
+        }catch (IllegalArgumentException e){
+            throw new BadRequestException("Missing or invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.booking.pagination;
+
+import com.example.booking.exception.BadRequestException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset scan. The page is returned as a plain list with the cursor of the
+ * following page in the {@value #NEXT_CURSOR_HEADER} header; the header is absent on the
+ * last page.
+ */
+public final class KeysetPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    private KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public static int limitOf(Integer limit) {
+        if(limit == null)
+            return DEFAULT_LIMIT;
+
+        if(limit <= 0)
+            throw new BadRequestException("Missing or invalid limit");
+
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Fetches one row past the limit so the last page is known without a count query.
+     */
+    public static Pageable fetchOf(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if(rows.size() <= limit)
+            return new KeysetPage<>(rows, null);
+
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return this.items;
+    }
+
+    public String getNextCursor() {
+        return this.nextCursor;
+    }
+
+    public <D> ResponseEntity<List<D>> toResponse(Function<T, D> toDto) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if(this.nextCursor != null)
+            response.header(NEXT_CURSOR_HEADER, this.nextCursor);
+
+        return response.body(this.items.stream()
+                .map(toDto)
+                .collect(Collectors.toList()));
+    }
+}
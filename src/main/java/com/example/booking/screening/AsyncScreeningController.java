@@ -0,0 +1,95 @@
+package com.example.booking.screening;
+
+import com.example.booking.seatBooking.BookingMetrics;
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.example.booking.seatBooking.SeatBookingMapper;
+import com.example.booking.seatBooking.SeatBookingService;
+import com.example.booking.seatHold.SeatHoldDto;
+import com.example.booking.seatHold.SeatHoldMapper;
+import com.example.booking.seatHold.SeatHoldService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking booking endpoints scoped to one screening. Holds, confirms, bookings and
+ * cancels run on the booking I/O pool, with their seat claims queued on the screening's mailbox,
+ * and the request thread is released until the write completes, so waiting clients cost
+ * no threads, and a screening whose mailbox is full answers 503 instead of queueing more.
+ */
+@RestController
+@RequestMapping(path="api/v2/screening/{screeningId}")
+public class AsyncScreeningController {
+
+    private final SeatMapService seatMapService;
+    private final SeatHoldService seatHoldService;
+    private final SeatBookingService seatBookingService;
+    private final BookingMetrics bookingMetrics;
+
+    @Autowired
+    public AsyncScreeningController(SeatMapService seatMapService, SeatHoldService seatHoldService,
+                                    SeatBookingService seatBookingService, BookingMetrics bookingMetrics) {
+        this.seatMapService = seatMapService;
+        this.seatHoldService = seatHoldService;
+        this.seatBookingService = seatBookingService;
+        this.bookingMetrics = bookingMetrics;
+    }
+
+    @GetMapping(path = "seatmap")
+    public CompletableFuture<ResponseEntity<SeatMapDto>> getSeatMap(@PathVariable Long screeningId){
+        return this.seatMapService.getSeatMapAsync(screeningId).thenApply(seatMap -> ResponseEntity.ok().body(seatMap));
+    }
+
+    @PostMapping(path = "hold")
+    public CompletableFuture<ResponseEntity<SeatHoldDto>> addSeatHold(@PathVariable Long screeningId,
+                                                                      @RequestBody SeatHoldDto seatHoldDto){
+        seatHoldDto.setScreeningId(screeningId);
+        // the request is no longer bound to a thread once the write completes
+        String contextPath = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return this.seatHoldService.holdSeatsAsync(seatHoldDto).thenApply(seatHold ->
+                ResponseEntity.created(URI.create(contextPath + "/api/v1/hold/" + seatHold.getHoldId()))
+                        .body(SeatHoldMapper.toDto(seatHold)));
+    }
+
+    @PostMapping(path = "hold/{seatHoldId}/confirm")
+    public CompletableFuture<ResponseEntity<List<SeatBookingDto>>> confirmSeatHold(@PathVariable long screeningId,
+                                                                                   @PathVariable String seatHoldId){
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/seatBooking").toUriString());
+        return this.seatHoldService.confirmSeatHoldAsync(screeningId, seatHoldId).thenApply(seatBookings ->
+                ResponseEntity.created(uri).body(seatBookings.stream()
+                        .map(SeatBookingMapper::toDto)
+                        .collect(Collectors.toList())));
+    }
+
+    @PostMapping(path = "seatbooking")
+    public CompletableFuture<ResponseEntity<SeatBookingDto>> addSeatBooking(@PathVariable Long screeningId,
+                                                                            @RequestBody SeatBookingDto seatBookingDto){
+        seatBookingDto.setScreeningId(screeningId);
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/seatBooking").toUriString());
+        return this.seatBookingService.addSeatBookingAsync(seatBookingDto).thenApply(seatBooking -> {
+            long convertStart = this.bookingMetrics.start();
+            SeatBookingDto body = SeatBookingMapper.toDto(seatBooking);
+            this.bookingMetrics.record(BookingMetrics.Stage.CONVERT, convertStart);
+            return ResponseEntity.created(uri).body(body);
+        });
+    }
+
+    @DeleteMapping(path = "seatbooking/{seatBookingId}")
+    public CompletableFuture<ResponseEntity<Void>> deleteSeatBooking(@PathVariable long screeningId,
+                                                                     @PathVariable Long seatBookingId){
+        return this.seatBookingService.cancelSeatBookingAsync(screeningId, seatBookingId)
+                .thenApply(ignored -> ResponseEntity.noContent().build());
+    }
+}
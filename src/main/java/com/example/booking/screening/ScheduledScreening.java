@@ -0,0 +1,17 @@
+package com.example.booking.screening;
+
+/**
+ * Just the columns needed to rebuild the {@link ScreeningSchedule}.
+ */
+public interface ScheduledScreening {
+
+    Long getScreeningId();
+
+    Long getAuditoriumId();
+
+    Long getMovieId();
+
+    Long getShowTime();
+
+    Integer getDuration();
+}
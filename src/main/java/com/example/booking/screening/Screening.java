@@ -1,5 +1,6 @@
 package com.example.booking.screening;
 
+import com.example.booking.config.IdAllocation;
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.movie.Movie;
 import lombok.*;
@@ -27,7 +28,7 @@ public class Screening {
     @SequenceGenerator(
             name="movie_sequence",
             sequenceName = "movie_sequence",
-            allocationSize = 1
+            allocationSize = IdAllocation.SCREENING_BLOCK_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
@@ -1,7 +1,8 @@
 package com.example.booking.screening;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,31 +11,36 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path="api/v1/screening")
 public class ScreeningController {
 
     private final ScreeningService service;
-    private final ModelMapper modelMapper;
+    private final SeatMapService seatMapService;
+    private final SeatMapStream seatMapStream;
+    private final ScreeningImportService screeningImportService;
 
     @Autowired
-    public ScreeningController(ScreeningService service, ModelMapper modelMapper) {
+    public ScreeningController(ScreeningService service, SeatMapService seatMapService, SeatMapStream seatMapStream,
+                               ScreeningImportService screeningImportService) {
         this.service = service;
-        this.modelMapper = modelMapper;
+        this.seatMapService = seatMapService;
+        this.seatMapStream = seatMapStream;
+        this.screeningImportService = screeningImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ScreeningDto>> getScreenings(){
-        return ResponseEntity.ok().body(this.service.getScreenings().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<ScreeningDto>> getScreenings(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit){
+        return this.service.getScreenings(cursor, limit).toResponse(this::convertToDTO);
     }
 
     @GetMapping(path = "{screeningId}")
@@ -42,6 +48,16 @@ public class ScreeningController {
         return ResponseEntity.ok().body(convertToDTO(this.service.getScreeningById(screeningId)));
     }
 
+    @GetMapping(path = "{screeningId}/seatmap")
+    public ResponseEntity<SeatMapDto> getSeatMap(@PathVariable Long screeningId){
+        return ResponseEntity.ok().body(this.seatMapService.getSeatMap(screeningId));
+    }
+
+    @GetMapping(path = "{screeningId}/seatmap/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeatMap(@PathVariable Long screeningId){
+        return this.seatMapStream.subscribe(screeningId);
+    }
+
     @PostMapping
     public ResponseEntity<ScreeningDto> addScreening(@RequestBody ScreeningDto screeningDto){
         URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/screening").toUriString());
@@ -53,6 +69,16 @@ public class ScreeningController {
         }
     }
 
+    @PostMapping(path = "import", consumes = "text/csv")
+    public ResponseEntity<ScreeningImportResultDto> importScreeningsFromCsv(@RequestBody String csv){
+        return toImportResponse(this.screeningImportService.importCsv(csv));
+    }
+
+    @PostMapping(path = "import", consumes = "application/x-ndjson")
+    public ResponseEntity<ScreeningImportResultDto> importScreeningsFromJsonLines(@RequestBody String jsonLines){
+        return toImportResponse(this.screeningImportService.importJsonLines(jsonLines));
+    }
+
     @PutMapping(path = "{screeningId}")
     public ResponseEntity<ScreeningDto> updateScreening(@PathVariable Long screeningId,
                                                         @RequestBody ScreeningDto screeningDto){
@@ -78,11 +104,16 @@ public class ScreeningController {
     }
 
     public Screening convertToEntity(ScreeningDto postDTO){
-        return this.modelMapper.map(postDTO, Screening.class);
+        return ScreeningMapper.toEntity(postDTO);
     }
 
     public ScreeningDto convertToDTO(Screening screening) {
-        return this.modelMapper.map(screening, ScreeningDto.class);
+        return ScreeningMapper.toDto(screening);
     }
 
+    private ResponseEntity<ScreeningImportResultDto> toImportResponse(ScreeningImportResultDto result){
+        if(!result.getErrors().isEmpty())
+            return ResponseEntity.badRequest().body(result);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.booking.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScreeningImportErrorDto {
+    private Integer row;
+    private String message;
+
+}
@@ -0,0 +1,18 @@
+package com.example.booking.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScreeningImportResultDto {
+    private Integer importedScreenings;
+    private List<ScreeningImportErrorDto> errors;
+
+}
@@ -0,0 +1,316 @@
+package com.example.booking.screening;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.config.AfterCommit;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports a whole schedule in one go. Every row is validated in memory against the
+ * {@link ScreeningSchedule} and against the other rows, and the import is all or
+ * nothing: either every row is inserted in batches, or none is and every bad row is
+ * reported with its line number. Each entry point runs in one transaction, and the
+ * saved screenings take their slots through {@link ScreeningSchedule#tryPut}, so a
+ * screening added meanwhile rolls the whole import back instead of double booking an
+ * auditorium.
+ */
+@Service
+public class ScreeningImportService {
+
+    private static final String[] CSV_COLUMNS = {"showTime", "movieId", "auditoriumId"};
+
+    private final ScreeningRepository screeningRepository;
+    private final MovieRepository movieRepository;
+    private final AuditoriumRepository auditoriumRepository;
+    private final ScreeningSchedule screeningSchedule;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public ScreeningImportService(ScreeningRepository screeningRepository,
+                                  MovieRepository movieRepository,
+                                  AuditoriumRepository auditoriumRepository,
+                                  ScreeningSchedule screeningSchedule,
+                                  ObjectMapper objectMapper) {
+        this.screeningRepository = screeningRepository;
+        this.movieRepository = movieRepository;
+        this.auditoriumRepository = auditoriumRepository;
+        this.screeningSchedule = screeningSchedule;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads {@code showTime,movieId,auditoriumId} lines, in that order unless the first
+     * line is a header naming the columns.
+     */
+    @Transactional
+    public ScreeningImportResultDto importCsv(String csv) {
+        List<ImportLine> lines = new ArrayList<>();
+        int[] columns = {0, 1, 2};
+        boolean isFirstLine = true;
+
+        String[] texts = csv.split("\\r?\\n");
+        for(int i = 0; i < texts.length; i++){
+            if(texts[i].isBlank())
+                continue;
+
+            String[] values = texts[i].split(",", -1);
+            if(isFirstLine && !values[0].isBlank() && !Character.isDigit(values[0].trim().charAt(0))){
+                columns = columnsOf(values);
+                isFirstLine = false;
+                continue;
+            }
+            isFirstLine = false;
+
+            lines.add(new ImportLine(i + 1, ScreeningDto.builder()
+                    .showTime(longAt(values, columns[0]))
+                    .movieId(longAt(values, columns[1]))
+                    .auditoriumId(longAt(values, columns[2]))
+                    .build(), null));
+        }
+        return importLines(lines);
+    }
+
+    /**
+     * Reads one {@link ScreeningDto} JSON object per line.
+     */
+    @Transactional
+    public ScreeningImportResultDto importJsonLines(String jsonLines) {
+        List<ImportLine> lines = new ArrayList<>();
+        String[] texts = jsonLines.split("\\r?\\n");
+        for(int i = 0; i < texts.length; i++){
+            if(texts[i].isBlank())
+                continue;
+
+            try {
+                lines.add(new ImportLine(i + 1, this.objectMapper.readValue(texts[i], ScreeningDto.class), null));
+            } catch (JsonProcessingException e) {
+                lines.add(new ImportLine(i + 1, null, "Invalid JSON: " + e.getOriginalMessage()));
+            }
+        }
+        return importLines(lines);
+    }
+
+    /**
+     * Imports the screenings in the order given, numbering them from 1.
+     */
+    @Transactional
+    public ScreeningImportResultDto importScreenings(List<ScreeningDto> screeningDtos) {
+        List<ImportLine> lines = new ArrayList<>(screeningDtos.size());
+        for(int i = 0; i < screeningDtos.size(); i++)
+            lines.add(new ImportLine(i + 1, screeningDtos.get(i), null));
+        return importLines(lines);
+    }
+
+    private ScreeningImportResultDto importLines(List<ImportLine> lines) {
+        List<ScreeningDto> screeningDtos = new ArrayList<>(lines.size());
+        for(ImportLine line: lines)
+            if(line.screeningDto != null)
+                screeningDtos.add(line.screeningDto);
+
+        Map<Long, Movie> movies = this.movieRepository.findAllById(idsOf(screeningDtos, ScreeningDto::getMovieId)).stream()
+                .collect(Collectors.toMap(Movie::getMovieId, Function.identity()));
+        Map<Long, Auditorium> auditoriums = this.auditoriumRepository.findAllById(idsOf(screeningDtos, ScreeningDto::getAuditoriumId)).stream()
+                .collect(Collectors.toMap(Auditorium::getAuditoriumId, Function.identity()));
+
+        List<ScreeningImportErrorDto> errors = new ArrayList<>();
+        List<ImportRow> rows = new ArrayList<>(lines.size());
+
+        for(ImportLine line: lines){
+            ScreeningDto screeningDto = line.screeningDto;
+            int rowNumber = line.lineNumber;
+
+            if(line.error != null){
+                errors.add(error(rowNumber, line.error));
+                continue;
+            }
+
+            if(screeningDto.getShowTime() == null || screeningDto.getShowTime() <= 0 ||
+                    screeningDto.getMovieId() == null || screeningDto.getAuditoriumId() == null){
+                errors.add(error(rowNumber, "Missing or invalid showTime, movieId or auditoriumId"));
+                continue;
+            }
+
+            Movie movie = movies.get(screeningDto.getMovieId());
+            if(movie == null){
+                errors.add(error(rowNumber, "id " + screeningDto.getMovieId() + " does not exist for movie table."));
+                continue;
+            }
+
+            Auditorium auditorium = auditoriums.get(screeningDto.getAuditoriumId());
+            if(auditorium == null){
+                errors.add(error(rowNumber, "id " + screeningDto.getAuditoriumId() + " does not exist for Auditorium table."));
+                continue;
+            }
+
+            long durationSeconds = movie.getDuration() == null ? 0 : movie.getDuration() * 60L;
+            if(this.screeningSchedule.isClashing(auditorium.getAuditoriumId(), screeningDto.getShowTime(), durationSeconds, -1L)){
+                errors.add(error(rowNumber, "Existing showtime for this auditorium for timing " + screeningDto.getShowTime()
+                        + " in auditorium id: " + auditorium.getAuditoriumId()));
+                continue;
+            }
+
+            rows.add(new ImportRow(rowNumber, movie, auditorium, screeningDto.getShowTime(), durationSeconds));
+        }
+
+        errors.addAll(clashesBetween(rows));
+
+        if(!errors.isEmpty())
+            return rejected(errors);
+
+        List<Screening> screenings = rows.stream()
+                .map(row -> Screening.builder()
+                        .movie(row.movie)
+                        .auditorium(row.auditorium)
+                        .showTime(row.showTime)
+                        .build())
+                .collect(Collectors.toList());
+
+        List<Screening> savedScreenings = this.screeningRepository.saveAll(screenings);
+        List<Long> reserved = new ArrayList<>(savedScreenings.size());
+        AfterCommit.onRollback(() -> reserved.forEach(this.screeningSchedule::remove));
+
+        for(int i = 0; i < savedScreenings.size(); i++){
+            Screening screening = savedScreenings.get(i);
+            Movie movie = screening.getMovie();
+            long auditoriumId = screening.getAuditorium().getAuditoriumId();
+            this.screeningSchedule.setMovieDuration(movie.getMovieId(), movie.getDuration());
+            if(this.screeningSchedule.tryPut(screening.getScreeningId(), auditoriumId, movie.getMovieId(), screening.getShowTime())){
+                reserved.add(screening.getScreeningId());
+                continue;
+            }
+
+            // a screening added since the check took the slot, so none of the import may stay
+            reserved.forEach(this.screeningSchedule::remove);
+            if(TransactionSynchronizationManager.isActualTransactionActive())
+                TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            errors.add(error(rows.get(i).rowNumber, "Existing showtime for this auditorium for timing "
+                    + screening.getShowTime() + " in auditorium id: " + auditoriumId));
+            return rejected(errors);
+        }
+
+        return ScreeningImportResultDto.builder()
+                .importedScreenings(savedScreenings.size())
+                .errors(errors)
+                .build();
+    }
+
+    private static ScreeningImportResultDto rejected(List<ScreeningImportErrorDto> errors) {
+        errors.sort(Comparator.comparing(ScreeningImportErrorDto::getRow));
+        return ScreeningImportResultDto.builder()
+                .importedScreenings(0)
+                .errors(errors)
+                .build();
+    }
+
+    /**
+     * Sorts the rows of each auditorium by show time and flags every row that starts
+     * before the latest end time seen so far in that auditorium.
+     */
+    private static List<ScreeningImportErrorDto> clashesBetween(List<ImportRow> rows) {
+        Map<Long, List<ImportRow>> rowsByAuditorium = rows.stream()
+                .collect(Collectors.groupingBy(row -> row.auditorium.getAuditoriumId()));
+
+        List<ScreeningImportErrorDto> errors = new ArrayList<>();
+        for(List<ImportRow> auditoriumRows: rowsByAuditorium.values()){
+            auditoriumRows.sort(Comparator.comparingLong((ImportRow row) -> row.showTime)
+                    .thenComparingInt(row -> row.rowNumber));
+
+            ImportRow latest = null;
+            for(ImportRow row: auditoriumRows){
+                if(latest != null && row.showTime < latest.endTime()){
+                    errors.add(error(row.rowNumber, "Clashes with row " + latest.rowNumber + " of this import"));
+                    continue;
+                }
+                latest = row;
+            }
+        }
+        return errors;
+    }
+
+    private static Set<Long> idsOf(List<ScreeningDto> screeningDtos, Function<ScreeningDto, Long> id) {
+        Set<Long> ids = new HashSet<>();
+        for(ScreeningDto screeningDto: screeningDtos)
+            if(id.apply(screeningDto) != null)
+                ids.add(id.apply(screeningDto));
+        return ids;
+    }
+
+    private static int[] columnsOf(String[] header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for(int i = 0; i < header.length; i++)
+            positions.put(header[i].trim(), i);
+
+        int[] columns = new int[CSV_COLUMNS.length];
+        for(int i = 0; i < CSV_COLUMNS.length; i++)
+            columns[i] = positions.getOrDefault(CSV_COLUMNS[i], -1);
+        return columns;
+    }
+
+    private static Long longAt(String[] values, int column) {
+        if(column < 0 || column >= values.length)
+            return null;
+
+        try {
+            return Long.parseLong(values[column].trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ScreeningImportErrorDto error(int row, String message) {
+        return ScreeningImportErrorDto.builder()
+                .row(row)
+                .message(message)
+                .build();
+    }
+
+    private static final class ImportLine {
+        private final int lineNumber;
+        private final ScreeningDto screeningDto;
+        private final String error;
+
+        private ImportLine(int lineNumber, ScreeningDto screeningDto, String error) {
+            this.lineNumber = lineNumber;
+            this.screeningDto = screeningDto;
+            this.error = error;
+        }
+    }
+
+    private static final class ImportRow {
+        private final int rowNumber;
+        private final Movie movie;
+        private final Auditorium auditorium;
+        private final long showTime;
+        private final long durationSeconds;
+
+        private ImportRow(int rowNumber, Movie movie, Auditorium auditorium, long showTime, long durationSeconds) {
+            this.rowNumber = rowNumber;
+            this.movie = movie;
+            this.auditorium = auditorium;
+            this.showTime = showTime;
+            this.durationSeconds = durationSeconds;
+        }
+
+        private long endTime() {
+            return this.showTime + this.durationSeconds;
+        }
+    }
+}
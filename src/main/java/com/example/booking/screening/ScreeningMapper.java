@@ -0,0 +1,35 @@
+package com.example.booking.screening;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.movie.Movie;
+
+public final class ScreeningMapper {
+
+    private ScreeningMapper() {
+    }
+
+    public static ScreeningDto toDto(Screening screening){
+        return ScreeningDto.builder()
+                .screeningId(screening.getScreeningId())
+                .showTime(screening.getShowTime())
+                .movieId(screening.getMovie() == null ? null : screening.getMovie().getMovieId())
+                .auditoriumId(screening.getAuditorium() == null ? null : screening.getAuditorium().getAuditoriumId())
+                .build();
+    }
+
+    /**
+     * The movie and auditorium are references holding only their ids.
+     */
+    public static Screening toEntity(ScreeningDto screeningDto){
+        return Screening.builder()
+                .screeningId(screeningDto.getScreeningId() == null ? 0 : screeningDto.getScreeningId())
+                .showTime(screeningDto.getShowTime() == null ? 0 : screeningDto.getShowTime())
+                .movie(screeningDto.getMovieId() == null ? null : Movie.builder()
+                        .movieId(screeningDto.getMovieId())
+                        .build())
+                .auditorium(screeningDto.getAuditoriumId() == null ? null : Auditorium.builder()
+                        .auditoriumId(screeningDto.getAuditoriumId())
+                        .build())
+                .build();
+    }
+}
@@ -1,18 +1,28 @@
 package com.example.booking.screening;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface ScreeningRepository extends JpaRepository<Screening, Long> {
 
-    @Query("SELECT s " +
-            "FROM Screening s " +
-            "WHERE s.auditorium.auditoriumId = ?1 AND " +
-            "(s.showTime + ?3) >= ?2 AND " +
-            "s.showTime <= ?2 ")
-    Optional<Screening> findScreeningThatClashesBetweenShowTime(long auditoriumId, long showtime, long duration);
+    @Query("SELECT s.screeningId AS screeningId, " +
+            "s.auditorium.auditoriumId AS auditoriumId, " +
+            "s.movie.movieId AS movieId, " +
+            "s.showTime AS showTime, " +
+            "s.movie.duration AS duration " +
+            "FROM Screening s")
+    List<ScheduledScreening> findAllScheduledScreenings();
+
+    @Query("SELECT s.screeningId FROM Screening s " +
+            "WHERE s.screeningId IN ?1 " +
+            "AND s.showTime + COALESCE(s.movie.duration, 0) * 60 > ?2")
+    List<Long> findUnplayedScreeningIds(Collection<Long> screeningIds, long now);
+
+    List<Screening> findByScreeningIdGreaterThanOrderByScreeningId(long screeningId, Pageable pageable);
 }
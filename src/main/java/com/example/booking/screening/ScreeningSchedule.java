@@ -0,0 +1,154 @@
+package com.example.booking.screening;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory timeline of every auditorium, holding each screening as the half open
+ * interval {@code [showTime, showTime + duration * 60)} of its movie. Slots are sorted
+ * by show time and a clash check only scans the slots starting within the longest
+ * movie duration before the new end, so it is a log n seek plus a short walk.
+ * Durations are looked up per movie, so changing a movie moves every one of its slots.
+ */
+@Component
+public class ScreeningSchedule {
+
+    private static final Comparator<Slot> BY_SHOW_TIME =
+            Comparator.comparingLong((Slot slot) -> slot.showTime).thenComparingLong(slot -> slot.screeningId);
+
+    private final ConcurrentHashMap<Long, NavigableSet<Slot>> auditoriums = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Slot> screenings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> movieDurations = new ConcurrentHashMap<>();
+    private final AtomicLong longestDuration = new AtomicLong();
+
+    /**
+     * @param durationSeconds running time of the movie to be shown
+     * @param excludedScreeningId screening being moved, which cannot clash with itself
+     * @return true if any other screening in the auditorium overlaps the new show
+     */
+    public boolean isClashing(long auditoriumId, long showTime, long durationSeconds, long excludedScreeningId) {
+        NavigableSet<Slot> timeline = this.auditoriums.get(auditoriumId);
+        if(timeline == null)
+            return false;
+
+        synchronized (timeline) {
+            return isClashing(timeline, showTime, durationSeconds, excludedScreeningId);
+        }
+    }
+
+    /**
+     * Puts the screening in the auditorium's timeline unless it clashes with another
+     * screening there, checking and adding under one lock so two concurrent writes
+     * cannot both take the same time. A screening already in the schedule is moved.
+     *
+     * @return false if the screening clashes and the schedule is unchanged
+     */
+    public boolean tryPut(long screeningId, long auditoriumId, long movieId, long showTime) {
+        Slot slot = new Slot(screeningId, auditoriumId, movieId, showTime);
+        NavigableSet<Slot> timeline = this.auditoriums.computeIfAbsent(auditoriumId, id -> new TreeSet<>(BY_SHOW_TIME));
+        Slot previous;
+        synchronized (timeline) {
+            if(isClashing(timeline, showTime, durationOf(movieId), screeningId))
+                return false;
+
+            previous = this.screenings.put(screeningId, slot);
+            if(previous != null && previous.auditoriumId == auditoriumId){
+                timeline.remove(previous);
+                previous = null;
+            }
+            timeline.add(slot);
+        }
+
+        // taken outside the new timeline's lock so two opposite moves cannot deadlock
+        if(previous != null)
+            removeFromTimeline(previous);
+        return true;
+    }
+
+    public void put(long screeningId, long auditoriumId, long movieId, long showTime) {
+        remove(screeningId);
+
+        Slot slot = new Slot(screeningId, auditoriumId, movieId, showTime);
+        NavigableSet<Slot> timeline = this.auditoriums.computeIfAbsent(auditoriumId, id -> new TreeSet<>(BY_SHOW_TIME));
+        synchronized (timeline) {
+            timeline.add(slot);
+        }
+        this.screenings.put(screeningId, slot);
+    }
+
+    public void remove(long screeningId) {
+        Slot slot = this.screenings.remove(screeningId);
+        if(slot != null)
+            removeFromTimeline(slot);
+    }
+
+    /**
+     * @return the auditorium the screening is scheduled in, or empty if this instance has
+     * not scheduled it
+     */
+    public Optional<Long> auditoriumOf(long screeningId) {
+        Slot slot = this.screenings.get(screeningId);
+        return slot == null ? Optional.empty() : Optional.of(slot.auditoriumId);
+    }
+
+    public void setMovieDuration(long movieId, Integer durationMinutes) {
+        long durationSeconds = durationMinutes == null ? 0 : durationMinutes * 60L;
+        this.movieDurations.put(movieId, durationSeconds);
+        this.longestDuration.accumulateAndGet(durationSeconds, Math::max);
+    }
+
+    public void load(Iterable<ScheduledScreening> scheduledScreenings) {
+        this.auditoriums.clear();
+        this.screenings.clear();
+        for(ScheduledScreening screening: scheduledScreenings){
+            setMovieDuration(screening.getMovieId(), screening.getDuration());
+            put(screening.getScreeningId(), screening.getAuditoriumId(), screening.getMovieId(), screening.getShowTime());
+        }
+    }
+
+    int size() {
+        return this.screenings.size();
+    }
+
+    private boolean isClashing(NavigableSet<Slot> timeline, long showTime, long durationSeconds, long excludedScreeningId) {
+        Slot from = new Slot(Long.MIN_VALUE, 0, 0, showTime - this.longestDuration.get());
+        Slot to = new Slot(Long.MIN_VALUE, 0, 0, showTime + durationSeconds);
+        for(Slot slot: timeline.subSet(from, false, to, false)){
+            if(slot.screeningId != excludedScreeningId &&
+                    slot.showTime + durationOf(slot.movieId) > showTime)
+                return true;
+        }
+        return false;
+    }
+
+    private void removeFromTimeline(Slot slot) {
+        NavigableSet<Slot> timeline = this.auditoriums.get(slot.auditoriumId);
+        synchronized (timeline) {
+            timeline.remove(slot);
+        }
+    }
+
+    private long durationOf(long movieId) {
+        return this.movieDurations.getOrDefault(movieId, 0L);
+    }
+
+    private static final class Slot {
+        private final long screeningId;
+        private final long auditoriumId;
+        private final long movieId;
+        private final long showTime;
+
+        private Slot(long screeningId, long auditoriumId, long movieId, long showTime) {
+            this.screeningId = screeningId;
+            this.auditoriumId = auditoriumId;
+            this.movieId = movieId;
+            this.showTime = showTime;
+        }
+    }
+}
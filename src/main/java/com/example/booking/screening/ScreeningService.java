@@ -2,10 +2,14 @@ package com.example.booking.screening;
 
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.config.AfterCommit;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ScreeningNotFoundException;
 import com.example.booking.movie.Movie;
 import com.example.booking.movie.MovieRepository;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -13,29 +17,56 @@ import javax.transaction.Transactional;
 import java.util.List;
 
 @Service
-public class ScreeningService {
+public class ScreeningService implements SmartInitializingSingleton {
+
+    private static final long NO_SCREENING = -1L;
 
     private final ScreeningRepository screeningRepository;
     private final AuditoriumRepository auditoriumRepository;
     private final MovieRepository movieRepository;
+    private final ScreeningSchedule screeningSchedule;
 
     @Autowired
     public ScreeningService(ScreeningRepository screeningRepository,
                             AuditoriumRepository auditoriumRepository,
-                            MovieRepository movieRepository) {
+                            MovieRepository movieRepository,
+                            ScreeningSchedule screeningSchedule) {
 
         this.screeningRepository = screeningRepository;
         this.auditoriumRepository = auditoriumRepository;
         this.movieRepository = movieRepository;
+        this.screeningSchedule = screeningSchedule;
+    }
+
+    /**
+     * Loads the schedule before the web server starts taking requests, so no screening
+     * added meanwhile is wiped by the load.
+     */
+    @Override
+    public void afterSingletonsInstantiated(){
+        loadScreeningSchedule();
     }
 
-    public List<Screening> getScreenings() {
-        return this.screeningRepository.findAll();
+    void loadScreeningSchedule(){
+        this.screeningSchedule.load(this.screeningRepository.findAllScheduledScreenings());
+    }
+
+    public KeysetPage<Screening> getScreenings(String cursor, Integer limit) {
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 1);
+        List<Screening> rows = this.screeningRepository.findByScreeningIdGreaterThanOrderByScreeningId(
+                after == null ? 0L : after.getLong(0), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, screening -> Cursor.of(screening.getScreeningId()));
     }
 
     public Boolean isScreeningExist(long auditoriumId, long showtime, long duration){
 
-       return this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, duration*60).isPresent();
+        return isScreeningExist(auditoriumId, showtime, duration, NO_SCREENING);
+    }
+
+    private boolean isScreeningExist(long auditoriumId, long showtime, long duration, long excludedScreeningId){
+
+        return this.screeningSchedule.isClashing(auditoriumId, showtime, duration*60, excludedScreeningId);
     }
 
     @Transactional
@@ -60,7 +91,10 @@ public class ScreeningService {
         newScreening.setMovie(movie);
         newScreening.setShowTime(screeningDto.getShowTime());
 
-        return this.screeningRepository.save(newScreening);
+        Screening screening = this.screeningRepository.save(newScreening);
+        reserve(screening);
+        AfterCommit.onRollback(() -> this.screeningSchedule.remove(screening.getScreeningId()));
+        return screening;
 
     }
 
@@ -79,8 +113,10 @@ public class ScreeningService {
                     "id " + screeningId + " does not exist for screening table.");
 
         this.screeningRepository.deleteById(screeningId);
+        this.screeningSchedule.remove(screeningId);
     }
 
+    @Transactional
     public Screening updateScreening(Long screeningId, ScreeningDto screeningDto) {
 
         Long showTime = screeningDto.getShowTime();
@@ -123,16 +159,37 @@ public class ScreeningService {
         }
 
 
-        if(isScreeningExist(auditorium.getAuditoriumId(), newShowTime, movie.getDuration())){
+        if(isScreeningExist(auditorium.getAuditoriumId(), newShowTime, movie.getDuration(), screeningId)){
             throw new BadRequestException("Existing showtime for this auditorium for timing " + newShowTime
                     + " in auditorium id: " + auditorium.getAuditoriumId());
         }
 
+        long previousAuditoriumId = screening.getAuditorium().getAuditoriumId();
+        long previousMovieId = screening.getMovie().getMovieId();
+        long previousShowTime = screening.getShowTime();
+
         screening.setMovie(movie);
         screening.setAuditorium(auditorium);
         screening.setShowTime(newShowTime);
 
-        return this.screeningRepository.save(screening);
+        Screening updatedScreening = this.screeningRepository.save(screening);
+        reserve(screening);
+        AfterCommit.onRollback(() -> this.screeningSchedule.put(screeningId, previousAuditoriumId, previousMovieId, previousShowTime));
+        return updatedScreening;
+
+    }
 
+    /**
+     * Takes the screening's slot in the schedule, failing the write if another screening
+     * got there since the clash check. The slot is taken before the commit so concurrent
+     * writes see it, and the caller hands it back if the transaction rolls back.
+     */
+    private void reserve(Screening screening) {
+        Movie movie = screening.getMovie();
+        long auditoriumId = screening.getAuditorium().getAuditoriumId();
+        this.screeningSchedule.setMovieDuration(movie.getMovieId(), movie.getDuration());
+        if(!this.screeningSchedule.tryPut(screening.getScreeningId(), auditoriumId, movie.getMovieId(), screening.getShowTime()))
+            throw new BadRequestException("Existing showtime for this auditorium for timing " + screening.getShowTime()
+                    + " in auditorium id: " + auditoriumId);
     }
 }
@@ -0,0 +1,17 @@
+package com.example.booking.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SeatDeltaDto {
+    private String rowNumber;
+    private Integer seatNumber;
+    private Boolean isAvailable;
+
+}
@@ -0,0 +1,20 @@
+package com.example.booking.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SeatMapDto {
+    private Long screeningId;
+    private Long auditoriumId;
+    private Integer availableSeats;
+    private List<SeatMapRowDto> rows;
+
+}
@@ -0,0 +1,24 @@
+package com.example.booking.screening;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One row of a seat map. {@code runs} is the run-length encoding of the row in seat
+ * number order, alternating free and taken and always starting with free seats,
+ * so {@code [2, 1, 2]} means two free, one taken, two free.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SeatMapRowDto {
+    private String rowNumber;
+    private List<Integer> seatNumbers;
+    private int[] runs;
+
+}
@@ -0,0 +1,107 @@
+package com.example.booking.screening;
+
+import com.example.booking.exception.ScreeningNotFoundException;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatLayout;
+import com.example.booking.seatAuditorium.SeatLayoutCache;
+import com.example.booking.seatBooking.ScreeningMailboxes;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds seat maps from the cached auditorium layout and the in-memory seat
+ * occupancy, so serving one never reads the booking table. The auditorium comes from
+ * the {@link ScreeningSchedule}, so the database is only read for a screening this
+ * instance has not scheduled or an auditorium whose layout is not cached yet.
+ */
+@Service
+public class SeatMapService {
+
+    private final ScreeningRepository screeningRepository;
+    private final ScreeningSchedule screeningSchedule;
+    private final SeatLayoutCache seatLayoutCache;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final ScreeningMailboxes screeningMailboxes;
+
+    @Autowired
+    public SeatMapService(ScreeningRepository screeningRepository,
+                          ScreeningSchedule screeningSchedule,
+                          SeatLayoutCache seatLayoutCache,
+                          SeatOccupancyIndex seatOccupancyIndex,
+                          ScreeningMailboxes screeningMailboxes) {
+        this.screeningRepository = screeningRepository;
+        this.screeningSchedule = screeningSchedule;
+        this.seatLayoutCache = seatLayoutCache;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.screeningMailboxes = screeningMailboxes;
+    }
+
+    public SeatMapDto getSeatMap(Long screeningId) {
+        Optional<Long> auditoriumId = this.screeningSchedule.auditoriumOf(screeningId);
+        return seatMapOf(screeningId, auditoriumId.isPresent() ? auditoriumId.get() : findAuditoriumId(screeningId));
+    }
+
+    /**
+     * {@link #getSeatMap} that is built on the calling thread when it needs nothing but
+     * memory, and on the booking I/O pool when it has to read the database.
+     */
+    public CompletableFuture<SeatMapDto> getSeatMapAsync(Long screeningId) {
+        Optional<Long> auditoriumId = this.screeningSchedule.auditoriumOf(screeningId);
+        if(auditoriumId.isPresent() && this.seatLayoutCache.isCached(auditoriumId.get()))
+            return CompletableFuture.completedFuture(seatMapOf(screeningId, auditoriumId.get()));
+        return this.screeningMailboxes.submitBlocking(() -> getSeatMap(screeningId));
+    }
+
+    private long findAuditoriumId(Long screeningId) {
+        Screening screening = this.screeningRepository.findById(screeningId)
+                .orElseThrow(() -> new ScreeningNotFoundException(
+                        "id " + screeningId + " does not exist for screening table."));
+        return screening.getAuditorium().getAuditoriumId();
+    }
+
+    private SeatMapDto seatMapOf(Long screeningId, long auditoriumId) {
+        SeatLayout layout = this.seatLayoutCache.getLayout(auditoriumId);
+
+        List<SeatMapRowDto> rows = new ArrayList<>(layout.getRows().size());
+        int availableSeats = 0;
+
+        for(SeatLayout.Row row: layout.getRows()){
+            List<SeatId> seatIds = row.getSeatIds();
+            int[] runs = new int[seatIds.size() + 1];
+            int run = 0;
+            boolean isFreeRun = true;
+
+            for(SeatId seatId: seatIds){
+                boolean isFree = this.seatOccupancyIndex.isFree(screeningId, auditoriumId, seatId);
+                if(isFree)
+                    availableSeats++;
+
+                if(isFree != isFreeRun){
+                    run++;
+                    isFreeRun = isFree;
+                }
+                runs[run]++;
+            }
+
+            rows.add(SeatMapRowDto.builder()
+                    .rowNumber(row.getRowNumber())
+                    .seatNumbers(row.getSeatNumbers())
+                    .runs(Arrays.copyOf(runs, run + 1))
+                    .build());
+        }
+
+        return SeatMapDto.builder()
+                .screeningId(screeningId)
+                .auditoriumId(auditoriumId)
+                .availableSeats(availableSeats)
+                .rows(rows)
+                .build();
+    }
+}
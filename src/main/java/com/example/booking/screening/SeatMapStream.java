@@ -0,0 +1,306 @@
+package com.example.booking.screening;
+
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import com.example.booking.seatBooking.SeatOccupancyListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans seat changes out to Server-Sent Event subscribers of a screening. Changes are
+ * queued as they happen and flushed once per interval, keeping only the last state of
+ * each seat, so a burst of bookings becomes a single frame that is serialized once
+ * and queued for every subscriber.
+ * <p>
+ * Each subscriber has its own bounded queue, drained in order on a shared sender pool
+ * by at most one task at a time, so a slow client only delays itself. A subscriber
+ * with {@code booking.seatmap.stream.max-pending-frames} frames still unsent has fallen
+ * behind and is dropped; it can reconnect for a fresh seat map.
+ */
+@Component
+public class SeatMapStream implements SeatOccupancyListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatMapStream.class);
+
+    static final String SEAT_MAP_EVENT = "seatmap";
+    static final String DELTA_EVENT = "delta";
+
+    private final SeatMapService seatMapService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final ObjectMapper objectMapper;
+    private final long intervalMillis;
+    private final long timeoutMillis;
+    private final int maxPendingFrames;
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private ScheduledExecutorService flusher;
+    private ExecutorService sender;
+
+    @Autowired
+    public SeatMapStream(SeatMapService seatMapService,
+                         SeatOccupancyIndex seatOccupancyIndex,
+                         ObjectMapper objectMapper,
+                         @Value("${booking.seatmap.stream.interval-millis:500}") long intervalMillis,
+                         @Value("${booking.seatmap.stream.timeout-millis:1800000}") long timeoutMillis,
+                         @Value("${booking.seatmap.stream.max-pending-frames:32}") int maxPendingFrames) {
+        this.seatMapService = seatMapService;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.objectMapper = objectMapper;
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPendingFrames = maxPendingFrames;
+    }
+
+    @PostConstruct
+    public void start(){
+        this.seatOccupancyIndex.addListener(this);
+        AtomicInteger senders = new AtomicInteger();
+        this.sender = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "seat-map-sender-" + senders.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-map-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("Failed to flush seat map deltas", e);
+            }
+        }, this.intervalMillis, this.intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop(){
+        if(this.flusher != null)
+            this.flusher.shutdownNow();
+        this.channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        if(this.sender != null)
+            this.sender.shutdownNow();
+    }
+
+    /**
+     * Subscribes to the seat changes of a screening, starting with a full seat map so the
+     * client does not have to fetch one separately. The map is read after the subscriber
+     * is registered and put at the head of its queue, so it goes out before any delta,
+     * and every delta queued meanwhile is at worst a seat state the map already shows.
+     */
+    public SseEmitter subscribe(long screeningId) {
+        return subscribe(screeningId, new SseEmitter(this.timeoutMillis));
+    }
+
+    SseEmitter subscribe(long screeningId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(screeningId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        this.channels.compute(screeningId, (id, channel) -> {
+            if(channel == null)
+                channel = new Channel();
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+
+        SeatMapDto seatMap;
+        try {
+            seatMap = this.seatMapService.getSeatMap(screeningId);
+        } catch (RuntimeException e) {
+            unsubscribe(subscriber);
+            throw e;
+        }
+
+        subscriber.start(SEAT_MAP_EVENT, seatMap);
+        return emitter;
+    }
+
+    @Override
+    public void onSeatChanged(long screeningId, long auditoriumId, SeatId seatId, boolean isTaken) {
+        Channel channel = this.channels.get(screeningId);
+        if(channel == null)
+            return;
+
+        channel.pending.offer(SeatDeltaDto.builder()
+                .rowNumber(seatId.getRowNumber())
+                .seatNumber(seatId.getSeatNumber())
+                .isAvailable(!isTaken)
+                .build());
+    }
+
+    void flush() {
+        for(Map.Entry<Long, Channel> entry: this.channels.entrySet()){
+            Channel channel = entry.getValue();
+            if(channel.pending.isEmpty())
+                continue;
+
+            Map<String, SeatDeltaDto> latest = new LinkedHashMap<>();
+            SeatDeltaDto delta;
+            while((delta = channel.pending.poll()) != null)
+                latest.put(delta.getRowNumber() + ":" + delta.getSeatNumber(), delta);
+
+            String frame;
+            try {
+                frame = this.objectMapper.writeValueAsString(SeatMapDeltaDto.builder()
+                        .screeningId(entry.getKey())
+                        .seats(new ArrayList<>(latest.values()))
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize seat map delta of screening {}", entry.getKey(), e);
+                continue;
+            }
+
+            for(Subscriber subscriber: channel.subscribers)
+                subscriber.offer(DELTA_EVENT, frame);
+        }
+    }
+
+    int getSubscriberCount(long screeningId) {
+        Channel channel = this.channels.get(screeningId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.close();
+        this.channels.computeIfPresent(subscriber.screeningId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final ConcurrentLinkedQueue<SeatDeltaDto> pending = new ConcurrentLinkedQueue<>();
+    }
+
+    private final class Subscriber {
+        private final long screeningId;
+        private final SseEmitter emitter;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private boolean isStarted;
+        private boolean isSending;
+        private boolean isClosed;
+
+        private Subscriber(long screeningId, SseEmitter emitter) {
+            this.screeningId = screeningId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Puts the first frame ahead of every frame queued so far and starts sending.
+         */
+        private void start(String name, Object data) {
+            synchronized (this) {
+                this.frames.offerFirst(new Frame(name, data));
+                this.isStarted = true;
+            }
+            drain();
+        }
+
+        private void offer(String name, Object data) {
+            boolean isBehind;
+            synchronized (this) {
+                if(this.isClosed)
+                    return;
+                isBehind = this.frames.size() >= maxPendingFrames;
+                if(!isBehind)
+                    this.frames.offer(new Frame(name, data));
+            }
+
+            if(isBehind){
+                log.debug("Dropped seat map subscriber of screening {} that fell {} frames behind",
+                        this.screeningId, maxPendingFrames);
+                unsubscribe(this);
+                // completing waits on a send still blocked on the client, so it must not hold up the flusher
+                try {
+                    sender.execute(this.emitter::complete);
+                } catch (RejectedExecutionException e) {
+                    // the stream is shutting down and completes every emitter itself
+                }
+                return;
+            }
+            drain();
+        }
+
+        private void drain() {
+            synchronized (this) {
+                if(!this.isStarted || this.isSending || this.isClosed || this.frames.isEmpty())
+                    return;
+                this.isSending = true;
+            }
+
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                // the stream is shutting down and completes every emitter itself
+                synchronized (this) {
+                    this.isSending = false;
+                }
+            }
+        }
+
+        private void send() {
+            while(true){
+                Frame frame;
+                synchronized (this) {
+                    frame = this.isClosed ? null : this.frames.poll();
+                    if(frame == null){
+                        this.isSending = false;
+                        return;
+                    }
+                }
+
+                try {
+                    this.emitter.send(SseEmitter.event().name(frame.name).data(frame.data, MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(this);
+                    this.emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private synchronized void close() {
+            this.isClosed = true;
+            this.frames.clear();
+        }
+    }
+
+    private static final class Frame {
+        private final String name;
+        private final Object data;
+
+        private Frame(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.booking.seat;
 
+import com.example.booking.cache.ReferenceCache;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import javax.persistence.Cacheable;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
@@ -22,6 +26,8 @@ import java.util.List;
 @Builder
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCache.SEAT_REGION)
 public class Seat {
 
     private BigDecimal cost;
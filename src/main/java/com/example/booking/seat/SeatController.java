@@ -1,5 +1,7 @@
 package com.example.booking.seat;
 
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -9,33 +11,42 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path="api/v1/seat")
 public class SeatController {
 
     private final SeatService service;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public SeatController(SeatService service) {
+    public SeatController(SeatService service, AggregateVersions aggregateVersions) {
         this.service = service;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public ResponseEntity<List<SeatDto>> getSeats(){
-        return ResponseEntity.ok().body(this.service.getSeats().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<SeatDto>> getSeats(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limit,
+                                                  WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.SEAT)))
+            return null;
+
+        return this.service.getSeats(cursor, limit).toResponse(this::convertToDTO);
     }
 
     @GetMapping("/{rowId}/{seatNumber}")
-    public ResponseEntity<SeatDto> getSeat(@PathVariable String rowId, @PathVariable int seatNumber){
+    public ResponseEntity<SeatDto> getSeat(@PathVariable String rowId, @PathVariable int seatNumber, WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.SEAT)))
+            return null;
+
         return ResponseEntity.ok().body(convertToDTO(this.service.getSeat(seatNumber, rowId)));
     }
 
@@ -1,8 +1,22 @@
 package com.example.booking.seat;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, SeatId> {
+
+    @Query("SELECT s FROM Seat s " +
+            "ORDER BY s.seatId.rowNumber, s.seatId.seatNumber")
+    List<Seat> findFirstPage(Pageable pageable);
+
+    @Query("SELECT s FROM Seat s " +
+            "WHERE s.seatId.rowNumber >= ?1 " +
+            "AND (s.seatId.rowNumber, s.seatId.seatNumber) > (?1, ?2) " +
+            "ORDER BY s.seatId.rowNumber, s.seatId.seatNumber")
+    List<Seat> findPageAfter(String rowNumber, int seatNumber, Pageable pageable);
 }
@@ -1,7 +1,12 @@
 package com.example.booking.seat;
 
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.SeatNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -11,14 +16,24 @@ import java.util.List;
 public class SeatService {
 
     private final SeatRepository repository;
+    private final AggregateVersions aggregateVersions;
+    private final ReferenceCache referenceCache;
 
     @Autowired
-    public SeatService(SeatRepository repository) {
+    public SeatService(SeatRepository repository, AggregateVersions aggregateVersions, ReferenceCache referenceCache) {
         this.repository = repository;
+        this.aggregateVersions = aggregateVersions;
+        this.referenceCache = referenceCache;
     }
 
-    public List<Seat> getSeats() {
-        return this.repository.findAll();
+    public KeysetPage<Seat> getSeats(String cursor, Integer limit) {
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 2);
+        List<Seat> rows = after == null
+                ? this.repository.findFirstPage(KeysetPage.fetchOf(pageLimit))
+                : this.repository.findPageAfter(after.getString(0), after.getInt(1), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, seat -> Cursor.of(
+                seat.getSeatId().getRowNumber(), seat.getSeatId().getSeatNumber()));
     }
 
     public Seat getSeat(int seatNumber, String rowId) {
@@ -51,13 +66,15 @@ public class SeatService {
                     " and row number " + seat.getSeatId().getRowNumber() + " already existed");
         }
 
-        return this.repository.save(Seat.builder()
+        Seat savedSeat = this.repository.save(Seat.builder()
                 .seatId(SeatId.builder()
                         .rowNumber(seat.getSeatId().getRowNumber())
                         .seatNumber(seat.getSeatId().getSeatNumber())
                         .build())
                 .cost(seat.getCost())
                 .build());
+        this.aggregateVersions.bump(Aggregate.SEAT);
+        return savedSeat;
     }
 
     public void deleteSeat(String rowId, Integer seatNumber) {
@@ -73,6 +90,8 @@ public class SeatService {
             throw new BadRequestException("the row " + seatId.getRowNumber() + " or seat number " + seatId.getSeatNumber() + " does not exists");
 
         this.repository.deleteById(seatId);
+        this.referenceCache.evictSeatAuditoriums();
+        this.aggregateVersions.bump(Aggregate.SEAT, Aggregate.SEAT_AUDITORIUM);
     }
 
     public Seat updateSeat(String rowId, Integer seatNumber, Seat newSeat){
@@ -88,7 +107,9 @@ public class SeatService {
             seat.setCost(newSeat.getCost());
         }
 
-        return this.repository.save(seat);
+        Seat updatedSeat = this.repository.save(seat);
+        this.aggregateVersions.bump(Aggregate.SEAT);
+        return updatedSeat;
 
     }
 
@@ -1,6 +1,7 @@
 package com.example.booking.seatAuditorium;
 
 import com.example.booking.auditorium.Auditorium;
+import com.example.booking.cache.ReferenceCache;
 import com.example.booking.seat.Seat;
 import com.example.booking.seatBooking.SeatBooking;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.List;
@@ -19,6 +22,8 @@ import java.util.List;
 @NoArgsConstructor
 @Entity
 @Table
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceCache.SEAT_AUDITORIUM_REGION)
 public class SeatAuditorium {
 
     @EmbeddedId
@@ -1,40 +1,47 @@
 package com.example.booking.seatAuditorium;
 
-import org.modelmapper.ModelMapper;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(path="api/v1/seatAuditorium")
 public class SeatAuditoriumController {
 
     private final SeatAuditoriumService service;
-    private final ModelMapper modelMapper;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public SeatAuditoriumController(SeatAuditoriumService service, ModelMapper modelMapper) {
+    public SeatAuditoriumController(SeatAuditoriumService service, AggregateVersions aggregateVersions) {
         this.service = service;
-        this.modelMapper = modelMapper;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping()
-    public ResponseEntity<List<SeatAuditoriumDto>> getSeatAuditoriums(){
-        return ResponseEntity.ok().body(this.service.getSeatAuditoriumList().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<SeatAuditoriumDto>> getSeatAuditoriums(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.SEAT_AUDITORIUM)))
+            return null;
 
+        return this.service.getSeatAuditoriumList(cursor, limit).toResponse(this::convertToDTO);
     }
 
     @GetMapping(path="/{rowId}/{seatNumber}/{auditoriumId}")
     public ResponseEntity<SeatAuditoriumDto> getSeatAuditorium(@PathVariable Integer seatNumber,
                                                                @PathVariable String rowId,
-                                                               @PathVariable Long auditoriumId){
+                                                               @PathVariable Long auditoriumId,
+                                                               WebRequest request){
+        if(request.checkNotModified(this.aggregateVersions.eTag(Aggregate.SEAT_AUDITORIUM)))
+            return null;
+
         return ResponseEntity.ok().body(
                 convertToDTO(this.service.getSeatAuditorium(seatNumber, rowId, auditoriumId)));
     }
@@ -1,8 +1,45 @@
 package com.example.booking.seatAuditorium;
 
+import com.example.booking.cache.ReferenceCache;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+import static org.hibernate.annotations.QueryHints.CACHE_REGION;
+
 @Repository
 public interface SeatAuditoriumRepository extends JpaRepository<SeatAuditorium, SeatAuditoriumCK> {
+
+    @Query("SELECT sa " +
+            "FROM SeatAuditorium sa " +
+            "JOIN FETCH sa.seat " +
+            "JOIN FETCH sa.auditorium " +
+            "WHERE sa.id.auditoriumId = ?1")
+    @QueryHints({
+            @QueryHint(name = CACHEABLE, value = "true"),
+            @QueryHint(name = CACHE_REGION, value = ReferenceCache.SEAT_AUDITORIUM_QUERY_REGION)
+    })
+    List<SeatAuditorium> findAllByAuditoriumId(long auditoriumId);
+
+    @Query("SELECT sa " +
+            "FROM SeatAuditorium sa " +
+            "JOIN FETCH sa.seat " +
+            "JOIN FETCH sa.auditorium " +
+            "ORDER BY sa.id.auditoriumId, sa.id.seatId.rowNumber, sa.id.seatId.seatNumber")
+    List<SeatAuditorium> findFirstPage(Pageable pageable);
+
+    @Query("SELECT sa " +
+            "FROM SeatAuditorium sa " +
+            "JOIN FETCH sa.seat " +
+            "JOIN FETCH sa.auditorium " +
+            "WHERE sa.id.auditoriumId >= ?1 " +
+            "AND (sa.id.auditoriumId, sa.id.seatId.rowNumber, sa.id.seatId.seatNumber) > (?1, ?2, ?3) " +
+            "ORDER BY sa.id.auditoriumId, sa.id.seatId.rowNumber, sa.id.seatId.seatNumber")
+    List<SeatAuditorium> findPageAfter(long auditoriumId, String rowNumber, int seatNumber, Pageable pageable);
 }
@@ -2,8 +2,12 @@ package com.example.booking.seatAuditorium;
 
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.SeatAuditoriumNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.seat.Seat;
 import com.example.booking.seat.SeatId;
 import com.example.booking.seat.SeatRepository;
@@ -18,16 +22,30 @@ public class SeatAuditoriumService {
     private final SeatAuditoriumRepository seatAuditoriumRepository;
     private final SeatRepository seatRepository;
     private final AuditoriumRepository auditoriumRepository;
+    private final SeatLayoutCache seatLayoutCache;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public SeatAuditoriumService(SeatAuditoriumRepository seatAuditoriumRepository, SeatRepository seatRepository, AuditoriumRepository auditoriumRepository) {
+    public SeatAuditoriumService(SeatAuditoriumRepository seatAuditoriumRepository, SeatRepository seatRepository, AuditoriumRepository auditoriumRepository,
+                                 SeatLayoutCache seatLayoutCache, AggregateVersions aggregateVersions) {
         this.seatAuditoriumRepository = seatAuditoriumRepository;
         this.seatRepository = seatRepository;
         this.auditoriumRepository = auditoriumRepository;
+        this.seatLayoutCache = seatLayoutCache;
+        this.aggregateVersions = aggregateVersions;
     }
 
-    public List<SeatAuditorium> getSeatAuditoriumList(){
-        return this.seatAuditoriumRepository.findAll();
+    public KeysetPage<SeatAuditorium> getSeatAuditoriumList(String cursor, Integer limit){
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 3);
+        List<SeatAuditorium> rows = after == null
+                ? this.seatAuditoriumRepository.findFirstPage(KeysetPage.fetchOf(pageLimit))
+                : this.seatAuditoriumRepository.findPageAfter(after.getLong(0), after.getString(1), after.getInt(2),
+                        KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, seatAuditorium -> Cursor.of(
+                seatAuditorium.getId().getAuditoriumId(),
+                seatAuditorium.getId().getSeatId().getRowNumber(),
+                seatAuditorium.getId().getSeatId().getSeatNumber()));
     }
 
     public SeatAuditorium getSeatAuditorium(Integer seatNumber, String rowId, Long auditoriumId) {
@@ -75,7 +93,7 @@ public class SeatAuditoriumService {
         Auditorium auditorium = this.auditoriumRepository.findById(seatAuditoriumDto.getAuditoriumId())
                 .orElseThrow(()-> new BadRequestException(String.format("auditorium does not exist with auditoriumId: %s", seatAuditoriumDto.getAuditoriumId())));
 
-        return this.seatAuditoriumRepository.save(SeatAuditorium.builder()
+        SeatAuditorium seatAuditorium = this.seatAuditoriumRepository.save(SeatAuditorium.builder()
                 .id(SeatAuditoriumCK.builder()
                         .auditoriumId(auditorium.getAuditoriumId())
                         .seatId(seat.getSeatId())
@@ -84,6 +102,10 @@ public class SeatAuditoriumService {
                 .auditorium(auditorium)
                 .build());
 
+        this.seatLayoutCache.evict(auditorium.getAuditoriumId());
+        this.aggregateVersions.bump(Aggregate.SEAT_AUDITORIUM);
+        return seatAuditorium;
+
     }
 
     public void deleteSeatAuditorium(String rowId, Integer seatNumber, Long auditoriumId) {
@@ -111,7 +133,8 @@ public class SeatAuditoriumService {
                     " seat number: %s and auditoriumId: %s", rowId, seatNumber, auditoriumId));
 
         this.seatAuditoriumRepository.deleteById(seatAuditoriumCK);
-
+        this.seatLayoutCache.evict(auditoriumId);
+        this.aggregateVersions.bump(Aggregate.SEAT_AUDITORIUM);
 
     }
 
@@ -0,0 +1,85 @@
+package com.example.booking.seatAuditorium;
+
+import com.example.booking.seat.SeatId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable row by row grid of the seats in an auditorium, sorted by row and seat number.
+ */
+public final class SeatLayout {
+
+    private final long auditoriumId;
+    private final List<Row> rows;
+    private final int numberOfSeats;
+
+    private SeatLayout(long auditoriumId, List<Row> rows) {
+        this.auditoriumId = auditoriumId;
+        this.rows = Collections.unmodifiableList(rows);
+        this.numberOfSeats = rows.stream().mapToInt(row -> row.seatNumbers.size()).sum();
+    }
+
+    public static SeatLayout of(long auditoriumId, Collection<SeatId> seatIds) {
+        Map<String, TreeSet<Integer>> seatsByRow = new TreeMap<>();
+        for(SeatId seatId: seatIds)
+            seatsByRow.computeIfAbsent(seatId.getRowNumber(), row -> new TreeSet<>()).add(seatId.getSeatNumber());
+
+        List<Row> rows = new ArrayList<>(seatsByRow.size());
+        seatsByRow.forEach((rowNumber, seatNumbers) -> rows.add(new Row(rowNumber, new ArrayList<>(seatNumbers))));
+        return new SeatLayout(auditoriumId, rows);
+    }
+
+    public long getAuditoriumId() {
+        return this.auditoriumId;
+    }
+
+    public List<Row> getRows() {
+        return this.rows;
+    }
+
+    public int getNumberOfSeats() {
+        return this.numberOfSeats;
+    }
+
+    public static final class Row {
+
+        private final String rowNumber;
+        private final List<Integer> seatNumbers;
+        private final List<SeatId> seatIds;
+
+        private Row(String rowNumber, List<Integer> seatNumbers) {
+            List<SeatId> seatIds = new ArrayList<>(seatNumbers.size());
+            for(Integer seatNumber: seatNumbers)
+                seatIds.add(SeatId.builder()
+                        .rowNumber(rowNumber)
+                        .seatNumber(seatNumber)
+                        .build());
+
+            this.rowNumber = rowNumber;
+            this.seatNumbers = Collections.unmodifiableList(seatNumbers);
+            this.seatIds = Collections.unmodifiableList(seatIds);
+        }
+
+        public String getRowNumber() {
+            return this.rowNumber;
+        }
+
+        public List<Integer> getSeatNumbers() {
+            return this.seatNumbers;
+        }
+
+        /**
+         * Seat ids in the same order as {@link #getSeatNumbers()}. Shared across
+         * callers, so they must not be modified.
+         */
+        public List<SeatId> getSeatIds() {
+            return this.seatIds;
+        }
+    }
+}
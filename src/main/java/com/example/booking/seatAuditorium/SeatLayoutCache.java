@@ -0,0 +1,38 @@
+package com.example.booking.seatAuditorium;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the {@link SeatLayout} of each auditorium. Layouts only change when a seat
+ * is added to or removed from an auditorium, which evicts the entry.
+ */
+@Component
+public class SeatLayoutCache {
+
+    private final SeatAuditoriumRepository seatAuditoriumRepository;
+    private final ConcurrentHashMap<Long, SeatLayout> layouts = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatLayoutCache(SeatAuditoriumRepository seatAuditoriumRepository) {
+        this.seatAuditoriumRepository = seatAuditoriumRepository;
+    }
+
+    public SeatLayout getLayout(long auditoriumId) {
+        return this.layouts.computeIfAbsent(auditoriumId, id -> SeatLayout.of(id,
+                this.seatAuditoriumRepository.findAllByAuditoriumId(id).stream()
+                        .map(seatAuditorium -> seatAuditorium.getId().getSeatId())
+                        .collect(Collectors.toList())));
+    }
+
+    public boolean isCached(long auditoriumId) {
+        return this.layouts.containsKey(auditoriumId);
+    }
+
+    public void evict(long auditoriumId) {
+        this.layouts.remove(auditoriumId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.booking.seatBooking;
+
+/**
+ * Just the columns needed to rebuild the {@link SeatOccupancyIndex}.
+ */
+public interface BookedSeat {
+
+    Long getScreeningId();
+
+    Long getAuditoriumId();
+
+    String getRowNumber();
+
+    Integer getSeatNumber();
+}
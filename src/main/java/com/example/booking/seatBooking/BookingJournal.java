@@ -0,0 +1,328 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.account.AccountRepository;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional write-ahead journal for single seat bookings. When enabled, an accepted
+ * booking gets its id from the booking sequence, is appended to a memory-mapped
+ * {@link JournalFile} and is acknowledged with that id as soon as it is on disk. A
+ * background writer inserts the journaled bookings in batches through the
+ * conflict-checked insert, one transaction per batch. Bookings left in the journal by a
+ * crash are replayed the same way on startup, before the web server accepts requests.
+ * A seat already held by the same booking was written before. A seat held by any other
+ * booking means the journaled booking is lost: it is logged as an error, counted in
+ * {@code booking.journal.lost} and the checkpoint moves past it.
+ */
+@Component
+public class BookingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+
+    static final String LOST_COUNTER = "booking.journal.lost";
+
+    private final SeatBookingRepository seatBookingRepository;
+    private final SeatAuditoriumRepository seatAuditoriumRepository;
+    private final AccountRepository accountRepository;
+    private final ScreeningRepository screeningRepository;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final boolean isEnabled;
+    private final Path path;
+    private final int sizeBytes;
+    private final long flushMillis;
+    private final int batchSize;
+
+    private JournalFile journalFile;
+    private volatile ScheduledExecutorService writer;
+    private final AtomicInteger lostBookings = new AtomicInteger();
+
+    @Autowired
+    public BookingJournal(SeatBookingRepository seatBookingRepository,
+                          SeatAuditoriumRepository seatAuditoriumRepository,
+                          AccountRepository accountRepository,
+                          ScreeningRepository screeningRepository,
+                          SeatOccupancyIndex seatOccupancyIndex,
+                          MeterRegistry meterRegistry,
+                          @Value("${booking.journal.enabled:false}") boolean isEnabled,
+                          @Value("${booking.journal.path:booking.journal}") Path path,
+                          @Value("${booking.journal.size-bytes:67108864}") int sizeBytes,
+                          @Value("${booking.journal.flush-millis:20}") long flushMillis,
+                          @Value("${booking.journal.batch-size:500}") int batchSize) {
+        this.seatBookingRepository = seatBookingRepository;
+        this.seatAuditoriumRepository = seatAuditoriumRepository;
+        this.accountRepository = accountRepository;
+        this.screeningRepository = screeningRepository;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.isEnabled = isEnabled;
+        this.path = path;
+        this.sizeBytes = sizeBytes;
+        this.flushMillis = flushMillis;
+        this.batchSize = batchSize;
+        FunctionCounter.builder(LOST_COUNTER, this.lostBookings, AtomicInteger::get)
+                .description("Journaled seat bookings dropped because they could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if(this.isEnabled)
+            this.journalFile = JournalFile.open(this.path, this.sizeBytes);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if(this.journalFile == null)
+            return;
+
+        // without a recovery the journal may hold bookings that are already written
+        if(this.writer == null){
+            this.journalFile.close();
+            return;
+        }
+
+        this.writer.shutdown();
+        this.writer.awaitTermination(this.flushMillis * 10, TimeUnit.MILLISECONDS);
+        try {
+            while(flush(false) > 0);
+        }
+        catch (RuntimeException e){
+            // whatever is left is replayed on the next startup
+            log.warn("Failed to drain the booking journal on shutdown", e);
+        }
+        this.journalFile.close();
+    }
+
+    /**
+     * Writes out the bookings a crash left in the journal and starts the background
+     * writer. Must run after the occupancy index has been loaded from the database and
+     * before any booking request is served.
+     */
+    public void recover(){
+        if(this.journalFile == null)
+            return;
+
+        int replayed = 0;
+        int written;
+        while((written = flush(true)) > 0)
+            replayed += written;
+        if(replayed > 0)
+            log.info("Replayed {} journaled seat bookings", replayed);
+        if(this.lostBookings.get() > 0)
+            log.error("Lost {} journaled seat bookings whose seats were booked by others", this.lostBookings.get());
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-journal-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.scheduleWithFixedDelay(() -> {
+            try {
+                while(flush(false) >= this.batchSize);
+            }
+            catch (RuntimeException e){
+                // the records stay past the checkpoint and are retried on the next run
+                log.error("Failed to write journaled seat bookings", e);
+            }
+        }, this.flushMillis, this.flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return whether {@link #append} may take bookings, so the caller knows to draw an id
+     * for them up front
+     */
+    public boolean isAccepting(){
+        // a booking appended before recovery would be taken for one written before the crash
+        return this.writer != null;
+    }
+
+    /**
+     * Appends a booking whose seat the caller has claimed and returns once it is durable.
+     * The writer inserts the booking with the given id, drawn from
+     * {@link SeatBookingRepository#nextSeatBookingId}.
+     *
+     * @return false if the journal is disabled, not yet recovered or full, in which case
+     * the caller has to write the booking itself
+     */
+    public boolean append(long seatBookingId, SeatBookingDto seatBookingDto){
+        if(!isAccepting())
+            return false;
+
+        int position = this.journalFile.append(encode(seatBookingId, seatBookingDto));
+        if(position < 0)
+            return false;
+
+        this.journalFile.sync(position);
+        return true;
+    }
+
+    /**
+     * Inserts the next batch of journaled bookings and moves the checkpoint past them.
+     *
+     * @return the number of records consumed from the journal
+     */
+    synchronized int flush(boolean isReplay){
+        List<JournalFile.Record> records = this.journalFile.read(this.batchSize);
+        if(records.isEmpty())
+            return 0;
+
+        if(isReplay){
+            for(JournalFile.Record record: records)
+                replay(decode(record.getPayload()));
+        }
+        else {
+            List<SeatBookingDto> seatBookingDtos = new ArrayList<>(records.size());
+            for(JournalFile.Record record: records)
+                seatBookingDtos.add(decode(record.getPayload()));
+            insertAll(seatBookingDtos);
+        }
+
+        this.journalFile.checkpoint(records.get(records.size() - 1).getEnd());
+        return records.size();
+    }
+
+    /**
+     * Inserts one journaled booking on its own, so a replay that fails halfway can run
+     * again and find the bookings it already wrote.
+     */
+    private void replay(SeatBookingDto seatBookingDto){
+        boolean isInserted = this.seatBookingRepository.insertIfSeatFree(toSeatBooking(seatBookingDto)).isPresent();
+        this.seatOccupancyIndex.claim(seatBookingDto.getScreeningId(), seatAuditoriumCKOf(seatBookingDto));
+        if(!isInserted && !isBookedBy(seatBookingDto))
+            lost(seatBookingDto, "the seat is booked by another booking", null);
+    }
+
+    /**
+     * @return the number of journaled bookings dropped because their seats were booked by
+     * someone else or their records could not be written
+     */
+    int getLostBookings(){
+        return this.lostBookings.get();
+    }
+
+    private void insertAll(List<SeatBookingDto> seatBookingDtos){
+        boolean[] inserted;
+        try {
+            inserted = this.seatBookingRepository.insertAllIfSeatFree(toSeatBookings(seatBookingDtos));
+        }
+        catch (DataIntegrityViolationException e){
+            // one bad record must not hold back the rest of the journal
+            for(SeatBookingDto seatBookingDto: seatBookingDtos)
+                insertOrDrop(seatBookingDto);
+            return;
+        }
+        for(int i = 0; i < inserted.length; i++)
+            if(!inserted[i] && !isBookedBy(seatBookingDtos.get(i)))
+                lost(seatBookingDtos.get(i), "the seat is booked by another booking", null);
+    }
+
+    private void insertOrDrop(SeatBookingDto seatBookingDto){
+        try {
+            if(this.seatBookingRepository.insertIfSeatFree(toSeatBooking(seatBookingDto)).isEmpty()
+                    && !isBookedBy(seatBookingDto))
+                lost(seatBookingDto, "the seat is booked by another booking", null);
+        }
+        catch (DataIntegrityViolationException e){
+            if(isBookedBy(seatBookingDto))
+                return;
+            lost(seatBookingDto, "the record could not be written", e);
+            // no booking holds the seat, so the claim made for this one is given back
+            this.seatOccupancyIndex.release(seatBookingDto.getScreeningId(), seatAuditoriumCKOf(seatBookingDto));
+        }
+    }
+
+    private boolean isBookedBy(SeatBookingDto seatBookingDto){
+        return this.seatBookingRepository.isSeatBookedBy(seatBookingDto.getScreeningId(),
+                seatBookingDto.getAuditoriumId(), seatBookingDto.getRowNumber(), seatBookingDto.getSeatNumber(),
+                seatBookingDto.getAccountId(), seatBookingDto.getBookedTime());
+    }
+
+    private void lost(SeatBookingDto seatBookingDto, String reason, Exception cause){
+        this.lostBookings.incrementAndGet();
+        log.error("Lost journaled seat booking {} of account {} booked at {} for screening {}, auditorium {}, row {}, seat {}: {}",
+                seatBookingDto.getSeatBookingId(), seatBookingDto.getAccountId(), seatBookingDto.getBookedTime(),
+                seatBookingDto.getScreeningId(), seatBookingDto.getAuditoriumId(), seatBookingDto.getRowNumber(),
+                seatBookingDto.getSeatNumber(), reason, cause);
+    }
+
+    private List<SeatBooking> toSeatBookings(List<SeatBookingDto> seatBookingDtos){
+        List<SeatBooking> seatBookings = new ArrayList<>(seatBookingDtos.size());
+        for(SeatBookingDto seatBookingDto: seatBookingDtos)
+            seatBookings.add(toSeatBooking(seatBookingDto));
+        return seatBookings;
+    }
+
+    /**
+     * Builds the booking from references, since the service checked that the screening,
+     * account and seat exist before the booking was journaled.
+     */
+    private SeatBooking toSeatBooking(SeatBookingDto seatBookingDto){
+        return SeatBooking.builder()
+                .seatBookingId(seatBookingDto.getSeatBookingId())
+                .bookedTime(seatBookingDto.getBookedTime())
+                .account(this.accountRepository.getById(seatBookingDto.getAccountId()))
+                .screening(this.screeningRepository.getById(seatBookingDto.getScreeningId()))
+                .seatAuditorium(this.seatAuditoriumRepository.getById(seatAuditoriumCKOf(seatBookingDto)))
+                .build();
+    }
+
+    private static SeatAuditoriumCK seatAuditoriumCKOf(SeatBookingDto seatBookingDto){
+        return SeatAuditoriumCK.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber(seatBookingDto.getRowNumber())
+                        .seatNumber(seatBookingDto.getSeatNumber())
+                        .build())
+                .auditoriumId(seatBookingDto.getAuditoriumId())
+                .build();
+    }
+
+    static ByteBuffer encode(long seatBookingId, SeatBookingDto seatBookingDto){
+        byte[] rowNumber = seatBookingDto.getRowNumber().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(5 * Long.BYTES + Integer.BYTES + Short.BYTES + rowNumber.length);
+        payload.putLong(seatBookingId)
+                .putLong(seatBookingDto.getBookedTime())
+                .putLong(seatBookingDto.getAccountId())
+                .putLong(seatBookingDto.getScreeningId())
+                .putLong(seatBookingDto.getAuditoriumId())
+                .putInt(seatBookingDto.getSeatNumber())
+                .putShort((short) rowNumber.length)
+                .put(rowNumber);
+        return payload.flip();
+    }
+
+    static SeatBookingDto decode(ByteBuffer payload){
+        SeatBookingDto.SeatBookingDtoBuilder builder = SeatBookingDto.builder()
+                .seatBookingId(payload.getLong())
+                .bookedTime(payload.getLong())
+                .accountId(payload.getLong())
+                .screeningId(payload.getLong())
+                .auditoriumId(payload.getLong())
+                .seatNumber(payload.getInt());
+        byte[] rowNumber = new byte[payload.getShort()];
+        payload.get(rowNumber);
+        return builder.rowNumber(new String(rowNumber, StandardCharsets.UTF_8)).build();
+    }
+}
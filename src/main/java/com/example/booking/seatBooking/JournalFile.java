@@ -0,0 +1,203 @@
+package com.example.booking.seatBooking;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed size, memory-mapped append log. The header holds the epoch and the checkpoint,
+ * the offset up to which records have been written to the database. Each record is
+ * {@code [length][crc][epoch][payload]}, the crc covering the epoch and the payload, so
+ * a torn write or a record left over from an earlier epoch ends the log on reopen.
+ * <p>
+ * Appends only copy into the mapping. {@link #sync} forces the mapping to disk for every
+ * record appended so far, so threads that wait on the same force share one fsync. Once
+ * the checkpoint catches up with the last append the log starts over at the head under
+ * a new epoch.
+ */
+final class JournalFile implements Closeable {
+
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_OVERHEAD = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int MAGIC = 0x424b4a4e;
+    private static final int EPOCH_OFFSET = 8;
+    private static final int CHECKPOINT_OFFSET = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Object syncLock = new Object();
+    private long epoch;
+    private int writePosition;
+    private volatile int durablePosition;
+    private volatile int checkpoint;
+
+    private JournalFile(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+
+        int checkpoint = (int) buffer.getLong(CHECKPOINT_OFFSET);
+        if(buffer.getInt(0) != MAGIC || checkpoint < HEADER_SIZE || checkpoint > buffer.capacity()){
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(EPOCH_OFFSET, 1L);
+            buffer.putLong(CHECKPOINT_OFFSET, HEADER_SIZE);
+            buffer.force();
+            checkpoint = HEADER_SIZE;
+        }
+
+        this.epoch = buffer.getLong(EPOCH_OFFSET);
+        this.checkpoint = checkpoint;
+        this.writePosition = scan(checkpoint);
+        this.durablePosition = this.writePosition;
+    }
+
+    static JournalFile open(Path path, int sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new JournalFile(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes));
+        }
+        catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the offset just past the record, to hand to {@link #sync}, or -1 if the
+     * record does not fit until the log has been checkpointed
+     */
+    synchronized int append(ByteBuffer payload) {
+        int length = Long.BYTES + payload.remaining();
+        int position = this.writePosition;
+        int end = position + Integer.BYTES + Integer.BYTES + length;
+        if(end > this.buffer.capacity())
+            return -1;
+
+        this.buffer.putLong(position + Integer.BYTES + Integer.BYTES, this.epoch);
+        ByteBuffer target = this.buffer.duplicate();
+        target.position(position + RECORD_OVERHEAD);
+        target.put(payload.duplicate());
+
+        this.buffer.putInt(position + Integer.BYTES, crcOf(position + Integer.BYTES + Integer.BYTES, end));
+        this.buffer.putInt(position, length);
+        this.writePosition = end;
+        return end;
+    }
+
+    /**
+     * Returns once every record up to {@code position} is on disk.
+     */
+    void sync(int position) {
+        if(this.durablePosition >= position)
+            return;
+
+        synchronized (this.syncLock){
+            if(this.durablePosition >= position)
+                return;
+
+            int target;
+            synchronized (this){
+                target = this.writePosition;
+            }
+            this.buffer.force();
+            this.durablePosition = target;
+        }
+    }
+
+    /**
+     * @return up to {@code maxRecords} synced records past the checkpoint, oldest first
+     */
+    List<Record> read(int maxRecords) {
+        List<Record> records = new ArrayList<>();
+        int position = this.checkpoint;
+        int limit = this.durablePosition;
+        while(position < limit && records.size() < maxRecords){
+            int end = position + Integer.BYTES + Integer.BYTES + this.buffer.getInt(position);
+            ByteBuffer payload = this.buffer.duplicate();
+            payload.position(position + RECORD_OVERHEAD).limit(end);
+            records.add(new Record(payload.slice(), end));
+            position = end;
+        }
+        return records;
+    }
+
+    /**
+     * Marks every record up to {@code position} as written to the database.
+     */
+    void checkpoint(int position) {
+        synchronized (this.syncLock){
+            synchronized (this){
+                if(position == this.writePosition){
+                    this.epoch++;
+                    this.writePosition = HEADER_SIZE;
+                    this.durablePosition = HEADER_SIZE;
+                    this.checkpoint = HEADER_SIZE;
+                    this.buffer.putLong(EPOCH_OFFSET, this.epoch);
+                }
+                else
+                    this.checkpoint = position;
+                this.buffer.putLong(CHECKPOINT_OFFSET, this.checkpoint);
+            }
+            this.buffer.force();
+        }
+    }
+
+    boolean isEmpty() {
+        return this.checkpoint == this.durablePosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    private int scan(int position) {
+        while(position + RECORD_OVERHEAD <= this.buffer.capacity()){
+            int length = this.buffer.getInt(position);
+            int end = position + Integer.BYTES + Integer.BYTES + length;
+            if(length < Long.BYTES || end > this.buffer.capacity() || end < 0)
+                break;
+            if(this.buffer.getInt(position + Integer.BYTES) != crcOf(position + Integer.BYTES + Integer.BYTES, end))
+                break;
+            if(this.buffer.getLong(position + Integer.BYTES + Integer.BYTES) != this.epoch)
+                break;
+            position = end;
+        }
+        return position;
+    }
+
+    private int crcOf(int from, int to) {
+        ByteBuffer region = this.buffer.duplicate();
+        region.position(from).limit(to);
+        CRC32 crc = new CRC32();
+        crc.update(region);
+        return (int) crc.getValue();
+    }
+
+    static final class Record {
+
+        private final ByteBuffer payload;
+        private final int end;
+
+        private Record(ByteBuffer payload, int end) {
+            this.payload = payload;
+            this.end = end;
+        }
+
+        ByteBuffer getPayload() {
+            return this.payload.duplicate();
+        }
+
+        int getEnd() {
+            return this.end;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.exception.ServiceUnavailableException;
+import com.example.booking.sql.RequestOrigin;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Striped single-threaded executors for the in-memory step of booking writes, the seat
+ * claims in the {@link SeatOccupancyIndex}. Every claim for a screening runs on the stripe
+ * its id maps to, one at a time and in arrival order, so bookings for a hot screening
+ * queue in memory instead of on row locks. Each stripe queues at most
+ * {@code booking.mailbox.capacity} claims and turns away the rest with a 503, so a burst
+ * pushes back on clients instead of piling up in memory.
+ * <p>
+ * The lookups, inserts and journal appends around a claim block on I/O and never run on a
+ * stripe, or bookings for different screenings sharing a stripe would wait on each
+ * other's database round trips, and the node would write no more bookings at once than
+ * it has cores. Synchronous callers run them on their own thread. Asynchronous callers
+ * hand them to {@link #submitBlocking}, a pool of {@code booking.mailbox.io-threads}
+ * threads, 200 by default to match Tomcat's request threads.
+ */
+@Component
+public class ScreeningMailboxes {
+
+    private final ExecutorService[] stripes;
+    private final ThreadPoolExecutor io;
+    private final ThreadLocal<Integer> currentStripe = new ThreadLocal<>();
+
+    @Autowired
+    public ScreeningMailboxes(@Value("${booking.mailbox.stripes:0}") int stripes,
+                              @Value("${booking.mailbox.capacity:10000}") int capacity,
+                              @Value("${booking.mailbox.io-threads:200}") int ioThreads) {
+        this.stripes = new ExecutorService[stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors()];
+        for(int i = 0; i < this.stripes.length; i++){
+            int stripe = i;
+            this.stripes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), runnable -> {
+                        Thread thread = new Thread(() -> {
+                            this.currentStripe.set(stripe);
+                            runnable.run();
+                        }, "screening-mailbox-" + stripe);
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+
+        AtomicInteger ioThreadCount = new AtomicInteger();
+        this.io = new ThreadPoolExecutor(ioThreads, ioThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+                    Thread thread = new Thread(runnable, "booking-io-" + ioThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.io.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        this.io.shutdown();
+        for(ExecutorService stripe: this.stripes)
+            stripe.shutdown();
+        // let queued bookings finish before the datasource goes away
+        this.io.awaitTermination(5, TimeUnit.SECONDS);
+        for(ExecutorService stripe: this.stripes)
+            stripe.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues the write on the screening's stripe without waiting for it. A missing or
+     * invalid id runs on the caller so the write can reject it, as does a write already
+     * running on the stripe.
+     */
+    public <T> CompletableFuture<T> submit(Long screeningId, Supplier<T> write){
+        if(screeningId == null || screeningId <= 0 || isOnStripe(screeningId)){
+            try {
+                return CompletableFuture.completedFuture(write.get());
+            }
+            catch (RuntimeException e){
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(RequestOrigin.propagate(write), this.stripes[stripeOf(screeningId)]);
+        }
+        catch (RejectedExecutionException e){
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(
+                    "Too many pending bookings for screening Id of " + screeningId));
+        }
+    }
+
+    /**
+     * Runs a write that blocks on I/O off the stripes, without waiting for it. Claims it
+     * makes through {@link #call} still run on their screening's stripe.
+     */
+    public <T> CompletableFuture<T> submitBlocking(Supplier<T> write){
+        try {
+            return CompletableFuture.supplyAsync(RequestOrigin.propagate(write), this.io);
+        }
+        catch (RejectedExecutionException e){
+            return CompletableFuture.failedFuture(new ServiceUnavailableException("Too many pending bookings"));
+        }
+    }
+
+    /**
+     * Runs the write on the screening's stripe and waits for its result or exception.
+     */
+    public <T> T call(Long screeningId, Supplier<T> write){
+        try {
+            return submit(screeningId, write).join();
+        }
+        catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if(e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    public void run(Long screeningId, Runnable write){
+        call(screeningId, () -> {
+            write.run();
+            return null;
+        });
+    }
+
+    int stripeOf(long screeningId){
+        return (int) Math.floorMod(screeningId, (long) this.stripes.length);
+    }
+
+    private boolean isOnStripe(long screeningId){
+        Integer current = this.currentStripe.get();
+        return current != null && current == stripeOf(screeningId);
+    }
+}
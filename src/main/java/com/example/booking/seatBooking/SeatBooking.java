@@ -1,5 +1,6 @@
 package com.example.booking.seatBooking;
 
+import com.example.booking.config.IdAllocation;
 import com.example.booking.account.Account;
 import com.example.booking.screening.Screening;
 import com.example.booking.seatAuditorium.SeatAuditorium;
@@ -18,6 +19,7 @@ import javax.persistence.JoinColumns;
 import javax.persistence.ManyToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.util.Objects;
 
 @Getter
@@ -25,15 +27,22 @@ import java.util.Objects;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table
+@Table(uniqueConstraints = @UniqueConstraint(name = SeatBooking.SEAT_CONSTRAINT,
+        columnNames = {"screenId", "auditoriumId", "rowNumber", "seatNumber"}))
 @Builder
 public class SeatBooking {
 
+    /**
+     * One booking per seat and screening, so the database turns away a double booking
+     * that the occupancy index did not see, such as one made by another instance.
+     */
+    public static final String SEAT_CONSTRAINT = "uk_seat_booking_screening_seat";
+
     @Id
     @SequenceGenerator(
             name="booking_sequence",
             sequenceName = "booking_sequence",
-            allocationSize = 1
+            allocationSize = IdAllocation.SEAT_BOOKING_BLOCK_SIZE
     )
     @GeneratedValue(
             strategy = GenerationType.SEQUENCE,
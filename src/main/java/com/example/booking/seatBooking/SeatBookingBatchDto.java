@@ -0,0 +1,27 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seat.SeatId;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBookingBatchDto {
+
+    private Long bookedTime;
+
+    private Long auditoriumId;
+
+    private Long accountId;
+
+    private Long screeningId;
+
+    private List<SeatId> seats;
+
+}
@@ -1,6 +1,8 @@
 package com.example.booking.seatBooking;
 
+import com.example.booking.idempotency.IdempotencyStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,8 +10,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -21,28 +26,62 @@ import java.util.stream.Collectors;
 public class SeatBookingController {
 
     private final SeatBookingService service;
+    private final SeatBookingExportService seatBookingExportService;
+    private final BookingMetrics bookingMetrics;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public SeatBookingController(SeatBookingService service) {
+    public SeatBookingController(SeatBookingService service, SeatBookingExportService seatBookingExportService,
+                                 BookingMetrics bookingMetrics, IdempotencyStore idempotencyStore) {
         this.service = service;
+        this.seatBookingExportService = seatBookingExportService;
+        this.bookingMetrics = bookingMetrics;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @GetMapping
-    public ResponseEntity<List<SeatBookingDto>> getSeatBookings(){
-        return ResponseEntity.ok().body(this.service.getSeatBookings().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<List<SeatBookingDto>> getSeatBookings(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit){
+        return this.service.getSeatBookings(cursor, limit).toResponse(SeatBookingMapper::toDto);
+    }
+
+    @GetMapping(path="/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSeatBookings(){
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this.seatBookingExportService::exportSeatBookings);
     }
 
     @GetMapping(path="/{bookingId}")
     public ResponseEntity<SeatBookingDto> getSeatBooking(@PathVariable long bookingId){
-        return ResponseEntity.ok().body(convertToDTO(this.service.getSeatBooking(bookingId)));
+        return ResponseEntity.ok().body(SeatBookingMapper.toDto(this.service.getSeatBooking(bookingId)));
     }
 
+    /**
+     * A retry carrying the same Idempotency-Key is answered with the stored response.
+     */
     @PostMapping
-    public ResponseEntity<SeatBookingDto> addSeatBooking(@RequestBody SeatBookingDto seatBookingDto){
+    public ResponseEntity<SeatBookingDto> addSeatBooking(@RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                                         @RequestBody SeatBookingDto seatBookingDto){
+        return this.idempotencyStore.execute("seatbooking", idempotencyKey, seatBookingDto, SeatBookingDto.class,
+                () -> bookSeat(seatBookingDto));
+    }
+
+    private ResponseEntity<SeatBookingDto> bookSeat(SeatBookingDto seatBookingDto){
         URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/seatBooking").toUriString());
-        return ResponseEntity.created(uri).body(convertToDTO(this.service.addSeatBooking(seatBookingDto)));
+        SeatBooking seatBooking = this.service.addSeatBooking(seatBookingDto);
+        long convertStart = this.bookingMetrics.start();
+        SeatBookingDto body = convertToDTO(seatBooking);
+        this.bookingMetrics.record(BookingMetrics.Stage.CONVERT, convertStart);
+        return ResponseEntity.created(uri).body(body);
+    }
+
+    @PostMapping(path="/batch")
+    public ResponseEntity<List<SeatBookingDto>> addSeatBookings(@RequestBody SeatBookingBatchDto seatBookingBatchDto){
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/seatBooking").toUriString());
+        return ResponseEntity.created(uri).body(this.service.addSeatBookings(seatBookingBatchDto).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
     }
 
     @DeleteMapping(path="/{bookingId}")
@@ -71,14 +110,6 @@ public class SeatBookingController {
     }
 
     public SeatBookingDto convertToDTO(SeatBooking seatBooking){
-        return SeatBookingDto.builder()
-                .seatBookingId(seatBooking.getSeatBookingId())
-                .seatNumber(seatBooking.getSeatAuditorium().getSeat().getSeatId().getSeatNumber())
-                .rowNumber(seatBooking.getSeatAuditorium().getSeat().getSeatId().getRowNumber())
-                .auditoriumId(seatBooking.getSeatAuditorium().getAuditorium().getAuditoriumId())
-                .screeningId(seatBooking.getScreening().getScreeningId())
-                .accountId(seatBooking.getAccount().getAccountId())
-                .bookedTime(seatBooking.getBookedTime())
-                .build();
+        return SeatBookingMapper.toDto(seatBooking);
     }
 }
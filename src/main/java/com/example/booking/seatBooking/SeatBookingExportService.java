@@ -0,0 +1,49 @@
+package com.example.booking.seatBooking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every seat booking as newline-delimited JSON. Rows are read through a forward-only
+ * cursor as projections, so no entity is loaded, and each one is serialized into the
+ * generator's fixed buffer, which spills to the response as it fills. Heap use does not grow
+ * with the number of bookings.
+ */
+@Service
+public class SeatBookingExportService {
+
+    private final SeatBookingRepository seatBookingRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    @Autowired
+    public SeatBookingExportService(SeatBookingRepository seatBookingRepository, ObjectMapper objectMapper) {
+        this.seatBookingRepository = seatBookingRepository;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(SeatBookingDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional
+    public void exportSeatBookings(OutputStream outputStream) throws IOException {
+        try(Stream<SeatBookingRow> rows = this.seatBookingRepository.streamAllForExport();
+            JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)){
+            Iterator<SeatBookingRow> iterator = rows.iterator();
+            while(iterator.hasNext()){
+                this.writer.writeValue(generator, SeatBookingMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
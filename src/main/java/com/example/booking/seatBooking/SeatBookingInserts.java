@@ -0,0 +1,33 @@
+package com.example.booking.seatBooking;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository fragment for booking inserts that the database checks against
+ * {@link SeatBooking#SEAT_CONSTRAINT} itself.
+ */
+public interface SeatBookingInserts {
+
+    /**
+     * Inserts the booking unless its seat is already booked for the screening, in a single
+     * statement that neither reads first nor takes a lock.
+     *
+     * @return the id of the inserted booking, or empty if the seat was taken
+     */
+    Optional<Long> insertIfSeatFree(SeatBooking seatBooking);
+
+    /**
+     * {@link #insertIfSeatFree} for a batch, in one transaction and one JDBC batch. Every
+     * booking must carry its id, taken from {@link #nextSeatBookingId}.
+     *
+     * @return for each booking, whether it was inserted rather than turned away by a taken seat
+     */
+    boolean[] insertAllIfSeatFree(List<SeatBooking> seatBookings);
+
+    /**
+     * Takes the next id from the booking sequence, through the same pooled block as
+     * regular saves, so a booking can be acknowledged with its id before it is inserted.
+     */
+    long nextSeatBookingId();
+}
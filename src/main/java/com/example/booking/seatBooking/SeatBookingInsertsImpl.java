@@ -0,0 +1,121 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Postgres inserts with {@code ON CONFLICT DO NOTHING RETURNING}, so a taken seat returns
+ * no row instead of failing the statement. H2, which the tests run on, has no such clause
+ * and merges into a {@code FINAL TABLE} instead. The id comes from the entity's own
+ * generator, so these inserts share the sequence blocks of regular saves, unless the
+ * booking already carries one from {@link #nextSeatBookingId}.
+ */
+class SeatBookingInsertsImpl implements SeatBookingInserts {
+
+    private static final String INSERT = "INSERT INTO seat_booking " +
+            "(seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "VALUES (:seatBookingId, :bookedTime, :accountId, :screeningId, :auditoriumId, :rowNumber, :seatNumber) " +
+            "ON CONFLICT ON CONSTRAINT " + SeatBooking.SEAT_CONSTRAINT + " DO NOTHING " +
+            "RETURNING seat_booking_id";
+
+    private static final String H2_INSERT = "SELECT seat_booking_id FROM FINAL TABLE (" +
+            "MERGE INTO seat_booking b USING (VALUES (CAST(:seatBookingId AS BIGINT), CAST(:bookedTime AS BIGINT), " +
+            "CAST(:accountId AS BIGINT), CAST(:screeningId AS BIGINT), CAST(:auditoriumId AS BIGINT), " +
+            "CAST(:rowNumber AS VARCHAR), CAST(:seatNumber AS INTEGER))) " +
+            "v (seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "ON b.screen_id = v.screen_id AND b.auditorium_id = v.auditorium_id " +
+            "AND b.row_number = v.row_number AND b.seat_number = v.seat_number " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "VALUES (v.seat_booking_id, v.booked_time, v.account_id, v.screen_id, v.auditorium_id, v.row_number, v.seat_number))";
+
+    private static final String BATCH_INSERT = "INSERT INTO seat_booking " +
+            "(seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT ON CONSTRAINT " + SeatBooking.SEAT_CONSTRAINT + " DO NOTHING";
+
+    private static final String H2_BATCH_INSERT = "MERGE INTO seat_booking b USING (VALUES (CAST(? AS BIGINT), " +
+            "CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS INTEGER))) " +
+            "v (seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "ON b.screen_id = v.screen_id AND b.auditorium_id = v.auditorium_id " +
+            "AND b.row_number = v.row_number AND b.seat_number = v.seat_number " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(seat_booking_id, booked_time, account_id, screen_id, auditorium_id, row_number, seat_number) " +
+            "VALUES (v.seat_booking_id, v.booked_time, v.account_id, v.screen_id, v.auditorium_id, v.row_number, v.seat_number)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public Optional<Long> insertIfSeatFree(SeatBooking seatBooking) {
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        Serializable seatBookingId = seatBooking.getSeatBookingId() != null
+                ? seatBooking.getSeatBookingId()
+                : generateId(session, seatBooking);
+        String sql = session.getJdbcServices().getDialect() instanceof H2Dialect ? H2_INSERT : INSERT;
+
+        List<?> inserted = this.entityManager.createNativeQuery(sql)
+                .setParameter("seatBookingId", seatBookingId)
+                .setParameter("bookedTime", seatBooking.getBookedTime())
+                .setParameter("accountId", seatBooking.getAccount().getAccountId())
+                .setParameter("screeningId", seatBooking.getScreening().getScreeningId())
+                .setParameter("auditoriumId", seatBooking.getSeatAuditorium().getId().getAuditoriumId())
+                .setParameter("rowNumber", seatBooking.getSeatAuditorium().getId().getSeatId().getRowNumber())
+                .setParameter("seatNumber", seatBooking.getSeatAuditorium().getId().getSeatId().getSeatNumber())
+                .getResultList();
+        return inserted.isEmpty() ? Optional.empty() : Optional.of(((Number) inserted.get(0)).longValue());
+    }
+
+    @Override
+    @Transactional
+    public boolean[] insertAllIfSeatFree(List<SeatBooking> seatBookings) {
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        String sql = session.getJdbcServices().getDialect() instanceof H2Dialect ? H2_BATCH_INSERT : BATCH_INSERT;
+        boolean[] inserted = new boolean[seatBookings.size()];
+        if(seatBookings.isEmpty())
+            return inserted;
+
+        session.doWork(connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(sql)){
+                for(SeatBooking seatBooking: seatBookings){
+                    SeatAuditoriumCK seat = seatBooking.getSeatAuditorium().getId();
+                    statement.setLong(1, seatBooking.getSeatBookingId());
+                    statement.setLong(2, seatBooking.getBookedTime());
+                    statement.setLong(3, seatBooking.getAccount().getAccountId());
+                    statement.setLong(4, seatBooking.getScreening().getScreeningId());
+                    statement.setLong(5, seat.getAuditoriumId());
+                    statement.setString(6, seat.getSeatId().getRowNumber());
+                    statement.setInt(7, seat.getSeatId().getSeatNumber());
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                // a skipped conflict counts 0; a driver that reports no count has inserted the row
+                for(int i = 0; i < counts.length; i++)
+                    inserted[i] = counts[i] != 0;
+            }
+        });
+        return inserted;
+    }
+
+    @Override
+    @Transactional
+    public long nextSeatBookingId() {
+        SessionImplementor session = this.entityManager.unwrap(SessionImplementor.class);
+        return ((Number) generateId(session, null)).longValue();
+    }
+
+    private static Serializable generateId(SessionImplementor session, SeatBooking seatBooking) {
+        return session.getFactory().getMetamodel().entityPersister(SeatBooking.class)
+                .getIdentifierGenerator().generate(session, seatBooking);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.booking.seatBooking;
+
+public final class SeatBookingMapper {
+
+    private SeatBookingMapper() {
+    }
+
+    public static SeatBookingDto toDto(SeatBooking seatBooking){
+        return SeatBookingDto.builder()
+                .seatBookingId(seatBooking.getSeatBookingId())
+                .seatNumber(seatBooking.getSeatAuditorium().getSeat().getSeatId().getSeatNumber())
+                .rowNumber(seatBooking.getSeatAuditorium().getSeat().getSeatId().getRowNumber())
+                .auditoriumId(seatBooking.getSeatAuditorium().getAuditorium().getAuditoriumId())
+                .screeningId(seatBooking.getScreening().getScreeningId())
+                .accountId(seatBooking.getAccount().getAccountId())
+                .bookedTime(seatBooking.getBookedTime())
+                .build();
+    }
+
+    public static SeatBookingDto toDto(SeatBookingRow row){
+        return SeatBookingDto.builder()
+                .seatBookingId(row.getSeatBookingId())
+                .seatNumber(row.getSeatNumber())
+                .rowNumber(row.getRowNumber())
+                .auditoriumId(row.getAuditoriumId())
+                .screeningId(row.getScreeningId())
+                .accountId(row.getAccountId())
+                .bookedTime(row.getBookedTime())
+                .build();
+    }
+}
@@ -1,8 +1,62 @@
 package com.example.booking.seatBooking;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
-public interface SeatBookingRepository extends JpaRepository<SeatBooking, Long> {
+public interface SeatBookingRepository extends JpaRepository<SeatBooking, Long>, SeatBookingInserts {
+
+    @Query("SELECT b.screening.screeningId AS screeningId, " +
+            "b.seatAuditorium.id.auditoriumId AS auditoriumId, " +
+            "b.seatAuditorium.id.seatId.rowNumber AS rowNumber, " +
+            "b.seatAuditorium.id.seatId.seatNumber AS seatNumber " +
+            "FROM SeatBooking b")
+    List<BookedSeat> findAllBookedSeats();
+
+    @Query("SELECT COUNT(b) > 0 FROM SeatBooking b " +
+            "WHERE b.screening.screeningId = ?1 " +
+            "AND b.seatAuditorium.id.auditoriumId = ?2 " +
+            "AND b.seatAuditorium.id.seatId.rowNumber = ?3 " +
+            "AND b.seatAuditorium.id.seatId.seatNumber = ?4 " +
+            "AND b.account.accountId = ?5 " +
+            "AND b.bookedTime = ?6")
+    boolean isSeatBookedBy(long screeningId, long auditoriumId, String rowNumber, int seatNumber,
+                           long accountId, long bookedTime);
+
+    String SELECT_ROWS = "SELECT b.seatBookingId AS seatBookingId, " +
+            "b.bookedTime AS bookedTime, " +
+            "b.seatAuditorium.id.auditoriumId AS auditoriumId, " +
+            "b.seatAuditorium.id.seatId.rowNumber AS rowNumber, " +
+            "b.seatAuditorium.id.seatId.seatNumber AS seatNumber, " +
+            "b.account.accountId AS accountId, " +
+            "b.screening.screeningId AS screeningId " +
+            "FROM SeatBooking b ";
+
+    @Query(SELECT_ROWS +
+            "WHERE b.seatBookingId = ?1")
+    Optional<SeatBookingRow> findRowById(long seatBookingId);
+
+    @Query(SELECT_ROWS +
+            "WHERE b.seatBookingId > ?1 " +
+            "ORDER BY b.seatBookingId")
+    List<SeatBookingRow> findRowsAfter(long seatBookingId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query(SELECT_ROWS +
+            "ORDER BY b.seatBookingId")
+    Stream<SeatBookingRow> streamAllForExport();
 }
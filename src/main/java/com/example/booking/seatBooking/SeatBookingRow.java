@@ -0,0 +1,22 @@
+package com.example.booking.seatBooking;
+
+/**
+ * The columns of a {@link SeatBookingDto}, read straight off the seat_booking row in one
+ * statement instead of loading the account, screening and seat of every booking.
+ */
+public interface SeatBookingRow {
+
+    Long getSeatBookingId();
+
+    Long getBookedTime();
+
+    Long getAuditoriumId();
+
+    String getRowNumber();
+
+    Integer getSeatNumber();
+
+    Long getAccountId();
+
+    Long getScreeningId();
+}
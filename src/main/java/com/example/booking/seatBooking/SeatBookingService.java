@@ -3,47 +3,188 @@ package com.example.booking.seatBooking;
 import com.example.booking.account.Account;
 import com.example.booking.account.AccountRepository;
 import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.SeatAlreadyBookedException;
 import com.example.booking.exception.SeatBookingNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.screening.Screening;
 import com.example.booking.screening.ScreeningRepository;
 import com.example.booking.seat.SeatId;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import com.example.booking.seatAuditorium.SeatAuditoriumCK;
 import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
-public class SeatBookingService {
+public class SeatBookingService implements SmartInitializingSingleton {
 
     private final SeatBookingRepository seatBookingRepository;
     private final SeatAuditoriumRepository seatAuditoriumRepository;
     private final AccountRepository accountRepository;
     private final ScreeningRepository screeningRepository;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final BookingJournal bookingJournal;
+    private final ScreeningMailboxes screeningMailboxes;
+    private final BookingMetrics bookingMetrics;
 
     @Autowired
     public SeatBookingService(SeatBookingRepository seatBookingRepository,
                               SeatAuditoriumRepository seatAuditoriumRepository,
                               AccountRepository accountRepository,
-                              ScreeningRepository screeningRepository) {
+                              ScreeningRepository screeningRepository,
+                              SeatOccupancyIndex seatOccupancyIndex,
+                              BookingJournal bookingJournal,
+                              ScreeningMailboxes screeningMailboxes,
+                              BookingMetrics bookingMetrics) {
         this.seatBookingRepository = seatBookingRepository;
         this.seatAuditoriumRepository = seatAuditoriumRepository;
         this.accountRepository = accountRepository;
         this.screeningRepository = screeningRepository;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.bookingJournal = bookingJournal;
+        this.screeningMailboxes = screeningMailboxes;
+        this.bookingMetrics = bookingMetrics;
     }
 
-    public List<SeatBooking> getSeatBookings(){
-        return this.seatBookingRepository.findAll();
+    /**
+     * Loads the occupancy index before the web server starts taking requests, so no
+     * booking can claim a seat the database already holds.
+     */
+    @Override
+    public void afterSingletonsInstantiated(){
+        loadSeatOccupancy();
     }
 
-    public SeatBooking getSeatBooking(Long bookingId){
-        return this.seatBookingRepository.findById(bookingId)
+    void loadSeatOccupancy(){
+        for(BookedSeat bookedSeat: this.seatBookingRepository.findAllBookedSeats()){
+            this.seatOccupancyIndex.claim(bookedSeat.getScreeningId(), SeatAuditoriumCK.builder()
+                    .seatId(SeatId.builder()
+                            .rowNumber(bookedSeat.getRowNumber())
+                            .seatNumber(bookedSeat.getSeatNumber())
+                            .build())
+                    .auditoriumId(bookedSeat.getAuditoriumId())
+                    .build());
+        }
+        this.bookingJournal.recover();
+    }
+
+    public KeysetPage<SeatBookingRow> getSeatBookings(String cursor, Integer limit){
+        int pageLimit = KeysetPage.limitOf(limit);
+        Cursor after = Cursor.parse(cursor, 1);
+        List<SeatBookingRow> rows = this.seatBookingRepository.findRowsAfter(
+                after == null ? 0L : after.getLong(0), KeysetPage.fetchOf(pageLimit));
+        return KeysetPage.of(rows, pageLimit, seatBooking -> Cursor.of(seatBooking.getSeatBookingId()));
+    }
+
+    public SeatBookingRow getSeatBooking(Long bookingId){
+        return this.seatBookingRepository.findRowById(bookingId)
                 .orElseThrow(()-> new SeatBookingNotFoundException("Seat Booking of id " + bookingId + " does not exists"));
     }
 
+    /**
+     * Books a single seat. Only the claim runs on the screening's mailbox; the lookups and
+     * the insert run on the calling thread.
+     */
     public SeatBooking addSeatBooking(SeatBookingDto seatBookingDto){
+        return bookSeat(seatBookingDto);
+    }
+
+    /**
+     * {@link #addSeatBooking} without holding the calling thread while the booking is
+     * looked up, claimed and written.
+     */
+    public CompletableFuture<SeatBooking> addSeatBookingAsync(SeatBookingDto seatBookingDto){
+        return this.screeningMailboxes.submitBlocking(() -> bookSeat(seatBookingDto));
+    }
+
+    /**
+     * Books every seat in the batch or none of them. Seats are claimed in the occupancy
+     * index as a group before a single saveAll, which runs in its own transaction so a
+     * failed insert rolls back the whole batch and the claims are handed back.
+     */
+    public List<SeatBooking> addSeatBookings(SeatBookingBatchDto seatBookingBatchDto){
+        return bookSeats(seatBookingBatchDto);
+    }
+
+    /**
+     * Claims the seats of the batch in the occupancy index without booking them. The
+     * caller owns the claims until it books them with {@link #addClaimedSeatBookings}
+     * or hands them back through {@link SeatOccupancyIndex#release}.
+     */
+    public List<SeatAuditoriumCK> claimSeats(SeatBookingBatchDto seatBookingBatchDto){
+        return claimSeatsOf(seatBookingBatchDto);
+    }
+
+    /**
+     * {@link #claimSeats} without holding the calling thread while the seats are looked
+     * up and claimed.
+     */
+    public CompletableFuture<List<SeatAuditoriumCK>> claimSeatsAsync(SeatBookingBatchDto seatBookingBatchDto){
+        return this.screeningMailboxes.submitBlocking(() -> claimSeatsOf(seatBookingBatchDto));
+    }
+
+    /**
+     * Books seats that the caller already claimed through {@link #claimSeats}. The claims
+     * are left in place if the insert fails.
+     */
+    public List<SeatBooking> addClaimedSeatBookings(SeatBookingBatchDto seatBookingBatchDto){
+        return this.seatBookingRepository.saveAll(prepareSeatBookings(seatBookingBatchDto, false));
+    }
+
+    /**
+     * {@link #addClaimedSeatBookings} on the booking I/O pool.
+     */
+    public CompletableFuture<List<SeatBooking>> addClaimedSeatBookingsAsync(SeatBookingBatchDto seatBookingBatchDto){
+        return this.screeningMailboxes.submitBlocking(() -> addClaimedSeatBookings(seatBookingBatchDto));
+    }
+
+    public void deleteSeatBooking(Long bookingId){
+        removeSeatBooking(bookingId, null);
+    }
+
+    /**
+     * Cancels a booking of the given screening without holding the calling thread, and
+     * turns it away if the booking belongs to another screening.
+     */
+    public CompletableFuture<Void> cancelSeatBookingAsync(long screeningId, Long bookingId){
+        return this.screeningMailboxes.submitBlocking(() -> {
+            removeSeatBooking(bookingId, screeningId);
+            return null;
+        });
+    }
+
+    /**
+     * Moves a booking. A new seat is claimed on the mailbox of its screening before the
+     * booking is saved.
+     */
+    public SeatBooking updateSeatBooking(Long bookingId, SeatBookingDto seatBookingDto) {
+        return changeSeatBooking(bookingId, seatBookingDto);
+    }
+
+    /**
+     * Claims the seat on the screening's mailbox, the only step of a booking write that
+     * runs there.
+     */
+    private boolean claim(long screeningId, SeatAuditoriumCK seatAuditoriumCK){
+        return this.screeningMailboxes.call(screeningId, () -> this.seatOccupancyIndex.claim(screeningId, seatAuditoriumCK));
+    }
+
+    private SeatBooking bookSeat(SeatBookingDto seatBookingDto){
+        long stageStart = this.bookingMetrics.start();
+
         if(seatBookingDto.getBookedTime() == null || seatBookingDto.getBookedTime() <= 0)
             throw  new BadRequestException("Missing or invalid booking time");
 
@@ -62,12 +203,6 @@ public class SeatBookingService {
         if(seatBookingDto.getAuditoriumId() == null || seatBookingDto.getAuditoriumId() <= 0)
             throw  new BadRequestException("Missing or invalid auditorium id");
 
-        Screening screening = this.screeningRepository.findById(seatBookingDto.getScreeningId())
-                .orElseThrow(()->new BadRequestException("Screening does not exist with screening Id of " + seatBookingDto.getScreeningId()));
-
-        Account account = this.accountRepository.findById(seatBookingDto.getAccountId())
-                .orElseThrow(()-> new BadRequestException("Account does not exist with account Id of " + seatBookingDto.getAccountId()));
-
         SeatAuditoriumCK seatAuditoriumCK = SeatAuditoriumCK.builder()
                 .seatId(SeatId.builder()
                         .rowNumber(seatBookingDto.getRowNumber())
@@ -76,31 +211,178 @@ public class SeatBookingService {
                 .auditoriumId(seatBookingDto.getAuditoriumId())
                 .build();
 
+        if(!this.seatOccupancyIndex.isFree(seatBookingDto.getScreeningId(), seatAuditoriumCK))
+            throw seatAlreadyBooked(seatBookingDto.getScreeningId(), seatAuditoriumCK);
+        stageStart = this.bookingMetrics.record(BookingMetrics.Stage.VALIDATE, stageStart);
+
+        Screening screening = this.screeningRepository.findById(seatBookingDto.getScreeningId())
+                .orElseThrow(()->new BadRequestException("Screening does not exist with screening Id of " + seatBookingDto.getScreeningId()));
+        stageStart = this.bookingMetrics.record(BookingMetrics.Stage.SCREENING_LOOKUP, stageStart);
+
+        Account account = this.accountRepository.findById(seatBookingDto.getAccountId())
+                .orElseThrow(()-> new BadRequestException("Account does not exist with account Id of " + seatBookingDto.getAccountId()));
+        stageStart = this.bookingMetrics.record(BookingMetrics.Stage.ACCOUNT_LOOKUP, stageStart);
+
         SeatAuditorium seatAuditorium = this.seatAuditoriumRepository.findById(seatAuditoriumCK)
                 .orElseThrow(()-> new BadRequestException(
                         String.format("SeatAuditorium does not exist with row number: %s, seat number: %s and " +
                                 "auditoriumId of %s", seatBookingDto.getSeatNumber(), seatBookingDto.getRowNumber(), seatBookingDto.getAuditoriumId())));
+        stageStart = this.bookingMetrics.record(BookingMetrics.Stage.SEAT_LOOKUP, stageStart);
 
-        return this.seatBookingRepository.save(SeatBooking.builder()
-                        .account(account)
-                        .screening(screening)
-                        .seatAuditorium(seatAuditorium)
-                        .bookedTime(seatBookingDto.getBookedTime())
-                .build());
+        if(screening.getAuditorium() != null &&
+                screening.getAuditorium().getAuditoriumId() != seatBookingDto.getAuditoriumId())
+            throw new BadRequestException("Screening Id of " + screening.getScreeningId() +
+                    " is not shown in auditorium Id of " + seatBookingDto.getAuditoriumId());
+
+        if(!claim(screening.getScreeningId(), seatAuditoriumCK))
+            throw seatAlreadyBooked(screening.getScreeningId(), seatAuditoriumCK);
+
+        SeatBooking seatBooking = SeatBooking.builder()
+                .account(account)
+                .screening(screening)
+                .seatAuditorium(seatAuditorium)
+                .bookedTime(seatBookingDto.getBookedTime())
+                .build();
+        Optional<Long> seatBookingId;
+        try {
+            if(this.bookingJournal.isAccepting()){
+                // a journaled booking is acknowledged before the writer inserts it, so its id is drawn now
+                seatBooking.setSeatBookingId(this.seatBookingRepository.nextSeatBookingId());
+                if(this.bookingJournal.append(seatBooking.getSeatBookingId(), seatBookingDto)){
+                    this.bookingMetrics.record(BookingMetrics.Stage.INSERT, stageStart);
+                    return seatBooking;
+                }
+            }
+            seatBookingId = this.seatBookingRepository.insertIfSeatFree(seatBooking);
+        }
+        catch (RuntimeException e){
+            this.seatOccupancyIndex.release(screening.getScreeningId(), seatAuditoriumCK);
+            throw e;
+        }
+
+        // the seat is booked in the database after all, so the claim stands
+        seatBooking.setSeatBookingId(seatBookingId
+                .orElseThrow(() -> seatAlreadyBooked(screening.getScreeningId(), seatAuditoriumCK)));
+        this.bookingMetrics.record(BookingMetrics.Stage.INSERT, stageStart);
+        return seatBooking;
     }
 
-    public void deleteSeatBooking(Long bookingId){
+    private List<SeatBooking> bookSeats(SeatBookingBatchDto seatBookingBatchDto){
+        List<SeatBooking> seatBookings = prepareSeatBookings(seatBookingBatchDto, true);
+        long screeningId = seatBookingBatchDto.getScreeningId();
+        List<SeatAuditoriumCK> seatAuditoriumCKs = seatAuditoriumCKsOf(seatBookings);
 
-        boolean isExist = this.seatBookingRepository.existsById(bookingId);
+        this.screeningMailboxes.run(screeningId, () -> claimAll(screeningId, seatAuditoriumCKs));
 
-        if(!isExist)
-            throw new BadRequestException("Seat booking of id" + bookingId + " does not exist");
+        try {
+            return this.seatBookingRepository.saveAll(seatBookings);
+        }
+        catch (RuntimeException e){
+            releaseAll(screeningId, seatAuditoriumCKs);
+            if(isSeatConflict(e))
+                throw new SeatAlreadyBookedException("One of the seats is already booked for screening Id of " + screeningId);
+            throw e;
+        }
+    }
+
+    private List<SeatAuditoriumCK> claimSeatsOf(SeatBookingBatchDto seatBookingBatchDto){
+        List<SeatAuditoriumCK> seatAuditoriumCKs = seatAuditoriumCKsOf(prepareSeatBookings(seatBookingBatchDto, true));
+        long screeningId = seatBookingBatchDto.getScreeningId();
+        this.screeningMailboxes.run(screeningId, () -> claimAll(screeningId, seatAuditoriumCKs));
+        return seatAuditoriumCKs;
+    }
+
+    private List<SeatBooking> prepareSeatBookings(SeatBookingBatchDto seatBookingBatchDto, boolean isClaimRequired){
+        if(seatBookingBatchDto.getBookedTime() == null || seatBookingBatchDto.getBookedTime() <= 0)
+            throw  new BadRequestException("Missing or invalid booking time");
+
+        if(seatBookingBatchDto.getAccountId() == null || seatBookingBatchDto.getAccountId() <= 0)
+            throw  new BadRequestException("Missing or invalid account id");
+
+        if(seatBookingBatchDto.getScreeningId() == null || seatBookingBatchDto.getScreeningId() <= 0)
+            throw  new BadRequestException("Missing or invalid screening id");
+
+        if(seatBookingBatchDto.getAuditoriumId() == null || seatBookingBatchDto.getAuditoriumId() <= 0)
+            throw  new BadRequestException("Missing or invalid auditorium id");
+
+        if(seatBookingBatchDto.getSeats() == null || seatBookingBatchDto.getSeats().isEmpty())
+            throw  new BadRequestException("Missing seats");
+
+        long screeningId = seatBookingBatchDto.getScreeningId();
+        Set<SeatId> requestedSeats = new HashSet<>();
+        List<SeatAuditoriumCK> seatAuditoriumCKs = new ArrayList<>();
+
+        for(SeatId seat: seatBookingBatchDto.getSeats()){
+            if(seat == null || seat.getSeatNumber() == null || seat.getSeatNumber() <= 0)
+                throw  new BadRequestException("Missing or invalid seat number");
+
+            if(seat.getRowNumber() == null || seat.getRowNumber().isEmpty())
+                throw  new BadRequestException("Missing or invalid row number");
+
+            SeatAuditoriumCK seatAuditoriumCK = copyOf(SeatAuditoriumCK.builder()
+                    .seatId(seat)
+                    .auditoriumId(seatBookingBatchDto.getAuditoriumId())
+                    .build());
+
+            if(!requestedSeats.add(seatAuditoriumCK.getSeatId()))
+                throw new BadRequestException(String.format("Duplicate seat with row number: %s and seat number: %s",
+                        seat.getRowNumber(), seat.getSeatNumber()));
+
+            if(isClaimRequired && !this.seatOccupancyIndex.isFree(screeningId, seatAuditoriumCK))
+                throw seatAlreadyBooked(screeningId, seatAuditoriumCK);
+
+            seatAuditoriumCKs.add(seatAuditoriumCK);
+        }
+
+        Screening screening = this.screeningRepository.findById(screeningId)
+                .orElseThrow(()->new BadRequestException("Screening does not exist with screening Id of " + screeningId));
+
+        if(screening.getAuditorium() != null &&
+                screening.getAuditorium().getAuditoriumId() != seatBookingBatchDto.getAuditoriumId())
+            throw new BadRequestException("Screening Id of " + screeningId +
+                    " is not shown in auditorium Id of " + seatBookingBatchDto.getAuditoriumId());
+
+        Account account = this.accountRepository.findById(seatBookingBatchDto.getAccountId())
+                .orElseThrow(()-> new BadRequestException("Account does not exist with account Id of " + seatBookingBatchDto.getAccountId()));
+
+        Map<SeatId, SeatAuditorium> auditoriumSeats = new HashMap<>();
+        for(SeatAuditorium seatAuditorium: this.seatAuditoriumRepository.findAllByAuditoriumId(seatBookingBatchDto.getAuditoriumId()))
+            auditoriumSeats.put(seatAuditorium.getId().getSeatId(), seatAuditorium);
+
+        List<SeatBooking> seatBookings = new ArrayList<>();
+        for(SeatAuditoriumCK seatAuditoriumCK: seatAuditoriumCKs){
+            SeatAuditorium seatAuditorium = auditoriumSeats.get(seatAuditoriumCK.getSeatId());
+            if(seatAuditorium == null)
+                throw new BadRequestException(String.format("SeatAuditorium does not exist with row number: %s, seat number: %s and " +
+                        "auditoriumId of %s", seatAuditoriumCK.getSeatId().getRowNumber(),
+                        seatAuditoriumCK.getSeatId().getSeatNumber(), seatAuditoriumCK.getAuditoriumId()));
+
+            seatBookings.add(SeatBooking.builder()
+                    .account(account)
+                    .screening(screening)
+                    .seatAuditorium(seatAuditorium)
+                    .bookedTime(seatBookingBatchDto.getBookedTime())
+                    .build());
+        }
+
+        return seatBookings;
+    }
+
+    private void removeSeatBooking(Long bookingId, Long screeningId){
+
+        SeatBooking seatBooking = this.seatBookingRepository.findById(bookingId)
+                .orElseThrow(()-> new BadRequestException("Seat booking of id" + bookingId + " does not exist"));
+
+        if(screeningId != null && !screeningId.equals(seatBooking.getScreening().getScreeningId()))
+            throw new SeatBookingNotFoundException("Seat booking of id " + bookingId +
+                    " does not exist for screening Id of " + screeningId);
 
         this.seatBookingRepository.deleteById(bookingId);
+        this.seatOccupancyIndex.release(seatBooking.getScreening().getScreeningId(), copyOf(seatBooking.getSeatAuditorium().getId()));
     }
 
 
-    public SeatBooking updateSeatBooking(Long bookingId, SeatBookingDto seatBookingDto) {
+    private SeatBooking changeSeatBooking(Long bookingId, SeatBookingDto seatBookingDto) {
 
         SeatBooking seatBooking = this.seatBookingRepository.findById(bookingId)
                 .orElseThrow(()-> new BadRequestException("Invalid bookingId :" + bookingId));
@@ -112,6 +394,8 @@ public class SeatBookingService {
         Long userId = seatBookingDto.getAccountId();
         Long bookingTime = seatBookingDto.getBookedTime();
 
+        long previousScreeningId = seatBooking.getScreening().getScreeningId();
+        SeatAuditoriumCK previousSeatAuditoriumCK = copyOf(seatBooking.getSeatAuditorium().getId());
         SeatAuditoriumCK currentSeatAuditoriumCK = seatBooking.getSeatAuditorium().getId();
 
         if(seatNumber != null || seatNumber > 0)
@@ -145,6 +429,80 @@ public class SeatBookingService {
             seatBooking.setBookedTime(bookingTime);
         }
 
-        return this.seatBookingRepository.save(seatBooking);
+        long newScreeningId = seatBooking.getScreening().getScreeningId();
+        SeatAuditoriumCK newSeatAuditoriumCK = copyOf(seatAuditorium.getId());
+        boolean isSeatChanged = newScreeningId != previousScreeningId ||
+                !newSeatAuditoriumCK.equals(previousSeatAuditoriumCK);
+
+        if(isSeatChanged && !claim(newScreeningId, newSeatAuditoriumCK))
+            throw seatAlreadyBooked(newScreeningId, newSeatAuditoriumCK);
+
+        SeatBooking updatedSeatBooking;
+        try {
+            updatedSeatBooking = this.seatBookingRepository.save(seatBooking);
+        }
+        catch (RuntimeException e){
+            if(isSeatChanged)
+                this.seatOccupancyIndex.release(newScreeningId, newSeatAuditoriumCK);
+            if(isSeatConflict(e))
+                throw seatAlreadyBooked(newScreeningId, newSeatAuditoriumCK);
+            throw e;
+        }
+
+        if(isSeatChanged)
+            this.seatOccupancyIndex.release(previousScreeningId, previousSeatAuditoriumCK);
+
+        return updatedSeatBooking;
+    }
+
+    private void claimAll(long screeningId, List<SeatAuditoriumCK> seatAuditoriumCKs){
+        List<SeatAuditoriumCK> claimed = new ArrayList<>();
+        for(SeatAuditoriumCK seatAuditoriumCK: seatAuditoriumCKs){
+            if(!this.seatOccupancyIndex.claim(screeningId, seatAuditoriumCK)){
+                releaseAll(screeningId, claimed);
+                throw seatAlreadyBooked(screeningId, seatAuditoriumCK);
+            }
+            claimed.add(seatAuditoriumCK);
+        }
+    }
+
+    private static List<SeatAuditoriumCK> seatAuditoriumCKsOf(List<SeatBooking> seatBookings){
+        List<SeatAuditoriumCK> seatAuditoriumCKs = new ArrayList<>(seatBookings.size());
+        for(SeatBooking seatBooking: seatBookings)
+            seatAuditoriumCKs.add(copyOf(seatBooking.getSeatAuditorium().getId()));
+        return seatAuditoriumCKs;
+    }
+
+    private void releaseAll(long screeningId, List<SeatAuditoriumCK> seatAuditoriumCKs){
+        for(SeatAuditoriumCK seatAuditoriumCK: seatAuditoriumCKs)
+            this.seatOccupancyIndex.release(screeningId, seatAuditoriumCK);
+    }
+
+    private static SeatAuditoriumCK copyOf(SeatAuditoriumCK seatAuditoriumCK){
+        return SeatAuditoriumCK.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber(seatAuditoriumCK.getSeatId().getRowNumber())
+                        .seatNumber(seatAuditoriumCK.getSeatId().getSeatNumber())
+                        .build())
+                .auditoriumId(seatAuditoriumCK.getAuditoriumId())
+                .build();
+    }
+
+    /**
+     * Whether the insert was turned away by {@link SeatBooking#SEAT_CONSTRAINT}, which
+     * settles a race the occupancy index did not see.
+     */
+    private static boolean isSeatConflict(RuntimeException e){
+        if(!(e instanceof DataIntegrityViolationException))
+            return false;
+        String message = ((DataIntegrityViolationException) e).getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(SeatBooking.SEAT_CONSTRAINT);
+    }
+
+    private static SeatAlreadyBookedException seatAlreadyBooked(long screeningId, SeatAuditoriumCK seatAuditoriumCK){
+        return new SeatAlreadyBookedException(String.format("Seat with row number: %s, seat number: %s and " +
+                "auditoriumId of %s is already booked for screening Id of %s",
+                seatAuditoriumCK.getSeatId().getRowNumber(), seatAuditoriumCK.getSeatId().getSeatNumber(),
+                seatAuditoriumCK.getAuditoriumId(), screeningId));
     }
 }
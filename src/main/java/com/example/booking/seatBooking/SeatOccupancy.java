@@ -0,0 +1,70 @@
+package com.example.booking.seatBooking;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bitset of the taken seat positions of a single screening.
+ * Pages of 1024 bits are allocated lazily so small auditoriums stay small.
+ */
+final class SeatOccupancy {
+
+    private static final int WORDS_PER_PAGE = 16;
+    private static final int BITS_PER_PAGE = WORDS_PER_PAGE * Long.SIZE;
+    static final int MAX_PAGES = 64;
+    static final int CAPACITY = MAX_PAGES * BITS_PER_PAGE;
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(MAX_PAGES);
+
+    boolean isTaken(int position) {
+        AtomicLongArray page = this.pages.get(position / BITS_PER_PAGE);
+        return page != null && (page.get(wordOf(position)) & maskOf(position)) != 0;
+    }
+
+    boolean claim(int position) {
+        AtomicLongArray page = pageFor(position);
+        int word = wordOf(position);
+        long mask = maskOf(position);
+        long current;
+        do {
+            current = page.get(word);
+            if((current & mask) != 0)
+                return false;
+        } while(!page.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    boolean release(int position) {
+        AtomicLongArray page = this.pages.get(position / BITS_PER_PAGE);
+        if(page == null)
+            return false;
+
+        int word = wordOf(position);
+        long mask = maskOf(position);
+        long current;
+        do {
+            current = page.get(word);
+            if((current & mask) == 0)
+                return false;
+        } while(!page.compareAndSet(word, current, current & ~mask));
+        return true;
+    }
+
+    private AtomicLongArray pageFor(int position) {
+        int index = position / BITS_PER_PAGE;
+        AtomicLongArray page = this.pages.get(index);
+        if(page == null) {
+            this.pages.compareAndSet(index, null, new AtomicLongArray(WORDS_PER_PAGE));
+            page = this.pages.get(index);
+        }
+        return page;
+    }
+
+    private static int wordOf(int position) {
+        return (position % BITS_PER_PAGE) / Long.SIZE;
+    }
+
+    private static long maskOf(int position) {
+        return 1L << (position % Long.SIZE);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.screening.ScreeningRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically drops from the {@link SeatOccupancyIndex} every screening that has
+ * finished playing or no longer exists, so the index only holds the schedule ahead. A
+ * late booking for an evicted screening starts from an empty bitset and is still turned
+ * away by {@link SeatBooking#SEAT_CONSTRAINT}.
+ */
+@Component
+public class SeatOccupancyEviction {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatOccupancyEviction.class);
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final ScreeningRepository screeningRepository;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final long intervalMinutes;
+    private final Clock clock;
+    private ScheduledExecutorService evictor;
+
+    @Autowired
+    public SeatOccupancyEviction(ScreeningRepository screeningRepository,
+                                 SeatOccupancyIndex seatOccupancyIndex,
+                                 @Value("${booking.occupancy.eviction-minutes:60}") long intervalMinutes) {
+        this(screeningRepository, seatOccupancyIndex, intervalMinutes, Clock.systemUTC());
+    }
+
+    SeatOccupancyEviction(ScreeningRepository screeningRepository,
+                          SeatOccupancyIndex seatOccupancyIndex,
+                          long intervalMinutes,
+                          Clock clock) {
+        this.screeningRepository = screeningRepository;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.intervalMinutes = intervalMinutes;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start(){
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-occupancy-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(() -> {
+            try {
+                evictPlayedScreenings();
+            }
+            catch (RuntimeException e){
+                // the screenings stay in the index until the next run
+                log.error("Failed to evict played screenings from the seat occupancy index", e);
+            }
+        }, this.intervalMinutes, this.intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop(){
+        if(this.evictor != null)
+            this.evictor.shutdownNow();
+    }
+
+    /**
+     * @return the number of screenings evicted
+     */
+    int evictPlayedScreenings(){
+        long now = this.clock.instant().getEpochSecond();
+        List<Long> screeningIds = new ArrayList<>(this.seatOccupancyIndex.screeningIds());
+        int evicted = 0;
+
+        for(int from = 0; from < screeningIds.size(); from += IDS_PER_QUERY){
+            List<Long> batch = screeningIds.subList(from, Math.min(from + IDS_PER_QUERY, screeningIds.size()));
+            Set<Long> unplayed = new HashSet<>(this.screeningRepository.findUnplayedScreeningIds(batch, now));
+            for(Long screeningId: batch){
+                if(!unplayed.contains(screeningId)){
+                    this.seatOccupancyIndex.evict(screeningId);
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory record of the seats taken for every screening, keyed by the
+ * {@link SeatAuditoriumCK} of the seat. Claims are a single CAS on the screening's
+ * bitset, so a booking can be rejected before it ever reaches the database.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private final ConcurrentHashMap<Long, SeatOccupancy> screenings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SeatPositions> auditoriums = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<SeatOccupancyListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(SeatOccupancyListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public boolean isFree(long screeningId, SeatAuditoriumCK seatAuditoriumCK) {
+        return isFree(screeningId, seatAuditoriumCK.getAuditoriumId(), seatAuditoriumCK.getSeatId());
+    }
+
+    public boolean isFree(long screeningId, long auditoriumId, SeatId seatId) {
+        SeatOccupancy occupancy = this.screenings.get(screeningId);
+        if(occupancy == null)
+            return true;
+
+        SeatPositions positions = this.auditoriums.get(auditoriumId);
+        if(positions == null)
+            return true;
+
+        int position = positions.positionOf(seatId);
+        return position == SeatPositions.UNASSIGNED || !occupancy.isTaken(position);
+    }
+
+    /**
+     * @return true if the seat was free and is now held by the caller
+     */
+    public boolean claim(long screeningId, SeatAuditoriumCK seatAuditoriumCK) {
+        int position = this.auditoriums
+                .computeIfAbsent(seatAuditoriumCK.getAuditoriumId(), id -> new SeatPositions())
+                .assign(seatAuditoriumCK.getSeatId());
+
+        boolean isClaimed = this.screenings
+                .computeIfAbsent(screeningId, id -> new SeatOccupancy())
+                .claim(position);
+
+        if(isClaimed)
+            notifyListeners(screeningId, seatAuditoriumCK, true);
+        return isClaimed;
+    }
+
+    public void release(long screeningId, SeatAuditoriumCK seatAuditoriumCK) {
+        SeatOccupancy occupancy = this.screenings.get(screeningId);
+        SeatPositions positions = this.auditoriums.get(seatAuditoriumCK.getAuditoriumId());
+        if(occupancy == null || positions == null)
+            return;
+
+        int position = positions.positionOf(seatAuditoriumCK.getSeatId());
+        if(position != SeatPositions.UNASSIGNED && occupancy.release(position))
+            notifyListeners(screeningId, seatAuditoriumCK, false);
+    }
+
+    private void notifyListeners(long screeningId, SeatAuditoriumCK seatAuditoriumCK, boolean isTaken) {
+        for(SeatOccupancyListener listener: this.listeners)
+            listener.onSeatChanged(screeningId, seatAuditoriumCK.getAuditoriumId(), seatAuditoriumCK.getSeatId(), isTaken);
+    }
+
+    /**
+     * @return the screenings that hold any occupancy, claimed seats or not
+     */
+    public Set<Long> screeningIds() {
+        return Set.copyOf(this.screenings.keySet());
+    }
+
+    /**
+     * Forgets every seat of a screening that has played, without notifying listeners.
+     */
+    public void evict(long screeningId) {
+        this.screenings.remove(screeningId);
+    }
+
+    public void clear() {
+        this.screenings.clear();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seat.SeatId;
+
+/**
+ * Notified by {@link SeatOccupancyIndex} on the thread that changed a seat, so
+ * implementations must be cheap and must not block.
+ */
+public interface SeatOccupancyListener {
+
+    void onSeatChanged(long screeningId, long auditoriumId, SeatId seatId, boolean isTaken);
+}
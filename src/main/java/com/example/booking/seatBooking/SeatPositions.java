@@ -0,0 +1,42 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seat.SeatId;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dense bit positions of the seats of one auditorium. A position is handed out the
+ * first time a seat is seen and stays stable for the lifetime of the process.
+ */
+final class SeatPositions {
+
+    static final int UNASSIGNED = -1;
+
+    private final ConcurrentHashMap<SeatId, Integer> positions = new ConcurrentHashMap<>();
+    private final AtomicInteger nextPosition = new AtomicInteger();
+
+    int positionOf(SeatId seatId) {
+        Integer position = this.positions.get(seatId);
+        return position == null ? UNASSIGNED : position;
+    }
+
+    int assign(SeatId seatId) {
+        Integer position = this.positions.get(seatId);
+        if(position != null)
+            return position;
+
+        // SeatId is mutable, so keep our own copy as the key
+        SeatId key = SeatId.builder()
+                .rowNumber(seatId.getRowNumber())
+                .seatNumber(seatId.getSeatNumber())
+                .build();
+
+        return this.positions.computeIfAbsent(key, k -> {
+            int next = this.nextPosition.getAndIncrement();
+            if(next >= SeatOccupancy.CAPACITY)
+                throw new IllegalStateException("Auditorium exceeds " + SeatOccupancy.CAPACITY + " seats");
+            return next;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Seats claimed for an account until they are confirmed, released or expire. Holds
+ * live in memory only; the seats themselves are claimed in the occupancy index.
+ */
+@Getter
+public class SeatHold {
+
+    public enum State { HELD, CONFIRMING, CONFIRMED, RELEASED, EXPIRED }
+
+    private final String holdId;
+    private final long screeningId;
+    private final long accountId;
+    private final long auditoriumId;
+    private final List<SeatAuditoriumCK> seats;
+    private final long expiryTime;
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+
+    public SeatHold(String holdId, long screeningId, long accountId, long auditoriumId,
+                    List<SeatAuditoriumCK> seats, long expiryTime) {
+        this.holdId = holdId;
+        this.screeningId = screeningId;
+        this.accountId = accountId;
+        this.auditoriumId = auditoriumId;
+        this.seats = List.copyOf(seats);
+        this.expiryTime = expiryTime;
+    }
+
+    public State getState() {
+        return this.state.get();
+    }
+
+    boolean transition(State from, State to) {
+        return this.state.compareAndSet(from, to);
+    }
+}
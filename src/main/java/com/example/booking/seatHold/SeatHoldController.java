@@ -0,0 +1,61 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.example.booking.seatBooking.SeatBookingMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping(path="api/v1/hold")
+public class SeatHoldController {
+
+    private final SeatHoldService service;
+
+    @Autowired
+    public SeatHoldController(SeatHoldService service) {
+        this.service = service;
+    }
+
+    @GetMapping(path="/{holdId}")
+    public ResponseEntity<SeatHoldDto> getSeatHold(@PathVariable String holdId){
+        return ResponseEntity.ok().body(convertToDTO(this.service.getSeatHold(holdId)));
+    }
+
+    @PostMapping
+    public ResponseEntity<SeatHoldDto> addSeatHold(@RequestBody SeatHoldDto seatHoldDto){
+        SeatHold seatHold = this.service.holdSeats(seatHoldDto);
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/hold/" + seatHold.getHoldId()).toUriString());
+        return ResponseEntity.created(uri).body(convertToDTO(seatHold));
+    }
+
+    @PostMapping(path="/{holdId}/confirm")
+    public ResponseEntity<List<SeatBookingDto>> confirmSeatHold(@PathVariable String holdId){
+        URI uri = URI.create(ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/v1/seatBooking").toUriString());
+        return ResponseEntity.created(uri).body(this.service.confirmSeatHold(holdId).stream()
+                .map(SeatBookingMapper::toDto)
+                .collect(Collectors.toList()));
+    }
+
+    @DeleteMapping(path="/{holdId}")
+    public ResponseEntity deleteSeatHold(@PathVariable String holdId){
+        this.service.releaseSeatHold(holdId);
+        return ResponseEntity.noContent().build();
+    }
+
+    public SeatHoldDto convertToDTO(SeatHold seatHold){
+        return SeatHoldMapper.toDto(seatHold);
+    }
+}
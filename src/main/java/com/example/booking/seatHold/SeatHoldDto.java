@@ -0,0 +1,33 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.seat.SeatId;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDto {
+
+    private String holdId;
+
+    private Long accountId;
+
+    private Long screeningId;
+
+    private Long auditoriumId;
+
+    private List<SeatId> seats;
+
+    private Long holdSeconds;
+
+    private Long expiryTime;
+
+    private String state;
+
+}
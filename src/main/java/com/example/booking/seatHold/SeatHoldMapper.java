@@ -0,0 +1,25 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+
+import java.util.stream.Collectors;
+
+public final class SeatHoldMapper {
+
+    private SeatHoldMapper() {
+    }
+
+    public static SeatHoldDto toDto(SeatHold seatHold){
+        return SeatHoldDto.builder()
+                .holdId(seatHold.getHoldId())
+                .accountId(seatHold.getAccountId())
+                .screeningId(seatHold.getScreeningId())
+                .auditoriumId(seatHold.getAuditoriumId())
+                .seats(seatHold.getSeats().stream()
+                        .map(SeatAuditoriumCK::getSeatId)
+                        .collect(Collectors.toList()))
+                .expiryTime(seatHold.getExpiryTime())
+                .state(seatHold.getState().name())
+                .build();
+    }
+}
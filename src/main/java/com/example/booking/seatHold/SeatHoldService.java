@@ -0,0 +1,226 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.SeatHoldNotFoundException;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingBatchDto;
+import com.example.booking.seatBooking.SeatBookingService;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final SeatBookingService seatBookingService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final long defaultHoldSeconds;
+    private final long maxHoldSeconds;
+    private final long tickMillis;
+
+    private final ConcurrentHashMap<String, SeatHold> holds = new ConcurrentHashMap<>();
+    private final TimingWheel<SeatHold> expiryWheel;
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public SeatHoldService(SeatBookingService seatBookingService,
+                           SeatOccupancyIndex seatOccupancyIndex,
+                           @Value("${booking.hold.default-seconds:300}") long defaultHoldSeconds,
+                           @Value("${booking.hold.max-seconds:900}") long maxHoldSeconds,
+                           @Value("${booking.hold.tick-millis:100}") long tickMillis) {
+        this.seatBookingService = seatBookingService;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.defaultHoldSeconds = defaultHoldSeconds;
+        this.maxHoldSeconds = maxHoldSeconds;
+        this.tickMillis = tickMillis;
+        this.expiryWheel = new TimingWheel<>(tickMillis, WHEEL_BITS, WHEEL_LEVELS,
+                System.currentTimeMillis(), this::expire);
+    }
+
+    @PostConstruct
+    public void start(){
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "seat-hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(() -> {
+            try {
+                expireHolds(System.currentTimeMillis());
+            }
+            catch (RuntimeException e){
+                // an exception would cancel the schedule and strand every held seat
+                log.error("Failed to expire seat holds", e);
+            }
+        }, this.tickMillis, this.tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop(){
+        if(this.ticker != null)
+            this.ticker.shutdownNow();
+    }
+
+    public SeatHold holdSeats(SeatHoldDto seatHoldDto){
+        long holdSeconds = holdSecondsOf(seatHoldDto);
+        return hold(seatHoldDto, this.seatBookingService.claimSeats(toSeatBookingBatchDto(seatHoldDto)), holdSeconds);
+    }
+
+    /**
+     * {@link #holdSeats} without holding the calling thread while the seats are looked up
+     * and claimed.
+     */
+    public CompletableFuture<SeatHold> holdSeatsAsync(SeatHoldDto seatHoldDto){
+        long holdSeconds = holdSecondsOf(seatHoldDto);
+        return this.seatBookingService.claimSeatsAsync(toSeatBookingBatchDto(seatHoldDto))
+                .thenApply(seats -> hold(seatHoldDto, seats, holdSeconds));
+    }
+
+    public SeatHold getSeatHold(String holdId){
+        SeatHold seatHold = this.holds.get(holdId);
+        if(seatHold == null)
+            throw new SeatHoldNotFoundException("Seat hold of id " + holdId + " does not exist");
+        return seatHold;
+    }
+
+    public List<SeatBooking> confirmSeatHold(String holdId){
+        SeatHold seatHold = startConfirming(getSeatHold(holdId));
+
+        List<SeatBooking> seatBookings;
+        try {
+            seatBookings = this.seatBookingService.addClaimedSeatBookings(toSeatBookingBatchDto(seatHold));
+        }
+        catch (RuntimeException e){
+            cancelConfirming(seatHold);
+            throw e;
+        }
+
+        confirmed(seatHold);
+        return seatBookings;
+    }
+
+    /**
+     * {@link #confirmSeatHold} of a hold on the given screening, without holding the
+     * calling thread while the bookings are inserted.
+     */
+    public CompletableFuture<List<SeatBooking>> confirmSeatHoldAsync(long screeningId, String holdId){
+        SeatHold seatHold = getSeatHold(holdId);
+        if(seatHold.getScreeningId() != screeningId)
+            throw new SeatHoldNotFoundException("Seat hold of id " + holdId + " does not exist for screening " + screeningId);
+        startConfirming(seatHold);
+
+        return this.seatBookingService.addClaimedSeatBookingsAsync(toSeatBookingBatchDto(seatHold))
+                .whenComplete((seatBookings, e) -> {
+                    if(e == null)
+                        confirmed(seatHold);
+                    else
+                        cancelConfirming(seatHold);
+                });
+    }
+
+    public void releaseSeatHold(String holdId){
+        SeatHold seatHold = getSeatHold(holdId);
+
+        if(!seatHold.transition(SeatHold.State.HELD, SeatHold.State.RELEASED))
+            throw new SeatHoldNotFoundException("Seat hold of id " + holdId + " is no longer held");
+
+        releaseSeats(seatHold);
+    }
+
+    private SeatHold startConfirming(SeatHold seatHold){
+        if(!seatHold.transition(SeatHold.State.HELD, SeatHold.State.CONFIRMING))
+            throw new SeatHoldNotFoundException("Seat hold of id " + seatHold.getHoldId() + " is no longer held");
+        return seatHold;
+    }
+
+    private void cancelConfirming(SeatHold seatHold){
+        seatHold.transition(SeatHold.State.CONFIRMING, SeatHold.State.HELD);
+        // the wheel may have skipped this hold while it was being confirmed
+        if(System.currentTimeMillis() >= seatHold.getExpiryTime())
+            expire(seatHold);
+    }
+
+    private void confirmed(SeatHold seatHold){
+        seatHold.transition(SeatHold.State.CONFIRMING, SeatHold.State.CONFIRMED);
+        this.holds.remove(seatHold.getHoldId());
+    }
+
+    void expireHolds(long nowMillis){
+        this.expiryWheel.advanceTo(nowMillis);
+    }
+
+    private void expire(SeatHold seatHold){
+        if(seatHold.transition(SeatHold.State.HELD, SeatHold.State.EXPIRED))
+            releaseSeats(seatHold);
+    }
+
+    private void releaseSeats(SeatHold seatHold){
+        this.holds.remove(seatHold.getHoldId());
+        for(SeatAuditoriumCK seat: seatHold.getSeats())
+            this.seatOccupancyIndex.release(seatHold.getScreeningId(), seat);
+    }
+
+    private long holdSecondsOf(SeatHoldDto seatHoldDto){
+        long holdSeconds = seatHoldDto.getHoldSeconds() == null ? this.defaultHoldSeconds : seatHoldDto.getHoldSeconds();
+
+        if(holdSeconds <= 0 || holdSeconds > this.maxHoldSeconds)
+            throw new BadRequestException("Hold seconds must be between 1 and " + this.maxHoldSeconds);
+        return holdSeconds;
+    }
+
+    private SeatHold hold(SeatHoldDto seatHoldDto, List<SeatAuditoriumCK> seats, long holdSeconds){
+        SeatHold seatHold = new SeatHold(UUID.randomUUID().toString(),
+                seatHoldDto.getScreeningId(),
+                seatHoldDto.getAccountId(),
+                seatHoldDto.getAuditoriumId(),
+                seats,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(holdSeconds));
+
+        this.holds.put(seatHold.getHoldId(), seatHold);
+        this.expiryWheel.schedule(seatHold, seatHold.getExpiryTime());
+        return seatHold;
+    }
+
+    private static SeatBookingBatchDto toSeatBookingBatchDto(SeatHold seatHold){
+        return SeatBookingBatchDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .accountId(seatHold.getAccountId())
+                .screeningId(seatHold.getScreeningId())
+                .auditoriumId(seatHold.getAuditoriumId())
+                .seats(seatHold.getSeats().stream()
+                        .map(SeatAuditoriumCK::getSeatId)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static SeatBookingBatchDto toSeatBookingBatchDto(SeatHoldDto seatHoldDto){
+        return SeatBookingBatchDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .accountId(seatHoldDto.getAccountId())
+                .screeningId(seatHoldDto.getScreeningId())
+                .auditoriumId(seatHoldDto.getAuditoriumId())
+                .seats(seatHoldDto.getSeats())
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.booking.seatHold;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. Scheduling from any thread is a lock-free enqueue and
+ * the wheel itself is only touched by the single thread calling {@link #advanceTo},
+ * so adding and expiring an item are both O(1). Items are never cancelled here;
+ * the expiry callback is expected to ignore items that were settled in the meantime.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final int levels;
+    private final Consumer<T> onExpiry;
+
+    private final ConcurrentLinkedQueue<Entry<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Entry<T>[][] buckets;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelBits, int levels, long startMillis, Consumer<T> onExpiry) {
+        if(tickMillis <= 0 || wheelBits <= 0 || levels <= 0 || wheelBits * levels >= Long.SIZE - 1)
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.wheelBits = wheelBits;
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.levels = levels;
+        this.onExpiry = onExpiry;
+        this.buckets = new Entry[levels][1 << wheelBits];
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(0, deadlineMillis - this.startMillis);
+        deadlineTick = (deadlineTick + this.tickMillis - 1) / this.tickMillis;
+        this.pending.offer(new Entry<>(item, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis}, expiring everything that is due.
+     * Must only be called from one thread at a time.
+     */
+    public void advanceTo(long nowMillis) {
+        Entry<T> entry;
+        while((entry = this.pending.poll()) != null)
+            place(entry);
+
+        long targetTick = (nowMillis - this.startMillis) / this.tickMillis;
+        while(this.currentTick < targetTick) {
+            this.currentTick++;
+
+            for(int level = this.levels - 1; level > 0; level--) {
+                if((this.currentTick & ((1L << (this.wheelBits * level)) - 1)) == 0)
+                    cascade(level, (int) (this.currentTick >>> (this.wheelBits * level)) & this.wheelMask);
+            }
+
+            int slot = (int) this.currentTick & this.wheelMask;
+            Entry<T> expired = this.buckets[0][slot];
+            this.buckets[0][slot] = null;
+            expireAll(expired);
+        }
+    }
+
+    private void cascade(int level, int slot) {
+        Entry<T> entry = this.buckets[level][slot];
+        this.buckets[level][slot] = null;
+        while(entry != null) {
+            Entry<T> next = entry.next;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick - this.currentTick;
+        if(delay <= 0) {
+            this.onExpiry.accept(entry.item);
+            return;
+        }
+
+        for(int level = 0; level < this.levels; level++) {
+            if(delay < (1L << (this.wheelBits * (level + 1)))) {
+                int slot = (int) (entry.deadlineTick >>> (this.wheelBits * level)) & this.wheelMask;
+                push(level, slot, entry);
+                return;
+            }
+        }
+
+        // beyond the top wheel: park in the slot cascaded last, it is placed again from there
+        int top = this.levels - 1;
+        int slot = (int) ((this.currentTick >>> (this.wheelBits * top)) - 1) & this.wheelMask;
+        push(top, slot, entry);
+    }
+
+    private void push(int level, int slot, Entry<T> entry) {
+        entry.next = this.buckets[level][slot];
+        this.buckets[level][slot] = entry;
+    }
+
+    private void expireAll(Entry<T> entry) {
+        while(entry != null) {
+            Entry<T> next = entry.next;
+            entry.next = null;
+            this.onExpiry.accept(entry.item);
+            entry = next;
+        }
+    }
+
+    private static final class Entry<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Entry<T> next;
+
+        private Entry(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
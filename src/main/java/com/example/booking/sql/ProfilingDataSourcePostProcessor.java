@@ -0,0 +1,33 @@
+package com.example.booking.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source in the profiling proxies when the profiler is enabled.
+ * The profiler is looked up only once the data source is created, so this post processor
+ * does not drag it, or the meter registry, into early initialization.
+ */
+@Component
+public class ProfilingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlProfiler> sqlProfiler;
+
+    @Autowired
+    public ProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if(!(bean instanceof DataSource))
+            return bean;
+
+        SqlProfiler sqlProfiler = this.sqlProfiler.getIfAvailable();
+        return sqlProfiler != null && sqlProfiler.isEnabled() ? sqlProfiler.wrap((DataSource) bean) : bean;
+    }
+}
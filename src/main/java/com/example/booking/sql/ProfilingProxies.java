@@ -0,0 +1,126 @@
+package com.example.booking.sql;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * JDBC proxies that report every statement run through a data source to a {@link SqlProfiler}.
+ * Sampled statements are timed around their execute call, and a result set they return
+ * adds each row it reads to the statement's stats. Everything else is passed straight
+ * through, including unwrap, so pool metrics still find the underlying pool.
+ */
+final class ProfilingProxies {
+
+    private ProfilingProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, SqlProfiler sqlProfiler){
+        return proxy(DataSource.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection ? connection((Connection) result, sqlProfiler) : result;
+        });
+    }
+
+    private static Connection connection(Connection target, SqlProfiler sqlProfiler){
+        return proxy(Connection.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()){
+                case "createStatement":
+                    return statement(Statement.class, (Statement) result, null, sqlProfiler);
+                case "prepareStatement":
+                    return statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0], sqlProfiler);
+                case "prepareCall":
+                    return statement(CallableStatement.class, (CallableStatement) result, (String) args[0], sqlProfiler);
+                default:
+                    return result;
+            }
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T target, String preparedSql, SqlProfiler sqlProfiler){
+        SqlProfiler.StatementStats[] lastStats = new SqlProfiler.StatementStats[1];
+        return proxy(type, target, (method, args) -> {
+            String name = method.getName();
+            if(name.equals("getResultSet")){
+                ResultSet resultSet = (ResultSet) invoke(target, method, args);
+                return resultSet != null && lastStats[0] != null ? resultSet(resultSet, lastStats[0]) : resultSet;
+            }
+            if(!name.startsWith("execute"))
+                return invoke(target, method, args);
+
+            lastStats[0] = null;
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            if(!sqlProfiler.beforeExecute() || sql == null)
+                return invoke(target, method, args);
+
+            long start = System.nanoTime();
+            Object result = invoke(target, method, args);
+            SqlProfiler.StatementStats stats = sqlProfiler.record(sql, System.nanoTime() - start, rowsOf(result));
+            if(result instanceof ResultSet)
+                return resultSet((ResultSet) result, stats);
+            lastStats[0] = stats;
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target, SqlProfiler.StatementStats stats){
+        return proxy(ResultSet.class, target, (method, args) -> {
+            Object result = invoke(target, method, args);
+            if(method.getName().equals("next") && Boolean.TRUE.equals(result))
+                stats.addRow();
+            return result;
+        });
+    }
+
+    private static long rowsOf(Object result){
+        if(result instanceof Number)
+            return ((Number) result).longValue();
+
+        long rows = 0;
+        if(result instanceof int[])
+            for(int count: (int[]) result)
+                rows += Math.max(count, 0);
+        else if(result instanceof long[])
+            for(long count: (long[]) result)
+                rows += Math.max(count, 0);
+        return rows;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e){
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler){
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            // proxies compare by identity, as the pool and Spring expect of connections
+            if(method.getName().equals("equals") && method.getParameterCount() == 1)
+                return proxy == args[0];
+            if(method.getName().equals("hashCode") && method.getParameterCount() == 0)
+                return System.identityHashCode(proxy);
+            if(method.getName().equals("toString") && method.getParameterCount() == 0)
+                return "Profiled " + target;
+            return handler.invoke(method, args);
+        };
+        return (T) Proxy.newProxyInstance(ProfilingProxies.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
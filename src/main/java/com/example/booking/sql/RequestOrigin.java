@@ -0,0 +1,64 @@
+package com.example.booking.sql;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The endpoint a thread is working for, with a count of the statements run on its behalf.
+ * It is bound to the request thread and carried along to any thread the request hands its
+ * work to, such as a screening mailbox, so statements run there are still attributed.
+ */
+public final class RequestOrigin {
+
+    private static final ThreadLocal<RequestOrigin> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final AtomicInteger statements = new AtomicInteger();
+
+    RequestOrigin(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static RequestOrigin current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestOrigin origin) {
+        if(origin == null)
+            CURRENT.remove();
+        else
+            CURRENT.set(origin);
+    }
+
+    /**
+     * Wraps a task handed to another thread so it runs with the caller's origin.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        RequestOrigin origin = CURRENT.get();
+        if(origin == null)
+            return task;
+
+        return () -> {
+            RequestOrigin previous = CURRENT.get();
+            bind(origin);
+            try {
+                return task.get();
+            }
+            finally {
+                bind(previous);
+            }
+        };
+    }
+
+    String getEndpoint() {
+        return this.endpoint;
+    }
+
+    void countStatement() {
+        this.statements.incrementAndGet();
+    }
+
+    int getStatements() {
+        return this.statements.get();
+    }
+}
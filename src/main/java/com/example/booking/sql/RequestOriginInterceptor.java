@@ -0,0 +1,63 @@
+package com.example.booking.sql;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Binds a {@link RequestOrigin} named after the matched endpoint pattern to every API
+ * request, and reports its statement count to the profiler once the request completes.
+ * An async request keeps its origin across dispatches in a request attribute.
+ */
+@Component
+public class RequestOriginInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private static final String ORIGIN_ATTRIBUTE = RequestOrigin.class.getName();
+
+    private final ObjectProvider<SqlProfiler> sqlProfiler;
+
+    @Autowired
+    public RequestOriginInterceptor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestOrigin origin = (RequestOrigin) request.getAttribute(ORIGIN_ATTRIBUTE);
+        if(origin == null){
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            origin = new RequestOrigin(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+            request.setAttribute(ORIGIN_ATTRIBUTE, origin);
+        }
+        RequestOrigin.bind(origin);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestOrigin.bind(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestOrigin.bind(null);
+        RequestOrigin origin = (RequestOrigin) request.getAttribute(ORIGIN_ATTRIBUTE);
+        request.removeAttribute(ORIGIN_ATTRIBUTE);
+
+        SqlProfiler sqlProfiler = this.sqlProfiler.getIfAvailable();
+        if(origin != null && sqlProfiler != null)
+            sqlProfiler.requestCompleted(origin);
+    }
+}
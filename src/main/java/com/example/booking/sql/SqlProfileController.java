@@ -0,0 +1,35 @@
+package com.example.booking.sql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path="api/v1/sql")
+public class SqlProfileController {
+
+    private final SqlProfiler sqlProfiler;
+
+    @Autowired
+    public SqlProfileController(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @GetMapping(path = "top")
+    public ResponseEntity<List<SqlStatementStatsDto>> getTopStatements(@RequestParam(defaultValue = "20") int limit,
+                                                                       @RequestParam(defaultValue = "total") String orderBy){
+        return ResponseEntity.ok().body(this.sqlProfiler.getTopStatements(limit, orderBy));
+    }
+
+    @DeleteMapping(path = "top")
+    public ResponseEntity<Void> reset(){
+        this.sqlProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
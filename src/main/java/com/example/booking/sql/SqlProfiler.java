@@ -0,0 +1,225 @@
+package com.example.booking.sql;
+
+import com.example.booking.exception.BadRequestException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregates the statements run through the profiled data source by their normalized SQL,
+ * with literals and in-lists collapsed to placeholders, recording how often each ran, how
+ * long it took, how many rows it touched and which endpoints ran it. Only a
+ * {@code booking.sql-profiler.sample-rate} fraction of the statements is timed, while every
+ * statement counts towards its request's total. A timed statement slower than
+ * {@code booking.sql-profiler.slow-millis} is logged, as is a request running more than
+ * {@code booking.sql-profiler.max-statements-per-request} statements.
+ */
+@Component
+public class SqlProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+
+    static final String STATEMENTS_PER_REQUEST = "booking.sql.statements";
+    static final String NO_ENDPOINT = "(none)";
+    static final String OTHER = "(other)";
+    static final int MAX_LIMIT = 100;
+    private static final int MAX_STATEMENTS = 1000;
+    private static final int MAX_ENDPOINTS = 20;
+    private static final int REPORTED_ENDPOINTS = 5;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, ToDoubleFunction<StatementStats>> ORDERS = Map.of(
+            "total", stats -> stats.totalNanos.sum(),
+            "mean", stats -> (double) stats.totalNanos.sum() / Math.max(1, stats.count.sum()),
+            "max", stats -> stats.maxNanos.get(),
+            "count", stats -> stats.count.sum(),
+            "rows", stats -> stats.rows.sum());
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean isEnabled;
+    private final double sampleRate;
+    private final long slowNanos;
+    private final int maxStatementsPerRequest;
+    private final Map<String, String> normalizedSql = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SqlProfiler(ObjectProvider<MeterRegistry> meterRegistry,
+                       @Value("${booking.sql-profiler.enabled:true}") boolean isEnabled,
+                       @Value("${booking.sql-profiler.sample-rate:1.0}") double sampleRate,
+                       @Value("${booking.sql-profiler.slow-millis:100}") long slowMillis,
+                       @Value("${booking.sql-profiler.max-statements-per-request:50}") int maxStatementsPerRequest) {
+        this.meterRegistry = meterRegistry;
+        this.isEnabled = isEnabled;
+        this.sampleRate = sampleRate;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.maxStatementsPerRequest = maxStatementsPerRequest;
+    }
+
+    public boolean isEnabled(){
+        return this.isEnabled;
+    }
+
+    DataSource wrap(DataSource dataSource){
+        return ProfilingProxies.dataSource(dataSource, this);
+    }
+
+    /**
+     * Counts a statement about to run against the current request.
+     *
+     * @return whether the statement is sampled and has to be timed
+     */
+    boolean beforeExecute(){
+        RequestOrigin origin = RequestOrigin.current();
+        if(origin != null)
+            origin.countStatement();
+        return this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate;
+    }
+
+    /**
+     * Records a sampled statement.
+     *
+     * @return the statement's stats, for a result set to add the rows it reads
+     */
+    StatementStats record(String sql, long nanos, long rows){
+        String normalized = normalizedSql(sql);
+        StatementStats stats = this.statements.get(normalized);
+        if(stats == null)
+            stats = this.statements.size() < MAX_STATEMENTS
+                    ? this.statements.computeIfAbsent(normalized, key -> new StatementStats())
+                    : this.statements.computeIfAbsent(OTHER, key -> new StatementStats());
+
+        RequestOrigin origin = RequestOrigin.current();
+        String endpoint = origin != null ? origin.getEndpoint() : NO_ENDPOINT;
+        stats.record(endpoint, nanos, rows);
+        if(nanos >= this.slowNanos){
+            stats.slowCount.increment();
+            log.warn("Slow SQL statement from {} took {} ms: {}", endpoint, TimeUnit.NANOSECONDS.toMillis(nanos), normalized);
+        }
+        return stats;
+    }
+
+    void requestCompleted(RequestOrigin origin){
+        int statements = origin.getStatements();
+        MeterRegistry meterRegistry = this.meterRegistry.getIfAvailable();
+        if(meterRegistry != null)
+            DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+                    .description("SQL statements run per request")
+                    .tag("endpoint", origin.getEndpoint())
+                    .register(meterRegistry)
+                    .record(statements);
+        if(statements > this.maxStatementsPerRequest)
+            log.warn("{} ran {} SQL statements in one request", origin.getEndpoint(), statements);
+    }
+
+    public List<SqlStatementStatsDto> getTopStatements(int limit, String orderBy){
+        if(limit <= 0 || limit > MAX_LIMIT)
+            throw new BadRequestException("Missing or invalid limit");
+
+        ToDoubleFunction<StatementStats> order = orderBy == null ? null : ORDERS.get(orderBy);
+        if(order == null)
+            throw new BadRequestException("Missing or invalid orderBy");
+
+        return this.statements.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, StatementStats> entry) -> order.applyAsDouble(entry.getValue())).reversed())
+                .limit(limit)
+                .map(entry -> entry.getValue().toDto(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
+    public void reset(){
+        this.statements.clear();
+    }
+
+    private String normalizedSql(String sql){
+        String normalized = this.normalizedSql.get(sql);
+        if(normalized != null)
+            return normalized;
+
+        normalized = normalize(sql);
+        // statements built with inline literals would otherwise grow the map without bound
+        if(this.normalizedSql.size() < MAX_STATEMENTS * 10)
+            this.normalizedSql.put(sql, normalized);
+        return normalized;
+    }
+
+    static String normalize(String sql){
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    static final class StatementStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final Map<String, LongAdder> endpoints = new ConcurrentHashMap<>();
+
+        private void record(String endpoint, long nanos, long rows){
+            this.count.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+            this.rows.add(rows);
+
+            LongAdder endpointCount = this.endpoints.get(endpoint);
+            if(endpointCount == null)
+                endpointCount = this.endpoints.computeIfAbsent(this.endpoints.size() < MAX_ENDPOINTS ? endpoint : OTHER,
+                        key -> new LongAdder());
+            endpointCount.increment();
+        }
+
+        void addRow(){
+            this.rows.increment();
+        }
+
+        private SqlStatementStatsDto toDto(String sql){
+            long count = this.count.sum();
+            long totalNanos = this.totalNanos.sum();
+            Map<String, Long> endpoints = this.endpoints.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                    .limit(REPORTED_ENDPOINTS)
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(),
+                            (first, second) -> first, LinkedHashMap::new));
+
+            return SqlStatementStatsDto.builder()
+                    .sql(sql)
+                    .count(count)
+                    .slowCount(this.slowCount.sum())
+                    .totalMillis(toMillis(totalNanos))
+                    .meanMillis(count == 0 ? 0 : toMillis(totalNanos) / count)
+                    .maxMillis(toMillis(this.maxNanos.get()))
+                    .rows(this.rows.sum())
+                    .endpoints(endpoints)
+                    .build();
+        }
+
+        private static double toMillis(long nanos){
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.booking.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SqlStatementStatsDto {
+    private String sql;
+    private Long count;
+    private Long slowCount;
+    private Double totalMillis;
+    private Double meanMillis;
+    private Double maxMillis;
+    private Long rows;
+    private Map<String, Long> endpoints;
+
+}
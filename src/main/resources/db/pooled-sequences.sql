@@ -0,0 +1,11 @@
+-- Switches the id sequences of an existing database to the block sizes in IdAllocation.
+-- With the pooled optimizer the value a sequence returns is the top of the block handed
+-- out, so raising the increment keeps new ids above every id already issued.
+-- Run it once, with the application stopped, before deploying the pooled generators.
+-- Not needed for databases created by ddl-auto, whose sequences already increment by the block size.
+
+ALTER SEQUENCE booking_sequence INCREMENT BY 50;
+ALTER SEQUENCE movie_sequence INCREMENT BY 50;
+ALTER SEQUENCE account_sequence INCREMENT BY 20;
+ALTER SEQUENCE show_sequence INCREMENT BY 10;
+ALTER SEQUENCE audi_sequence INCREMENT BY 10;
@@ -1,12 +1,13 @@
 package com.example.booking.auditorium;
 
-import com.example.booking.config.AppConfig;
+import com.example.booking.etag.AggregateVersions;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -24,7 +25,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = {AuditoriumController.class, AppConfig.class})
+@WebMvcTest(controllers = {AuditoriumController.class})
 class AuditoriumControllerTest {
 
     @Autowired
@@ -33,11 +34,11 @@ class AuditoriumControllerTest {
     @MockBean
     private AuditoriumService service;
 
-    @Autowired
-    private ObjectMapper objectMapper;
+    @MockBean
+    private AggregateVersions aggregateVersions;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ObjectMapper objectMapper;
 
     private Auditorium auditorium;
 
@@ -55,7 +56,8 @@ class AuditoriumControllerTest {
     void given_whenGetAuditoriums_thenReturnListOfAuditoriumDto() throws Exception {
 
         //given
-        given(this.service.getAuditoriums()).willReturn(List.of(this.auditorium));
+        given(this.service.getAuditoriums(null, null)).willReturn(
+                KeysetPage.of(List.of(this.auditorium), KeysetPage.DEFAULT_LIMIT, auditorium -> Cursor.of(auditorium.getAuditoriumId())));
 
         //when
         ResultActions response =
@@ -143,7 +145,7 @@ class AuditoriumControllerTest {
                 .build();
 
         given(this.service.updateAuditorium(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(AuditoriumDto.class)))
-                .willAnswer((invocation) -> this.modelMapper.map(invocation.getArgument(1), Auditorium.class));
+                .willAnswer((invocation) -> AuditoriumMapper.toEntity(invocation.getArgument(1)));
 
         //when
         ResultActions response =
@@ -0,0 +1,31 @@
+package com.example.booking.auditorium;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditoriumMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Map auditorium to dto and back")
+    void givenAuditorium_whenToDtoAndToEntity_thenMapLikeModelMapper() {
+        //given
+        Auditorium auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .numberOfSeats(15)
+                .build();
+
+        //when
+        AuditoriumDto auditoriumDto = AuditoriumMapper.toDto(auditorium);
+        Auditorium mappedAuditorium = AuditoriumMapper.toEntity(auditoriumDto);
+
+        //then
+        assertThat(auditoriumDto).isEqualTo(this.modelMapper.map(auditorium, AuditoriumDto.class));
+        assertThat(mappedAuditorium.getAuditoriumId()).isEqualTo(auditorium.getAuditoriumId());
+        assertThat(mappedAuditorium.getNumberOfSeats()).isEqualTo(auditorium.getNumberOfSeats());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.booking.auditorium;
 
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.AuditoriumNotFoundException;
 import com.example.booking.exception.BadRequestException;
+import com.example.booking.pagination.KeysetPage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -26,6 +29,12 @@ class AuditoriumServiceTest {
     @Mock
     private AuditoriumRepository repository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private ReferenceCache referenceCache;
+
     @InjectMocks
     private AuditoriumService underTest;
 
@@ -36,13 +45,14 @@ class AuditoriumServiceTest {
         Auditorium auditorium = Auditorium.builder()
                 .auditoriumId(1L)
                 .build();
-        given(this.repository.findAll()).willReturn(List.of(auditorium));
+        given(this.repository.findByAuditoriumIdGreaterThanOrderByAuditoriumId(0L, KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT)))
+                .willReturn(List.of(auditorium));
 
         //
-        List<Auditorium> testAuditoriums = this.underTest.getAuditoriums();
+        List<Auditorium> testAuditoriums = this.underTest.getAuditoriums(null, null).getItems();
 
         //then
-        verify(this.repository, times(1)).findAll();
+        verify(this.repository, times(1)).findByAuditoriumIdGreaterThanOrderByAuditoriumId(0L, KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT));
         assertThat(testAuditoriums.size()).isEqualTo(1);
     }
 
@@ -97,6 +107,7 @@ class AuditoriumServiceTest {
 
         //then
         verify(this.repository, times(1)).deleteById(id);
+        verify(this.referenceCache).evictSeatAuditoriums();
     }
 
     @Test
@@ -0,0 +1,47 @@
+package com.example.booking.config;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.MovieNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExceptionMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExceptionMetrics underTest = new ExceptionMetrics(this.meterRegistry);
+
+    @Test
+    @DisplayName("Booking exceptions are counted by type and left for the next resolver")
+    void givenBookingExceptions_whenResolveException_thenCountByTypeAndReturnNull() {
+        //when
+        Object first = resolve(new BadRequestException("Missing or invalid booking time"));
+        resolve(new BadRequestException("Missing or invalid account id"));
+        resolve(new MovieNotFoundException("Movie with Id 1 does not exists"));
+
+        //then
+        assertThat(first).isNull();
+        assertThat(this.meterRegistry.get(ExceptionMetrics.EXCEPTION_COUNTER)
+                .tag("exception", "BadRequestException").counter().count()).isEqualTo(2);
+        assertThat(this.meterRegistry.get(ExceptionMetrics.EXCEPTION_COUNTER)
+                .tag("exception", "MovieNotFoundException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Other exceptions are not counted")
+    void givenOtherException_whenResolveException_thenCountNothing() {
+        //when
+        resolve(new IllegalStateException("unexpected"));
+
+        //then
+        assertThat(this.meterRegistry.find(ExceptionMetrics.EXCEPTION_COUNTER).counters()).isEmpty();
+    }
+
+    private Object resolve(Exception e){
+        return this.underTest.resolveException(new MockHttpServletRequest(), new MockHttpServletResponse(), null, e);
+    }
+}
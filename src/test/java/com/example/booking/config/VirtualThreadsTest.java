@@ -0,0 +1,48 @@
+package com.example.booking.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    private static final int VIRTUAL_THREADS_RELEASE = 21;
+
+    @Test
+    @DisplayName("Tasks run on named virtual threads")
+    void givenJava21_whenExecute_thenRunOnVirtualThread() throws Exception {
+        assumeTrue(Runtime.version().feature() >= VIRTUAL_THREADS_RELEASE);
+
+        //given
+        CompletableFuture<Thread> thread = new CompletableFuture<>();
+
+        //when
+        VirtualThreads.newPerTaskExecutor("test-virtual-").execute(() -> thread.complete(Thread.currentThread()));
+
+        //then
+        Thread testThread = thread.get(5, TimeUnit.SECONDS);
+        assertThat(testThread.getName()).isEqualTo("test-virtual-0");
+        assertThat(Thread.class.getMethod("isVirtual").invoke(testThread)).isEqualTo(true);
+        assertThat(VirtualThreads.isSupported()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Older runtimes are refused")
+    void givenOlderJava_whenNewPerTaskExecutor_thenThrowIllegalStateException() {
+        assumeFalse(Runtime.version().feature() >= VIRTUAL_THREADS_RELEASE);
+
+        //when
+        //then
+        assertThat(VirtualThreads.isSupported()).isFalse();
+        assertThatThrownBy(() -> VirtualThreads.newPerTaskExecutor("test-virtual-"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.booking.etag;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregateVersionsTest {
+
+    private final AggregateVersions underTest = new AggregateVersions();
+
+    @Test
+    @DisplayName("Bumping an aggregate changes only its ETag")
+    void givenAggregate_whenBump_thenOnlyItsETagChanges() {
+        //given
+        String movieETag = this.underTest.eTag(Aggregate.MOVIE);
+        String seatETag = this.underTest.eTag(Aggregate.SEAT);
+
+        //when
+        this.underTest.bump(Aggregate.MOVIE);
+
+        //then
+        assertThat(this.underTest.eTag(Aggregate.MOVIE)).isNotEqualTo(movieETag);
+        assertThat(this.underTest.eTag(Aggregate.SEAT)).isEqualTo(seatETag);
+    }
+
+    @Test
+    @DisplayName("Qualified ETag is a strong ETag that differs per qualifier")
+    void givenQualifier_whenETag_thenReturnStrongETagPerQualifier() {
+        //when
+        String today = this.underTest.eTag(Aggregate.MOVIE, LocalDate.of(2022, Month.MARCH, 10));
+        String tomorrow = this.underTest.eTag(Aggregate.MOVIE, LocalDate.of(2022, Month.MARCH, 11));
+
+        //then
+        assertThat(today).startsWith("\"movie-").endsWith("-2022-03-10\"");
+        assertThat(today).isNotEqualTo(tomorrow);
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.booking.idempotency;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.IdempotencyKeyInProgressException;
+import com.example.booking.exception.SeatAlreadyBookedException;
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "seatbooking";
+    private static final long TTL_SECONDS = 60;
+
+    @Mock
+    private IdempotentResponseRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MutableClock clock;
+    private IdempotencyStore underTest;
+    private SeatBookingDto seatBookingDto;
+    private AtomicInteger bookings;
+    private Supplier<ResponseEntity<SeatBookingDto>> action;
+
+    @BeforeEach
+    void setUp(){
+        this.clock = new MutableClock(Instant.parse("2022-03-10T04:00:00Z"), ZoneOffset.UTC);
+        this.underTest = new IdempotencyStore(this.repository, this.objectMapper, TTL_SECONDS, 2, this.clock);
+        this.seatBookingDto = SeatBookingDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .bookedTime(1646870400L)
+                .seatNumber(1)
+                .rowNumber("A")
+                .screeningId(1L)
+                .build();
+        this.bookings = new AtomicInteger();
+        this.action = () -> {
+            SeatBookingDto booked = SeatBookingDto.builder()
+                    .seatBookingId((long) this.bookings.incrementAndGet())
+                    .screeningId(1L)
+                    .build();
+            return ResponseEntity.status(HttpStatus.CREATED).body(booked);
+        };
+    }
+
+    @Test
+    @DisplayName("Requests without a key always run")
+    void givenNoKey_whenExecuteTwice_thenRunTwice(){
+        //when
+        this.underTest.execute(SCOPE, null, this.seatBookingDto, SeatBookingDto.class, this.action);
+        this.underTest.execute(SCOPE, null, this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.bookings.get()).isEqualTo(2);
+        verify(this.repository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("A retry is replayed from memory and the response is persisted")
+    void givenKey_whenExecuteTwice_thenRunOnceAndReplay(){
+        //when
+        ResponseEntity<SeatBookingDto> first = this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+        ResponseEntity<SeatBookingDto> retry = this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.bookings.get()).isEqualTo(1);
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getBody().getSeatBookingId()).isEqualTo(first.getBody().getSeatBookingId());
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isNull();
+        verify(this.repository, times(1)).findById(SCOPE + " k1");
+
+        ArgumentCaptor<IdempotentResponse> saved = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(this.repository).save(saved.capture());
+        assertThat(saved.getValue().getIdempotencyKey()).isEqualTo(SCOPE + " k1");
+        assertThat(saved.getValue().getStatus()).isEqualTo(201);
+        assertThat(saved.getValue().getCreatedTime()).isEqualTo(this.clock.millis());
+    }
+
+    @Test
+    @DisplayName("A key reused for a different request is rejected")
+    void givenKeyOfOtherRequest_whenExecute_thenThrowBadRequest(){
+        //given
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+        this.seatBookingDto.setSeatNumber(2);
+
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Idempotency key was already used for a different request");
+        assertThat(this.bookings.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A response persisted before a restart is replayed from the table")
+    void givenPersistedResponse_whenExecute_thenReplayWithoutRunning() throws Exception {
+        //given
+        IdempotencyStore before = new IdempotencyStore(this.repository, this.objectMapper, TTL_SECONDS, 2, this.clock);
+        before.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+        ArgumentCaptor<IdempotentResponse> saved = ArgumentCaptor.forClass(IdempotentResponse.class);
+        verify(this.repository).save(saved.capture());
+        given(this.repository.findById(SCOPE + " k1")).willReturn(Optional.of(saved.getValue()));
+
+        //when
+        ResponseEntity<SeatBookingDto> retry = this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.bookings.get()).isEqualTo(1);
+        assertThat(retry.getBody().getSeatBookingId()).isEqualTo(1L);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("A failed request is not kept, so its retry runs again")
+    void givenFailedRequest_whenRetry_thenRunAgain(){
+        //given
+        assertThatThrownBy(() -> this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, () -> {
+            throw new SeatAlreadyBookedException("Seat is already booked");
+        })).isInstanceOf(SeatAlreadyBookedException.class);
+
+        //when
+        ResponseEntity<SeatBookingDto> retry = this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.bookings.get()).isEqualTo(1);
+        assertThat(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isNull();
+        assertThat(this.underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A retry racing the first attempt is answered at once with 409 and Retry-After")
+    void givenFirstAttemptRunning_whenRetry_thenThrowInProgress(){
+        //given
+        AtomicReference<Throwable> retryFailure = new AtomicReference<>();
+        Supplier<ResponseEntity<SeatBookingDto>> firstAttempt = () -> {
+            retryFailure.set(catchThrowable(() ->
+                    this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action)));
+            return this.action.get();
+        };
+
+        //when
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, firstAttempt);
+
+        //then
+        assertThat(retryFailure.get()).isInstanceOf(IdempotencyKeyInProgressException.class);
+        IdempotencyKeyInProgressException inProgress = (IdempotencyKeyInProgressException) retryFailure.get();
+        assertThat(inProgress.getStatus()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(inProgress.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(this.bookings.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Failed attempts do not grow the expiry queue past the size bound")
+    void givenFailedRequests_whenExecuteManyKeys_thenBoundQueue(){
+        //when
+        for(int i = 0; i < 5; i++)
+            this.underTest.execute(SCOPE, "k" + i, this.seatBookingDto, SeatBookingDto.class,
+                    () -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+
+        //then
+        assertThat(this.underTest.size()).isZero();
+        assertThat(this.underTest.queuedSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("An expired key runs the request again")
+    void givenExpiredKey_whenExecute_thenRunAgain(){
+        //given
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+        this.clock.setInstant(this.clock.instant().plusSeconds(TTL_SECONDS));
+
+        //when
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.bookings.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Past the size bound the oldest key is evicted from memory")
+    void givenFullStore_whenExecuteNewKey_thenEvictOldest(){
+        //given
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+        this.underTest.execute(SCOPE, "k2", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //when
+        this.underTest.execute(SCOPE, "k3", this.seatBookingDto, SeatBookingDto.class, this.action);
+        this.underTest.execute(SCOPE, "k1", this.seatBookingDto, SeatBookingDto.class, this.action);
+
+        //then
+        assertThat(this.underTest.size()).isEqualTo(2);
+        verify(this.repository, times(2)).findById(SCOPE + " k1");
+    }
+
+    @Test
+    @DisplayName("An invalid key is rejected")
+    void givenBlankKey_whenExecute_thenThrowBadRequest(){
+        assertThatThrownBy(() -> this.underTest.execute(SCOPE, " ", this.seatBookingDto, SeatBookingDto.class, this.action))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Missing or invalid idempotency key");
+    }
+
+    @Test
+    @DisplayName("Expired rows are purged from the table")
+    void given_whenPurge_thenDeleteRowsOlderThanTtl(){
+        //when
+        this.underTest.purge();
+
+        //then
+        verify(this.repository).deleteCreatedBefore(this.clock.millis() - TTL_SECONDS * 1000);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final ZoneId zone;
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        private void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return this.zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(this.instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
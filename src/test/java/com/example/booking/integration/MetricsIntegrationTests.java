@@ -0,0 +1,42 @@
+package com.example.booking.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+public class MetricsIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Scrape booking, request and connection pool metrics")
+    void givenFailedRequest_whenScrapePrometheus_thenReturnMetrics() throws Exception {
+        //given
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/{movieId}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        //when
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"));
+
+        //then
+        response.andExpect(status().isOk())
+                .andExpect(content().string(containsString("booking_exceptions_total{exception=\"MovieNotFoundException\",}")))
+                .andExpect(content().string(containsString("booking_stage_seconds_bucket{stage=\"seat_lookup\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.booking.integration;
 import com.example.booking.movie.Movie;
 import com.example.booking.movie.MovieDto;
 import com.example.booking.movie.MovieRepository;
+import com.example.booking.movie.MovieService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -22,7 +24,9 @@ import java.time.Month;
 import java.time.ZoneOffset;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -37,6 +41,9 @@ public class MovieControllerIntegrationTests {
     @Autowired
     private MovieRepository repository;
 
+    @Autowired
+    private MovieService service;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -123,7 +130,8 @@ public class MovieControllerIntegrationTests {
     @DisplayName("Get now showing")
     void given_whenGetLatest_thenReturnListOfMovies() throws Exception {
         //given
-        this.repository.save(this.movie);
+        this.service.addNewMovie(this.movie);
+        List<Movie> movies = this.repository.findNowShowing(LocalDate.now());
 
         //when
         ResultActions response =
@@ -132,7 +140,41 @@ public class MovieControllerIntegrationTests {
         //then
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(print())
-                .andExpect(jsonPath("$.size()", is(2)));
+                .andExpect(jsonPath("$.size()", is(movies.size())))
+                .andExpect(jsonPath("$[?(@.movieId == %d)]", this.movie.getMovieId()).exists());
+
+    }
+
+    @Test
+    @DisplayName("Search movies")
+    void givenAddedMovie_whenSearchMovies_thenReturnMovie() throws Exception {
+        //given
+        this.movie.setTitle("Zyzzyva returns");
+        this.service.addNewMovie(this.movie);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/search")
+                        .param("q", "zyzz"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].movieId", is(this.movie.getMovieId()), Long.class));
+
+    }
+
+    @Test
+    @DisplayName("Search movies - blank query")
+    void givenBlankQuery_whenSearchMovies_thenReturnBadRequest() throws Exception {
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/search")
+                        .param("q", " "));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
 
     }
 
@@ -222,5 +264,39 @@ public class MovieControllerIntegrationTests {
                 .andExpect(jsonPath("$.endDate", is(movieDto.getEndDate().toString())));
     }
 
+    @Test
+    @DisplayName("Get movie with Id - conditional get until the movie is updated")
+    void givenETag_whenGetMovieBeforeAndAfterUpdate_thenReturnNotModifiedThenMovie() throws Exception {
+        //given
+        Movie movie = this.service.addNewMovie(this.movie);
+        Long movieId = movie.getMovieId();
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/{id}", movieId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when
+        ResultActions notModified =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/{id}", movieId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/api/v1/movie/{movieId}", movieId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(MovieDto.builder()
+                                .title("Uncharted")
+                                .build())))
+                .andExpect(status().isOk());
+
+        ResultActions modified =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/{id}", movieId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        //then
+        assertThat(eTag).isNotNull();
+        notModified.andExpect(status().isNotModified());
+        modified.andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Uncharted")))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
 
 }
@@ -0,0 +1,139 @@
+package com.example.booking.integration;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.cache.CacheStatisticsDto;
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seat.SeatRepository;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import com.example.booking.seatAuditorium.SeatAuditoriumService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class ReferenceCacheIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SeatAuditoriumService seatAuditoriumService;
+
+    @Autowired
+    private SeatAuditoriumRepository seatAuditoriumRepository;
+
+    @Autowired
+    private AuditoriumRepository auditoriumRepository;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Autowired
+    private ReferenceCache referenceCache;
+
+    private SeatAuditorium seatAuditorium;
+
+    @BeforeEach
+    void setUp(){
+        Seat seat = this.seatRepository.save(Seat.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber("Y")
+                        .seatNumber(1)
+                        .build())
+                .cost(new BigDecimal("10.10"))
+                .build());
+
+        Auditorium auditorium = this.auditoriumRepository.save(Auditorium.builder()
+                .numberOfSeats(500)
+                .build());
+
+        this.seatAuditorium = this.seatAuditoriumRepository.save(SeatAuditorium.builder()
+                .id(SeatAuditoriumCK.builder()
+                        .auditoriumId(auditorium.getAuditoriumId())
+                        .seatId(seat.getSeatId())
+                        .build())
+                .seat(seat)
+                .auditorium(auditorium)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown(){
+        this.seatAuditoriumRepository.deleteById(this.seatAuditorium.getId());
+        this.seatRepository.deleteById(this.seatAuditorium.getSeat().getSeatId());
+        this.auditoriumRepository.deleteById(this.seatAuditorium.getAuditorium().getAuditoriumId());
+    }
+
+    @Test
+    @DisplayName("Repeated seat auditorium reads are served from the second-level cache")
+    void givenCachedSeatAuditorium_whenGetSeatAuditorium_thenReadNoRows() {
+        //given
+        SeatAuditoriumCK id = this.seatAuditorium.getId();
+        getSeatAuditorium(id);
+        CacheStatisticsDto before = this.referenceCache.getStatistics();
+
+        //when
+        SeatAuditorium seatAuditorium = getSeatAuditorium(id);
+
+        //then
+        CacheStatisticsDto after = this.referenceCache.getStatistics();
+        assertThat(seatAuditorium.getSeat().getCost()).isEqualByComparingTo("10.10");
+        assertThat(after.getPrepareStatementCount()).isEqualTo(before.getPrepareStatementCount());
+        assertThat(after.getSecondLevelCacheHitCount()).isGreaterThan(before.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Seats of an auditorium are served from the query cache")
+    void givenCachedAuditoriumSeats_whenFindAllByAuditoriumId_thenReadNoRows() {
+        //given
+        long auditoriumId = this.seatAuditorium.getId().getAuditoriumId();
+        this.seatAuditoriumRepository.findAllByAuditoriumId(auditoriumId);
+        CacheStatisticsDto before = this.referenceCache.getStatistics();
+
+        //when
+        int seats = this.seatAuditoriumRepository.findAllByAuditoriumId(auditoriumId).size();
+
+        //then
+        CacheStatisticsDto after = this.referenceCache.getStatistics();
+        assertThat(seats).isEqualTo(1);
+        assertThat(after.getPrepareStatementCount()).isEqualTo(before.getPrepareStatementCount());
+        assertThat(after.getQueryCacheHitCount()).isGreaterThan(before.getQueryCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Get cache statistics")
+    void given_whenGetStatistics_thenReturnRegionStatistics() throws Exception {
+        //when
+        ResultActions response = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/cache/statistics"));
+
+        //then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.regions.size()", is(4)))
+                .andExpect(jsonPath("$.regions[0].region", is(ReferenceCache.SEAT_REGION)));
+    }
+
+    private SeatAuditorium getSeatAuditorium(SeatAuditoriumCK id){
+        return this.seatAuditoriumService.getSeatAuditorium(id.getSeatId().getSeatNumber(),
+                id.getSeatId().getRowNumber(), id.getAuditoriumId());
+    }
+}
@@ -2,13 +2,17 @@ package com.example.booking.integration;
 
 import com.example.booking.account.Account;
 import com.example.booking.account.AccountRepository;
+import com.example.booking.idempotency.IdempotencyStore;
+import com.example.booking.idempotency.IdempotentResponseRepository;
 import com.example.booking.movie.Movie;
 import com.example.booking.movie.MovieRepository;
 import com.example.booking.screening.Screening;
 import com.example.booking.screening.ScreeningRepository;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import com.example.booking.seat.SeatId;
 import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingBatchDto;
 import com.example.booking.seatBooking.SeatBookingDto;
 import com.example.booking.seatBooking.SeatBookingRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -21,6 +25,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -28,10 +33,15 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -56,6 +66,9 @@ public class SeatBookingIntegrationTests {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private IdempotentResponseRepository idempotentResponseRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -124,6 +137,36 @@ public class SeatBookingIntegrationTests {
 
     }
 
+    @Test
+    @DisplayName("Export seatbookings as ndjson")
+    void given_whenExportSeatBookings_thenStreamOneSeatBookingDtoPerLine() throws Exception {
+        //given
+        SeatBooking seatBooking = this.repository.save(this.seatBooking);
+
+        //when
+        MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/seatbooking/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        //then
+        this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-ndjson"));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(1);
+
+        SeatBookingDto seatBookingDto = this.objectMapper.readValue(lines[0], SeatBookingDto.class);
+        assertThat(seatBookingDto.getSeatBookingId()).isEqualTo(seatBooking.getSeatBookingId());
+        assertThat(seatBookingDto.getBookedTime()).isEqualTo(seatBooking.getBookedTime());
+        assertThat(seatBookingDto.getAuditoriumId()).isEqualTo(this.seatAuditorium.getAuditorium().getAuditoriumId());
+        assertThat(seatBookingDto.getRowNumber()).isEqualTo(this.seatAuditorium.getSeat().getSeatId().getRowNumber());
+        assertThat(seatBookingDto.getSeatNumber()).isEqualTo(this.seatAuditorium.getSeat().getSeatId().getSeatNumber());
+        assertThat(seatBookingDto.getAccountId()).isEqualTo(this.account.getAccountId());
+        assertThat(seatBookingDto.getScreeningId()).isEqualTo(this.screening.getScreeningId());
+    }
+
     @Test
     @DisplayName("Get seatBooking with booking id")
     void givenBookingId_whenGetSeatBooking_thenReturnSeatBookingDto() throws Exception {
@@ -180,6 +223,146 @@ public class SeatBookingIntegrationTests {
 
     }
 
+    @Test
+    @DisplayName("Post SeatBooking retried with the same idempotency key")
+    void givenIdempotencyKey_whenAddSeatBookingTwice_thenBookOnceAndReplay() throws Exception {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(this.account.getAccountId())
+                .auditoriumId(this.seatAuditorium.getAuditorium().getAuditoriumId())
+                .bookedTime(LocalDateTime.now().toEpochSecond(OFFSET))
+                .seatNumber(this.seatAuditorium.getSeat().getSeatId().getSeatNumber())
+                .rowNumber(this.seatAuditorium.getSeat().getSeatId().getRowNumber())
+                .screeningId(this.screening.getScreeningId())
+                .build();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        //when
+        MvcResult first = this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        ResultActions retry =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)));
+
+        //then
+        long seatBookingId = this.objectMapper.readValue(first.getResponse().getContentAsString(), SeatBookingDto.class)
+                .getSeatBookingId();
+        retry.andExpect(status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.seatBookingId", is(seatBookingId), Long.class));
+        assertThat(this.repository.count()).isEqualTo(1);
+        assertThat(this.idempotentResponseRepository.findById("seatbooking " + idempotencyKey)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Post SeatBooking for a seat only the database knows is booked")
+    void givenSeatBookedInDatabase_whenAddSeatBooking_thenReturnConflict() throws Exception {
+        //given
+        this.repository.save(this.seatBooking);
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(this.account.getAccountId())
+                .auditoriumId(this.seatAuditorium.getAuditorium().getAuditoriumId())
+                .bookedTime(LocalDateTime.now().toEpochSecond(OFFSET))
+                .seatNumber(this.seatAuditorium.getSeat().getSeatId().getSeatNumber())
+                .rowNumber(this.seatAuditorium.getSeat().getSeatId().getRowNumber())
+                .screeningId(this.screening.getScreeningId())
+                .build();
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)));
+
+        //then
+        response.andExpect(status().isConflict());
+        assertThat(this.repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Stream seat map of screening")
+    void givenSeatMapSubscriber_whenAddSeatBooking_thenStreamSeatDelta() throws Exception {
+        //given
+        MvcResult subscription = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/v1/screening/{screeningId}/seatmap/stream", this.screening.getScreeningId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(this.account.getAccountId())
+                .auditoriumId(this.seatAuditorium.getAuditorium().getAuditoriumId())
+                .bookedTime(LocalDateTime.now().toEpochSecond(OFFSET))
+                .seatNumber(this.seatAuditorium.getSeat().getSeatId().getSeatNumber())
+                .rowNumber(this.seatAuditorium.getSeat().getSeatId().getRowNumber())
+                .screeningId(this.screening.getScreeningId())
+                .build();
+
+        //when
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        //then
+        String stream = subscription.getResponse().getContentAsString();
+        for(int attempt = 0; attempt < 50 && !stream.contains("event:delta"); attempt++){
+            Thread.sleep(100);
+            stream = subscription.getResponse().getContentAsString();
+        }
+
+        assertThat(stream).contains("event:seatmap");
+        assertThat(stream).contains("event:delta");
+        assertThat(stream).contains("\"seatNumber\":" + seatBookingDto.getSeatNumber() + ",\"isAvailable\":false");
+    }
+
+    @Test
+    @DisplayName("Post SeatBooking batch")
+    void givenSeatBookingBatchDto_whenAddSeatBookings_thenReturnListOfSeatBookingDto() throws Exception {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        List<SeatId> seats = this.seatAuditoriumRepository
+                .findAllByAuditoriumId(this.seatAuditorium.getAuditorium().getAuditoriumId()).stream()
+                .limit(4)
+                .map(seatAuditorium -> seatAuditorium.getSeat().getSeatId())
+                .collect(Collectors.toList());
+
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .accountId(this.account.getAccountId())
+                .auditoriumId(this.seatAuditorium.getAuditorium().getAuditoriumId())
+                .bookedTime(bookedTime)
+                .screeningId(this.screening.getScreeningId())
+                .seats(seats)
+                .build();
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingBatchDto)));
+
+        ResultActions retry =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingBatchDto)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(4)))
+                .andExpect(jsonPath("$[0].screeningId", is(this.screening.getScreeningId()), Long.class));
+
+        retry.andExpect(status().isConflict());
+        assertThat(this.repository.count()).isEqualTo(4);
+
+    }
+
     @Test
     @DisplayName("Delete seatbooking by Id")
     void givenBookingId_whenDeleteSeatBooking_thenReturnNoContent() throws Exception {
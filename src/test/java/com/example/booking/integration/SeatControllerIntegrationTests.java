@@ -1,5 +1,6 @@
 package com.example.booking.integration;
 
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.seat.Seat;
 import com.example.booking.seat.SeatDto;
 import com.example.booking.seat.SeatId;
@@ -13,13 +14,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -68,6 +73,47 @@ public class SeatControllerIntegrationTests {
                 .andExpect(jsonPath("$.size()", is(seats.size())));
     }
 
+    @Test
+    @DisplayName("Get seats page by page")
+    void givenLimit_whenGetSeatsFollowingCursor_thenReturnEverySeatOnce() throws Exception {
+        //given
+        List<Seat> seats = this.repository.findAll();
+        List<SeatDto> pagedSeats = new ArrayList<>();
+        String cursor = null;
+
+        //when
+        do{
+            MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("/api/v1/seat").param("limit", "4");
+            if(cursor != null)
+                request.param("cursor", cursor);
+
+            MvcResult result = this.mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            pagedSeats.addAll(List.of(this.objectMapper.readValue(result.getResponse().getContentAsString(), SeatDto[].class)));
+            cursor = result.getResponse().getHeader(KeysetPage.NEXT_CURSOR_HEADER);
+        }while(cursor != null);
+
+        //then
+        assertThat(pagedSeats.size()).isEqualTo(seats.size());
+        assertThat(pagedSeats.stream()
+                .map(seatDto -> seatDto.getRowNumber() + seatDto.getSeatNumber())
+                .distinct()
+                .count()).isEqualTo(seats.size());
+    }
+
+    @Test
+    @DisplayName("Get seats with invalid cursor")
+    void givenInvalidCursor_whenGetSeats_thenReturnBadRequest() throws Exception {
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/seat").param("cursor", "A"));
+
+        //then
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("Get seat with Id")
     void givenRowIdSeatNumber_whenGetSeat_thenReturnSeat() throws Exception {
@@ -0,0 +1,60 @@
+package com.example.booking.integration;
+
+import com.example.booking.sql.SqlProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+public class SqlProfilerIntegrationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp(){
+        this.sqlProfiler.reset();
+    }
+
+    @Test
+    @DisplayName("Statements run by a request are reported under its endpoint")
+    void givenRequest_whenGetTopStatements_thenReportStatementsByEndpoint() throws Exception {
+        //given
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/auditorium/{auditoriumId}", 123456))
+                .andExpect(status().isNotFound());
+
+        //when
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/sql/top").param("orderBy", "count"))
+                //then
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].endpoints", hasItem(hasKey("GET /api/v1/auditorium/{auditoriumId}"))));
+        assertThat(this.meterRegistry.get("booking.sql.statements")
+                .tag("endpoint", "GET /api/v1/auditorium/{auditoriumId}").summary().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("An unknown order is rejected")
+    void givenUnknownOrder_whenGetTopStatements_thenBadRequest() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/sql/top").param("orderBy", "slowest"))
+                .andExpect(status().isBadRequest());
+    }
+}
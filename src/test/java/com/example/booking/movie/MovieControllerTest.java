@@ -1,15 +1,18 @@
 package com.example.booking.movie;
 
-import com.example.booking.config.AppConfig;
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -24,12 +27,14 @@ import java.util.List;
 
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = {MovieController.class, AppConfig.class})
+@WebMvcTest(controllers = {MovieController.class})
 class MovieControllerTest {
 
     @Autowired
@@ -38,8 +43,8 @@ class MovieControllerTest {
     @MockBean
     private MovieService service;
 
-    @Autowired
-    private ModelMapper modelMapper;
+    @MockBean
+    private AggregateVersions aggregateVersions;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -70,7 +75,8 @@ class MovieControllerTest {
     void given_whenGetMovies_thenReturnListOfMovies() throws Exception {
 
         //given
-        given(this.service.getMovies()).willReturn(List.of(this.movie));
+        given(this.service.getMovies(null, null)).willReturn(
+                KeysetPage.of(List.of(this.movie), KeysetPage.DEFAULT_LIMIT, movie -> Cursor.of(movie.getMovieId())));
 
         //when
         ResultActions response =
@@ -79,8 +85,76 @@ class MovieControllerTest {
         //then
         response.andExpect(MockMvcResultMatchers.status().isOk())
                 .andDo(print())
-                .andExpect(jsonPath("$.size()", is(1)));
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(KeysetPage.NEXT_CURSOR_HEADER));
+
+    }
+
+    @Test
+    @DisplayName("Get movies page with next cursor")
+    void givenCursorAndLimit_whenGetMovies_thenReturnPageWithNextCursorHeader() throws Exception {
+
+        //given
+        String cursor = Cursor.of(1L);
+        Movie nextMovie = Movie.builder().movieId(3L).title("Uncharted").build();
+        this.movie.setMovieId(2L);
+        given(this.service.getMovies(cursor, 1)).willReturn(
+                KeysetPage.of(List.of(this.movie, nextMovie), 1, movie -> Cursor.of(movie.getMovieId())));
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie")
+                        .param("cursor", cursor)
+                        .param("limit", "1"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].movieId", is(2)))
+                .andExpect(MockMvcResultMatchers.header().string(KeysetPage.NEXT_CURSOR_HEADER, Cursor.of(2L)));
+
+    }
+
+    @Test
+    @DisplayName("Search movies")
+    void givenQuery_whenSearchMovies_thenReturnMatches() throws Exception {
 
+        //given
+        given(this.service.searchMovies("bat", 5)).willReturn(List.of(MovieMapper.toDto(this.movie)));
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/search")
+                        .param("q", "bat")
+                        .param("limit", "5"));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].title", is(this.movie.getTitle())));
+
+    }
+
+    @Test
+    @DisplayName("Get movie with Id - not modified")
+    void givenMatchingETag_whenGetMovie_thenReturnNotModifiedWithoutReadingMovie() throws Exception {
+        //given
+        Long movieId = 1L;
+        String eTag = "\"movie-1-0\"";
+        given(this.aggregateVersions.eTag(Aggregate.MOVIE)).willReturn(eTag);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/movie/{id}", movieId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(this.service, never()).getMovieById(movieId);
     }
 
     @Test
@@ -113,7 +187,7 @@ class MovieControllerTest {
     void given_whenGetLatest_thenReturnListOfMovies() throws Exception {
         //given
 
-        given(this.service.getNowShowing()).willReturn(List.of(this.movie));
+        given(this.service.getNowShowing()).willReturn(List.of(MovieMapper.toDto(this.movie)));
 
         //when
         ResultActions response =
@@ -148,7 +222,7 @@ class MovieControllerTest {
         ResultActions response =
                 this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/movie")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(this.modelMapper.map(inputMovie, MovieDto.class))));
+                        .content(objectMapper.writeValueAsString(MovieMapper.toDto(inputMovie))));
 
         //then
         response.andExpect(MockMvcResultMatchers.status().isCreated())
@@ -203,7 +277,7 @@ class MovieControllerTest {
         given(this.service.updateMovie(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(MovieDto.class)))
                 .willAnswer((invocation) -> {
                     //need to return a movie.class
-                    return this.modelMapper.map(invocation.getArgument(1), Movie.class);
+                    return MovieMapper.toEntity(invocation.getArgument(1));
                 });
         //when
         ResultActions response =
@@ -0,0 +1,60 @@
+package com.example.booking.movie;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.time.Month;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Map movie to dto")
+    void givenMovie_whenToDto_thenMapLikeModelMapper() {
+        //given
+        Movie movie = Movie.builder()
+                .movieId(1L)
+                .title("The batman")
+                .description("Batman is forced to investigate the city's hidden corruption.")
+                .duration(172)
+                .casts("Robert Pattison")
+                .startDate(LocalDate.of(2022, Month.MARCH, 2))
+                .endDate(LocalDate.of(2022, Month.MAY, 10))
+                .createdDateTime(1646092800L)
+                .updatedDateTime(1646179200L)
+                .build();
+
+        //when
+        MovieDto movieDto = MovieMapper.toDto(movie);
+
+        //then
+        assertThat(movieDto).isEqualTo(this.modelMapper.map(movie, MovieDto.class));
+        assertThat(movieDto.getCreatedDate()).isEqualTo(movie.getCreatedDateTime());
+        assertThat(movieDto.getUpdatedTime()).isEqualTo(movie.getUpdatedDateTime());
+    }
+
+    @Test
+    @DisplayName("Map dto to movie")
+    void givenMovieDto_whenToEntity_thenMapLikeModelMapper() {
+        //given
+        MovieDto movieDto = MovieDto.builder()
+                .movieId(1L)
+                .title("The batman")
+                .duration(172)
+                .casts("Robert Pattison")
+                .startDate(LocalDate.of(2022, Month.MARCH, 2))
+                .endDate(LocalDate.of(2022, Month.MAY, 10))
+                .build();
+
+        //when
+        Movie movie = MovieMapper.toEntity(movieDto);
+
+        //then
+        assertThat(movie).isEqualTo(this.modelMapper.map(movieDto, Movie.class));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.booking.movie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class MovieSearchIndexTest {
+
+    @Mock
+    private MovieRepository repository;
+
+    private MovieSearchIndex underTest;
+
+    @BeforeEach
+    void setUp(){
+        this.underTest = new MovieSearchIndex(this.repository);
+        given(this.repository.findAll()).willReturn(List.of(
+                Movie.builder()
+                        .movieId(1L)
+                        .title("The batman")
+                        .casts("Robert Pattinson, Zoë Kravitz")
+                        .description("Batman is forced to investigate the city's hidden corruption.")
+                        .build(),
+                Movie.builder()
+                        .movieId(2L)
+                        .title("Uncharted")
+                        .casts("Tom Holland")
+                        .description("A treasure hunter chases a fortune lost by Magellan, with a nod to batman comics.")
+                        .build(),
+                Movie.builder()
+                        .movieId(3L)
+                        .title("Batteries not included")
+                        .casts("Hume Cronyn")
+                        .build()));
+        this.underTest.loadMovies();
+    }
+
+    @Test
+    @DisplayName("Title matches rank above description matches")
+    void givenTerm_whenSearch_thenRankTitleMatchFirst(){
+        //when
+        List<Long> testMovieIds = idsOf(this.underTest.search("Batman", 10));
+
+        //then
+        assertThat(testMovieIds).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Loading keeps a movie put after the movies were read")
+    void givenMoviePutBeforeLoad_whenLoadMovies_thenKeepPutMovie(){
+        //given
+        this.underTest.put(Movie.builder()
+                .movieId(3L)
+                .title("Dune")
+                .casts("Timothée Chalamet")
+                .build());
+
+        //when
+        this.underTest.loadMovies();
+
+        //then
+        assertThat(idsOf(this.underTest.search("Dune", 10))).containsExactly(3L);
+        assertThat(idsOf(this.underTest.search("Batteries", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Last query word is matched as a prefix")
+    void givenPrefix_whenSearch_thenReturnTypeaheadMatches(){
+        //when
+        List<Long> testMovieIds = idsOf(this.underTest.search("bat", 10));
+
+        //then
+        assertThat(testMovieIds).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Every query word has to match, ignoring case and accents")
+    void givenSeveralWords_whenSearch_thenReturnMoviesMatchingAll(){
+        //when
+        List<Long> testMovieIds = idsOf(this.underTest.search("ZOE krav", 10));
+
+        //then
+        assertThat(testMovieIds).containsExactly(1L);
+        assertThat(this.underTest.search("tom kravitz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Results are cut at the limit")
+    void givenLimit_whenSearch_thenReturnAtMostLimit(){
+        //when
+        //then
+        assertThat(this.underTest.search("bat", 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Updated and removed movies are reflected in results")
+    void givenPutAndRemove_whenSearch_thenReflectChanges(){
+        //given
+        this.underTest.put(Movie.builder()
+                .movieId(2L)
+                .title("Spiderman")
+                .casts("Tom Holland")
+                .build());
+        this.underTest.remove(3L);
+
+        //when
+        //then
+        assertThat(idsOf(this.underTest.search("bat", 10))).containsExactly(1L);
+        assertThat(idsOf(this.underTest.search("spider", 10))).containsExactly(2L);
+        assertThat(this.underTest.size()).isEqualTo(2);
+    }
+
+    private static List<Long> idsOf(List<MovieDto> movies){
+        return movies.stream().map(MovieDto::getMovieId).collect(Collectors.toList());
+    }
+}
@@ -1,7 +1,12 @@
 package com.example.booking.movie;
 
+import com.example.booking.etag.Aggregate;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.MovieNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
+import com.example.booking.screening.ScreeningSchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,6 +34,18 @@ class MovieServiceTest {
     @Mock
     private MovieRepository repository;
 
+    @Mock
+    private ScreeningSchedule screeningSchedule;
+
+    @Mock
+    private NowShowingCache nowShowingCache;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private MovieSearchIndex searchIndex;
+
     @InjectMocks
     private MovieService underTest;
 
@@ -55,14 +72,46 @@ class MovieServiceTest {
     @DisplayName("Get all movies")
     void given_whenGetMovies_thenReturnListOfMovies(){
         //given
-        given(this.repository.findAll()).willReturn(List.of(this.movie));
+        given(this.repository.findByMovieIdGreaterThanOrderByMovieId(0L, KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT))).willReturn(List.of(this.movie));
 
         //when
-        List<Movie> testMovies = this.underTest.getMovies();
+        KeysetPage<Movie> testMovies = this.underTest.getMovies(null, null);
 
         //then
-        assertThat(testMovies.size()).isEqualTo(1);
-        assertThat(testMovies.get(0)).isEqualTo(this.movie);
+        assertThat(testMovies.getItems().size()).isEqualTo(1);
+        assertThat(testMovies.getItems().get(0)).isEqualTo(this.movie);
+        assertThat(testMovies.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Get movies page after cursor")
+    void givenCursorAndLimit_whenGetMovies_thenReturnPageAfterCursorWithNextCursor(){
+        //given
+        Movie movie1 = Movie.builder().movieId(2L).build();
+        Movie movie2 = Movie.builder().movieId(3L).build();
+        Movie movie3 = Movie.builder().movieId(4L).build();
+        String cursor = Cursor.of(1L);
+        given(this.repository.findByMovieIdGreaterThanOrderByMovieId(1L, KeysetPage.fetchOf(2)))
+                .willReturn(List.of(movie1, movie2, movie3));
+
+        //when
+        KeysetPage<Movie> testMovies = this.underTest.getMovies(cursor, 2);
+
+        //then
+        assertThat(testMovies.getItems()).containsExactly(movie1, movie2);
+        assertThat(testMovies.getNextCursor()).isEqualTo(Cursor.of(3L));
+    }
+
+    @Test
+    @DisplayName("Get movies with invalid cursor")
+    void givenInvalidCursor_whenGetMovies_thenThrowBadRequestException(){
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.getMovies("not a cursor", null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Missing or invalid cursor");
+
+        verify(this.repository, never()).findByMovieIdGreaterThanOrderByMovieId(any(), any());
     }
 
     @Test
@@ -70,16 +119,59 @@ class MovieServiceTest {
     void given_whenGetNowShowing_thenListOfMovie(){
 
         //given
-        LocalDate timeNow = LocalDate.now();
-        given(this.repository.findNowShowing(timeNow)).willReturn(List.of(this.movie));
+        MovieDto movieDto = MovieMapper.toDto(this.movie);
+        given(this.nowShowingCache.getNowShowing()).willReturn(List.of(movieDto));
 
         //when
-        List<Movie> testMovies = this.underTest.getNowShowing();
+        List<MovieDto> testMovies = this.underTest.getNowShowing();
 
         //then
         assertThat(testMovies.size()).isEqualTo(1);
-        assertThat(testMovies.get(0)).isEqualTo(this.movie);
+        assertThat(testMovies.get(0)).isEqualTo(movieDto);
+        verify(this.repository, never()).findNowShowing(any());
+
+    }
+
+    @Test
+    @DisplayName("Search movies")
+    void givenQuery_whenSearchMovies_thenReturnMatchesFromIndex(){
+
+        //given
+        MovieDto movieDto = MovieMapper.toDto(this.movie);
+        given(this.searchIndex.search("bat", MovieService.DEFAULT_SEARCH_LIMIT)).willReturn(List.of(movieDto));
+
+        //when
+        List<MovieDto> testMovies = this.underTest.searchMovies("bat", null);
+
+        //then
+        assertThat(testMovies).containsExactly(movieDto);
+        verify(this.repository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Search movies - limit is capped")
+    void givenLargeLimit_whenSearchMovies_thenCapLimit(){
+
+        //given
+        given(this.searchIndex.search("bat", MovieService.MAX_SEARCH_LIMIT)).willReturn(List.of());
+
+        //when
+        List<MovieDto> testMovies = this.underTest.searchMovies("bat", 1000);
+
+        //then
+        assertThat(testMovies).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Search movies - throws exception for blank query")
+    void givenBlankQuery_whenSearchMovies_thenThrowBadRequestException(){
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.searchMovies(" ", null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Missing or invalid query");
 
+        verify(this.searchIndex, never()).search(any(), anyInt());
     }
 
     @Test
@@ -98,6 +190,9 @@ class MovieServiceTest {
 
         //then
         assertThat(testMovie.getMovieId()).isEqualTo(1);
+        verify(this.searchIndex, times(1)).put(newMovie);
+        verify(this.nowShowingCache, times(1)).invalidate();
+        verify(this.aggregateVersions, times(1)).bump(Aggregate.MOVIE);
     }
 
     @Test
@@ -115,6 +210,8 @@ class MovieServiceTest {
 
         //then
         verify(this.repository, times(1)).deleteById(id);
+        verify(this.searchIndex, times(1)).remove(id);
+        verify(this.nowShowingCache, times(1)).invalidate();
     }
 
     @Test
@@ -0,0 +1,134 @@
+package com.example.booking.movie;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NowShowingCacheTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC.of("+08:00");
+    private static final LocalDate TODAY = LocalDate.of(2022, Month.MARCH, 10);
+
+    @Mock
+    private MovieRepository repository;
+
+    private MutableClock clock;
+    private NowShowingCache underTest;
+    private Movie movie;
+
+    @BeforeEach
+    void setUp(){
+        this.clock = new MutableClock(TODAY.atStartOfDay(ZONE).plusHours(12).toInstant(), ZONE);
+        this.underTest = new NowShowingCache(this.repository, this.clock);
+        this.movie = Movie.builder()
+                .movieId(1L)
+                .title("The batman")
+                .duration(60 + 60 + 52)
+                .startDate(LocalDate.of(2022, Month.MARCH, 02))
+                .endDate(LocalDate.of(2022, Month.MAY, 10))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Now showing movies are loaded once per day")
+    void given_whenGetNowShowingTwice_thenLoadOnce(){
+        //given
+        given(this.repository.findNowShowing(TODAY)).willReturn(List.of(this.movie));
+
+        //when
+        List<MovieDto> first = this.underTest.getNowShowing();
+        List<MovieDto> second = this.underTest.getNowShowing();
+
+        //then
+        verify(this.repository, times(1)).findNowShowing(TODAY);
+        assertThat(first).containsExactly(MovieMapper.toDto(this.movie));
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Now showing movies are reloaded after invalidation")
+    void givenInvalidate_whenGetNowShowing_thenReload(){
+        //given
+        Movie newMovie = Movie.builder()
+                .movieId(2L)
+                .title("Uncharted")
+                .build();
+        given(this.repository.findNowShowing(TODAY))
+                .willReturn(List.of(this.movie))
+                .willReturn(List.of(this.movie, newMovie));
+        this.underTest.getNowShowing();
+
+        //when
+        this.underTest.invalidate();
+        List<MovieDto> testMovies = this.underTest.getNowShowing();
+
+        //then
+        verify(this.repository, times(2)).findNowShowing(TODAY);
+        assertThat(testMovies).containsExactly(MovieMapper.toDto(this.movie), MovieMapper.toDto(newMovie));
+    }
+
+    @Test
+    @DisplayName("Now showing movies are reloaded when the date rolls over")
+    void givenNextDay_whenGetNowShowing_thenLoadForNextDay(){
+        //given
+        LocalDate tomorrow = TODAY.plusDays(1);
+        given(this.repository.findNowShowing(TODAY)).willReturn(List.of(this.movie));
+        given(this.repository.findNowShowing(tomorrow)).willReturn(List.of());
+        this.underTest.getNowShowing();
+
+        //when
+        this.clock.setInstant(tomorrow.atStartOfDay(ZONE).toInstant());
+        List<MovieDto> testMovies = this.underTest.getNowShowing();
+
+        //then
+        verify(this.repository, times(1)).findNowShowing(tomorrow);
+        assertThat(testMovies).isEmpty();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final ZoneId zone;
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        private void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return this.zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(this.instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.booking.screening;
+
+import com.example.booking.account.Account;
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.exception.SeatAlreadyBookedException;
+import com.example.booking.exception.ServiceUnavailableException;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.BookingMetrics;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingDto;
+import com.example.booking.seatBooking.SeatBookingService;
+import com.example.booking.seatHold.SeatHold;
+import com.example.booking.seatHold.SeatHoldDto;
+import com.example.booking.seatHold.SeatHoldService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {AsyncScreeningController.class})
+class AsyncScreeningControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SeatMapService seatMapService;
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @MockBean
+    private SeatBookingService seatBookingService;
+
+    @MockBean
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SeatId seatId;
+    private SeatBookingDto seatBookingDto;
+    private SeatBooking seatBooking;
+
+    @BeforeEach
+    void setUp(){
+        this.seatId = SeatId.builder()
+                .rowNumber("A")
+                .seatNumber(1)
+                .build();
+
+        this.seatBookingDto = SeatBookingDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .rowNumber("A")
+                .seatNumber(1)
+                .bookedTime(1L)
+                .build();
+
+        Auditorium auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .build();
+
+        this.seatBooking = SeatBooking.builder()
+                .seatBookingId(1L)
+                .bookedTime(1L)
+                .seatAuditorium(SeatAuditorium.builder()
+                        .auditorium(auditorium)
+                        .seat(Seat.builder()
+                                .seatId(this.seatId)
+                                .build())
+                        .build())
+                .screening(Screening.builder()
+                        .screeningId(1L)
+                        .auditorium(auditorium)
+                        .build())
+                .account(Account.builder()
+                        .accountId(1L)
+                        .build())
+                .build();
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return this.mockMvc.perform(asyncDispatch(result));
+    }
+
+    @Test
+    @DisplayName("Get seat map")
+    void givenScreeningId_whenGetSeatMap_thenReturnSeatMapDto() throws Exception {
+        //given
+        given(this.seatMapService.getSeatMapAsync(1L)).willReturn(CompletableFuture.completedFuture(SeatMapDto.builder()
+                .screeningId(1L)
+                .auditoriumId(1L)
+                .availableSeats(10)
+                .rows(List.of())
+                .build()));
+
+        //when
+        ResultActions response = performAsync(MockMvcRequestBuilders.get("/api/v2/screening/{screeningId}/seatmap", 1L));
+
+        //then
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableSeats", is(10)));
+    }
+
+    @Test
+    @DisplayName("Post seat hold for the screening in the path")
+    void givenSeatHoldDto_whenAddSeatHold_thenReturnSeatHoldDto() throws Exception {
+        //given
+        SeatHoldDto seatHoldDto = SeatHoldDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .seats(List.of(this.seatId))
+                .build();
+        SeatHold seatHold = new SeatHold("hold-1", 1L, 1L, 1L,
+                List.of(SeatAuditoriumCK.builder()
+                        .auditoriumId(1L)
+                        .seatId(this.seatId)
+                        .build()),
+                1_000L);
+
+        ArgumentCaptor<SeatHoldDto> captor = ArgumentCaptor.forClass(SeatHoldDto.class);
+        given(this.seatHoldService.holdSeatsAsync(captor.capture())).willReturn(CompletableFuture.completedFuture(seatHold));
+
+        //when
+        ResultActions response = performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/hold", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(seatHoldDto)));
+
+        //then
+        response.andExpect(status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.holdId", is("hold-1")))
+                .andExpect(jsonPath("$.state", is("HELD")));
+        assertThat(captor.getValue().getScreeningId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Post seat booking for the screening in the path")
+    void givenSeatBookingDto_whenAddSeatBooking_thenReturnSeatBookingDto() throws Exception {
+        //given
+        ArgumentCaptor<SeatBookingDto> captor = ArgumentCaptor.forClass(SeatBookingDto.class);
+        given(this.seatBookingService.addSeatBookingAsync(captor.capture()))
+                .willReturn(CompletableFuture.completedFuture(this.seatBooking));
+
+        //when
+        ResultActions response = performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/seatbooking", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(this.seatBookingDto)));
+
+        //then
+        response.andExpect(status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.seatBookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$.screeningId", is(1L), Long.class));
+        assertThat(captor.getValue().getScreeningId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Post seat booking - seat already booked")
+    void givenTakenSeat_whenAddSeatBooking_thenReturnConflict() throws Exception {
+        //given
+        given(this.seatBookingService.addSeatBookingAsync(any(SeatBookingDto.class)))
+                .willReturn(CompletableFuture.failedFuture(new SeatAlreadyBookedException("Seat already booked")));
+
+        //when
+        ResultActions response = performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/seatbooking", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(this.seatBookingDto)));
+
+        //then
+        response.andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Post seat booking - full mailbox")
+    void givenFullMailbox_whenAddSeatBooking_thenReturnServiceUnavailable() throws Exception {
+        //given
+        given(this.seatBookingService.addSeatBookingAsync(any(SeatBookingDto.class)))
+                .willReturn(CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Too many pending bookings for screening Id of 1")));
+
+        //when
+        ResultActions response = performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/seatbooking", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(this.objectMapper.writeValueAsString(this.seatBookingDto)));
+
+        //then
+        response.andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Confirm seat hold of the screening")
+    void givenSeatHoldId_whenConfirmSeatHold_thenReturnSeatBookings() throws Exception {
+        //given
+        given(this.seatHoldService.confirmSeatHoldAsync(1L, "hold-1"))
+                .willReturn(CompletableFuture.completedFuture(List.of(this.seatBooking)));
+
+        //when
+        ResultActions response =
+                performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/hold/{seatHoldId}/confirm", 1L, "hold-1"));
+
+        //then
+        response.andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].seatBookingId", is(1)))
+                .andExpect(jsonPath("$[0].screeningId", is(1)));
+        verify(this.seatHoldService).confirmSeatHoldAsync(1L, "hold-1");
+    }
+
+    @Test
+    @DisplayName("Confirm seat hold - mailbox full")
+    void givenFullMailbox_whenConfirmSeatHold_thenReturnServiceUnavailable() throws Exception {
+        //given
+        given(this.seatHoldService.confirmSeatHoldAsync(1L, "hold-1"))
+                .willReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("Too many pending bookings")));
+
+        //when
+        ResultActions response =
+                performAsync(MockMvcRequestBuilders.post("/api/v2/screening/{screeningId}/hold/{seatHoldId}/confirm", 1L, "hold-1"));
+
+        //then
+        response.andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("Delete seat booking of the screening")
+    void givenScreeningIdAndBookingId_whenDeleteSeatBooking_thenReturnNoContent() throws Exception {
+        //given
+        given(this.seatBookingService.cancelSeatBookingAsync(1L, 2L)).willReturn(CompletableFuture.completedFuture(null));
+
+        //when
+        ResultActions response =
+                performAsync(MockMvcRequestBuilders.delete("/api/v2/screening/{screeningId}/seatbooking/{seatBookingId}", 1L, 2L));
+
+        //then
+        response.andExpect(status().isNoContent());
+        verify(this.seatBookingService).cancelSeatBookingAsync(1L, 2L);
+    }
+}
@@ -2,13 +2,13 @@ package com.example.booking.screening;
 
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.movie.Movie;
-import com.example.booking.config.AppConfig;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -31,7 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = {ScreeningController.class, AppConfig.class})
+@WebMvcTest(controllers = {ScreeningController.class})
 class ScreeningControllerTest {
 
     @Autowired
@@ -40,8 +40,14 @@ class ScreeningControllerTest {
     @MockBean
     private ScreeningService service;
 
-    @Autowired
-    private ModelMapper modelMapper;
+    @MockBean
+    private SeatMapService seatMapService;
+
+    @MockBean
+    private SeatMapStream seatMapStream;
+
+    @MockBean
+    private ScreeningImportService screeningImportService;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -84,7 +90,8 @@ class ScreeningControllerTest {
     @DisplayName("Get Screening")
     void given_whenGetScreening_thenReturnListOfScreeningDto() throws Exception {
         //given
-        given(this.service.getScreenings()).willReturn(List.of(this.screening));
+        given(this.service.getScreenings(null, null)).willReturn(
+                KeysetPage.of(List.of(this.screening), KeysetPage.DEFAULT_LIMIT, screening -> Cursor.of(screening.getScreeningId())));
 
         //when
         ResultActions response =
@@ -102,7 +109,7 @@ class ScreeningControllerTest {
     void givenScreeningId_whenGetScreeningById_thenReturnScreeningDto() throws Exception {
         //given
         Long screeningId = 1L;
-        ScreeningDto screeningDto = this.modelMapper.map(this.screening, ScreeningDto.class);
+        ScreeningDto screeningDto = ScreeningMapper.toDto(this.screening);
         given(this.service.getScreeningById(screeningId)).willReturn(this.screening);
 
         //when
@@ -118,6 +125,36 @@ class ScreeningControllerTest {
                 .andExpect(jsonPath("$.showTime", is(screeningDto.getShowTime()), Long.class));
     }
 
+    @Test
+    @DisplayName("Get seat map of Screening")
+    void givenScreeningId_whenGetSeatMap_thenReturnSeatMapDto() throws Exception {
+        //given
+        Long screeningId = 1L;
+        SeatMapDto seatMapDto = SeatMapDto.builder()
+                .screeningId(screeningId)
+                .auditoriumId(1L)
+                .availableSeats(4)
+                .rows(List.of(SeatMapRowDto.builder()
+                        .rowNumber("A")
+                        .seatNumbers(List.of(1, 2, 3, 4, 5))
+                        .runs(new int[]{2, 1, 2})
+                        .build()))
+                .build();
+        given(this.seatMapService.getSeatMap(screeningId)).willReturn(seatMapDto);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/screening/{screeningId}/seatmap", screeningId));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.screeningId", is(screeningId), Long.class))
+                .andExpect(jsonPath("$.availableSeats", is(4)))
+                .andExpect(jsonPath("$.rows[0].rowNumber", is("A")))
+                .andExpect(jsonPath("$.rows[0].runs.size()", is(3)));
+    }
+
     @Test
     @DisplayName("Post Screening")
     void givenScreeningDto_whenAddScreening_thenReturnScreeningDto() throws Exception {
@@ -134,7 +171,7 @@ class ScreeningControllerTest {
 
         given(this.service.addScreening(ArgumentMatchers.any(ScreeningDto.class)))
                 .willAnswer((invocation) -> {
-                    Screening screening = this.modelMapper.map(invocation.getArgument(0), Screening.class);
+                    Screening screening = ScreeningMapper.toEntity(invocation.getArgument(0));
                     screening.setScreeningId(1L);
                     return screening;
                 });
@@ -154,6 +191,54 @@ class ScreeningControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Import screenings from CSV")
+    void givenCsv_whenImportScreenings_thenReturnImportResult() throws Exception {
+        //given
+        String csv = "showTime,movieId,auditoriumId\n1646092800,1,1\n";
+        given(this.screeningImportService.importCsv(csv)).willReturn(ScreeningImportResultDto.builder()
+                .importedScreenings(1)
+                .errors(List.of())
+                .build());
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/screening/import")
+                        .contentType("text/csv")
+                        .content(csv));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.importedScreenings", is(1)));
+    }
+
+    @Test
+    @DisplayName("Import screenings from JSON lines - returns errors of bad rows")
+    void givenJsonLinesWithBadRow_whenImportScreenings_thenReturnBadRequest() throws Exception {
+        //given
+        String jsonLines = "{\"showTime\":1646092800,\"movieId\":1,\"auditoriumId\":1}\n{}\n";
+        given(this.screeningImportService.importJsonLines(jsonLines)).willReturn(ScreeningImportResultDto.builder()
+                .importedScreenings(0)
+                .errors(List.of(ScreeningImportErrorDto.builder()
+                        .row(2)
+                        .message("Missing or invalid showTime, movieId or auditoriumId")
+                        .build()))
+                .build());
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/screening/import")
+                        .contentType("application/x-ndjson")
+                        .content(jsonLines));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.importedScreenings", is(0)))
+                .andExpect(jsonPath("$.errors[0].row", is(2)));
+    }
+
     @Test
     @DisplayName("Update screening by Id")
     void givenScreeningIdShowTimeMovieIdAuditoriumId_whenUpdateScreening_thenReturnScreeningDto() throws Exception {
@@ -171,7 +256,7 @@ class ScreeningControllerTest {
 
         given(this.service.updateScreening(ArgumentMatchers.any(Long.class), ArgumentMatchers.any(ScreeningDto.class)))
                 .willAnswer((invocation) -> {
-                    Screening output = this.modelMapper.map(invocation.getArgument(1), Screening.class);
+                    Screening output = ScreeningMapper.toEntity(invocation.getArgument(1));
                     output.setScreeningId(invocation.getArgument(0));
                     return output;
                 });
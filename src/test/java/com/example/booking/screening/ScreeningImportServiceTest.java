@@ -0,0 +1,158 @@
+package com.example.booking.screening;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.movie.Movie;
+import com.example.booking.movie.MovieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScreeningImportServiceTest {
+
+    private static final long HOUR = 60 * 60;
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private AuditoriumRepository auditoriumRepository;
+
+    @Spy
+    private ScreeningSchedule screeningSchedule = new ScreeningSchedule();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ScreeningImportService underTest;
+
+    private Movie movie;
+    private Auditorium auditorium;
+
+    @BeforeEach
+    void setUp(){
+        this.movie = Movie.builder()
+                .movieId(1L)
+                .duration(120)
+                .build();
+
+        this.auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .build();
+
+        given(this.movieRepository.findAllById(Set.of(1L))).willReturn(List.of(this.movie));
+        given(this.auditoriumRepository.findAllById(Set.of(1L))).willReturn(List.of(this.auditorium));
+    }
+
+    @Test
+    @DisplayName("Import screenings from CSV")
+    void givenCsv_whenImportCsv_thenSaveAllScreenings() {
+        //given
+        String csv = "auditoriumId,movieId,showTime\n" +
+                "1,1," + 10 * HOUR + "\n" +
+                "\n" +
+                "1,1," + 12 * HOUR + "\n";
+        given(this.screeningRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<Screening> screenings = invocation.getArgument(0);
+            for(int i = 0; i < screenings.size(); i++)
+                screenings.get(i).setScreeningId(i + 1);
+            return screenings;
+        });
+
+        //when
+        ScreeningImportResultDto result = this.underTest.importCsv(csv);
+
+        //then
+        assertThat(result.getImportedScreenings()).isEqualTo(2);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(this.screeningSchedule.isClashing(1L, 11 * HOUR, HOUR, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Import screenings from JSON lines - rows clashing with each other or the schedule are rejected")
+    void givenClashingRows_whenImportJsonLines_thenReturnErrorsAndSaveNothing() {
+        //given
+        this.screeningSchedule.setMovieDuration(1L, 120);
+        this.screeningSchedule.put(9L, 1L, 1L, 20 * HOUR);
+
+        String jsonLines = line(10 * HOUR) + line(11 * HOUR) + line(21 * HOUR) + "not json\n" + line(14 * HOUR);
+
+        //when
+        ScreeningImportResultDto result = this.underTest.importJsonLines(jsonLines);
+
+        //then
+        assertThat(result.getImportedScreenings()).isZero();
+        assertThat(result.getErrors()).extracting(ScreeningImportErrorDto::getRow).containsExactly(2, 3, 4);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Clashes with row 1 of this import");
+        assertThat(result.getErrors().get(1).getMessage()).startsWith("Existing showtime for this auditorium");
+        assertThat(result.getErrors().get(2).getMessage()).startsWith("Invalid JSON: ");
+        verify(this.screeningRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Import screenings from CSV - errors carry the line number counting the header and blank lines")
+    void givenHeaderAndBlankLines_whenImportCsv_thenReportLineNumbers() {
+        //given
+        String csv = "showTime,movieId,auditoriumId\n" +
+                10 * HOUR + ",1,1\n" +
+                "\n" +
+                "\n" +
+                11 * HOUR + ",1,1\n";
+
+        //when
+        ScreeningImportResultDto result = this.underTest.importCsv(csv);
+
+        //then
+        assertThat(result.getImportedScreenings()).isZero();
+        assertThat(result.getErrors()).extracting(ScreeningImportErrorDto::getRow).containsExactly(5);
+        assertThat(result.getErrors().get(0).getMessage()).isEqualTo("Clashes with row 2 of this import");
+    }
+
+    @Test
+    @DisplayName("Import screenings from JSON lines - a slot taken after the check rejects the whole import")
+    void givenSlotTakenAfterCheck_whenImportJsonLines_thenReturnErrorAndReleaseSlots() {
+        //given
+        this.screeningSchedule.setMovieDuration(1L, 120);
+        String jsonLines = line(10 * HOUR) + line(20 * HOUR);
+        given(this.screeningRepository.saveAll(anyList())).willAnswer(invocation -> {
+            List<Screening> screenings = invocation.getArgument(0);
+            for(int i = 0; i < screenings.size(); i++)
+                screenings.get(i).setScreeningId(i + 1);
+            this.screeningSchedule.put(9L, 1L, 1L, 21 * HOUR);
+            return screenings;
+        });
+
+        //when
+        ScreeningImportResultDto result = this.underTest.importJsonLines(jsonLines);
+
+        //then
+        assertThat(result.getImportedScreenings()).isZero();
+        assertThat(result.getErrors()).extracting(ScreeningImportErrorDto::getRow).containsExactly(2);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Existing showtime for this auditorium");
+        assertThat(this.screeningSchedule.isClashing(1L, 10 * HOUR, HOUR, -1L)).isFalse();
+    }
+
+    private static String line(long showTime) {
+        return "{\"showTime\":" + showTime + ",\"movieId\":1,\"auditoriumId\":1}\n";
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.booking.screening;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.movie.Movie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreeningMapperTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    @DisplayName("Map screening to dto")
+    void givenScreening_whenToDto_thenMapLikeModelMapper() {
+        //given
+        Screening screening = Screening.builder()
+                .screeningId(1L)
+                .showTime(1646092800L)
+                .movie(Movie.builder()
+                        .movieId(2L)
+                        .build())
+                .auditorium(Auditorium.builder()
+                        .auditoriumId(3L)
+                        .build())
+                .build();
+
+        //when
+        ScreeningDto screeningDto = ScreeningMapper.toDto(screening);
+
+        //then
+        assertThat(screeningDto).isEqualTo(this.modelMapper.map(screening, ScreeningDto.class));
+    }
+
+    @Test
+    @DisplayName("Map dto to screening")
+    void givenScreeningDto_whenToEntity_thenReferenceMovieAndAuditoriumById() {
+        //given
+        ScreeningDto screeningDto = ScreeningDto.builder()
+                .screeningId(1L)
+                .showTime(1646092800L)
+                .movieId(2L)
+                .auditoriumId(3L)
+                .build();
+
+        //when
+        Screening screening = ScreeningMapper.toEntity(screeningDto);
+
+        //then
+        Screening expected = this.modelMapper.map(screeningDto, Screening.class);
+        assertThat(screening.getScreeningId()).isEqualTo(expected.getScreeningId());
+        assertThat(screening.getShowTime()).isEqualTo(expected.getShowTime());
+        assertThat(screening.getMovie().getMovieId()).isEqualTo(expected.getMovie().getMovieId());
+        assertThat(screening.getAuditorium().getAuditoriumId()).isEqualTo(expected.getAuditorium().getAuditoriumId());
+    }
+}
@@ -13,6 +13,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.ZoneOffset;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -69,41 +70,36 @@ class ScreeningRepositoryTest {
     }
 
     @Test
-    void givenAuditoriumIdShowTimeDuration_whenExistsByAuditoriumIdAndShowTime_thenReturnScreening() {
+    void given_whenFindAllScheduledScreenings_thenReturnShowTimeAndDurationOfScreenings() {
 
         //init
         Movie movie = this.movieRepository.findAll().get(0);
-        Auditorium auditorium = this.auditoriumRepository.findAll().get(0);
-
-        //given
-        long auditoriumId = auditorium.getAuditoriumId();
-        long showtime = FIXED_DATETIME.toEpochSecond(offset);
-        long duration = movie.getDuration();
 
         //when
-        Screening screeningTest = this.underTest.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, duration).orElse(null);
+        List<ScheduledScreening> scheduledScreenings = this.underTest.findAllScheduledScreenings();
 
         //then
-        assertThat(screeningTest).isNotNull();
-        assertThat(screeningTest).isEqualTo(this.screening);
+        assertThat(scheduledScreenings).hasSize(1);
+        assertThat(scheduledScreenings.get(0).getScreeningId()).isEqualTo(this.screening.getScreeningId());
+        assertThat(scheduledScreenings.get(0).getAuditoriumId()).isEqualTo(this.screening.getAuditorium().getAuditoriumId());
+        assertThat(scheduledScreenings.get(0).getMovieId()).isEqualTo(movie.getMovieId());
+        assertThat(scheduledScreenings.get(0).getShowTime()).isEqualTo(this.screening.getShowTime());
+        assertThat(scheduledScreenings.get(0).getDuration()).isEqualTo(movie.getDuration());
     }
 
     @Test
-    void givenAuditoriumIdShowTimeDuration_whenExistsByAuditoriumIdAndShowTime_thenReturnNull() {
+    void givenPlayedAndUnplayedScreenings_whenFindUnplayedScreeningIds_thenReturnOnlyUnplayed() {
 
         //init
         Movie movie = this.movieRepository.findAll().get(0);
-        Auditorium auditorium = this.auditoriumRepository.findAll().get(0);
-
-        //given
-        long auditoriumId = auditorium.getAuditoriumId();
-        long showtime = FIXED_DATETIME.minusMinutes(movie.getDuration()+10).toEpochSecond(offset);
-        long duration = movie.getDuration();
+        long endTime = this.screening.getShowTime() + movie.getDuration() * 60L;
 
         //when
-        Screening screeningTest = this.underTest.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, duration).orElse(null);
+        List<Long> beforeEnd = this.underTest.findUnplayedScreeningIds(List.of(this.screening.getScreeningId(), -1L), endTime - 1);
+        List<Long> atEnd = this.underTest.findUnplayedScreeningIds(List.of(this.screening.getScreeningId()), endTime);
 
         //then
-        assertThat(screeningTest).isNull();
+        assertThat(beforeEnd).containsExactly(this.screening.getScreeningId());
+        assertThat(atEnd).isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.example.booking.screening;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreeningScheduleTest {
+
+    private static final long HOUR = 60 * 60;
+
+    private ScreeningSchedule underTest;
+
+    @BeforeEach
+    void setUp(){
+        this.underTest = new ScreeningSchedule();
+        this.underTest.setMovieDuration(1L, 180);
+        this.underTest.setMovieDuration(2L, 60);
+
+        //movie 1 from 10:00 to 13:00 in auditorium 1
+        this.underTest.put(1L, 1L, 1L, 10 * HOUR);
+    }
+
+    @Test
+    @DisplayName("clash - show starting during an existing show")
+    void givenShowStartingDuringExistingShow_whenIsClashing_thenReturnTrue() {
+        assertThat(this.underTest.isClashing(1L, 12 * HOUR, HOUR, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("clash - show running into a later show")
+    void givenShowEndingDuringExistingShow_whenIsClashing_thenReturnTrue() {
+        assertThat(this.underTest.isClashing(1L, 9 * HOUR, 2 * HOUR, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("clash - short show inside a long one is judged by the existing show's duration")
+    void givenShortShowInsideLongShow_whenIsClashing_thenReturnTrue() {
+        assertThat(this.underTest.isClashing(1L, 11 * HOUR, 60, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("no clash - back to back shows and other auditoriums")
+    void givenAdjacentShowsOrOtherAuditorium_whenIsClashing_thenReturnFalse() {
+        assertThat(this.underTest.isClashing(1L, 13 * HOUR, HOUR, -1L)).isFalse();
+        assertThat(this.underTest.isClashing(1L, 9 * HOUR, HOUR, -1L)).isFalse();
+        assertThat(this.underTest.isClashing(2L, 11 * HOUR, HOUR, -1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("no clash - a screening does not clash with itself")
+    void givenExcludedScreening_whenIsClashing_thenReturnFalse() {
+        assertThat(this.underTest.isClashing(1L, 11 * HOUR, HOUR, 1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("moved and removed screenings free their old slot")
+    void givenMovedOrRemovedScreening_whenIsClashing_thenOldSlotIsFree() {
+        //given
+        this.underTest.put(1L, 1L, 2L, 20 * HOUR);
+
+        //then
+        assertThat(this.underTest.isClashing(1L, 11 * HOUR, HOUR, -1L)).isFalse();
+        assertThat(this.underTest.isClashing(1L, 20 * HOUR, HOUR, -1L)).isTrue();
+
+        //when
+        this.underTest.remove(1L);
+
+        //then
+        assertThat(this.underTest.isClashing(1L, 20 * HOUR, HOUR, -1L)).isFalse();
+        assertThat(this.underTest.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("changing a movie's duration moves the end of its screenings")
+    void givenLongerMovie_whenIsClashing_thenUseNewDuration() {
+        //given
+        this.underTest.setMovieDuration(1L, 240);
+
+        //then
+        assertThat(this.underTest.isClashing(1L, 13 * HOUR, HOUR, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("try put - a clashing screening is rejected and the schedule is unchanged")
+    void givenClashingShow_whenTryPut_thenReturnFalse() {
+        //when
+        boolean isPut = this.underTest.tryPut(2L, 1L, 2L, 12 * HOUR);
+
+        //then
+        assertThat(isPut).isFalse();
+        assertThat(this.underTest.size()).isEqualTo(1);
+        assertThat(this.underTest.isClashing(1L, 14 * HOUR, HOUR, -1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("try put - moves a screening to another auditorium")
+    void givenMovedScreening_whenTryPut_thenOldSlotIsFree() {
+        //when
+        boolean isPut = this.underTest.tryPut(1L, 2L, 1L, 10 * HOUR);
+
+        //then
+        assertThat(isPut).isTrue();
+        assertThat(this.underTest.size()).isEqualTo(1);
+        assertThat(this.underTest.isClashing(1L, 11 * HOUR, HOUR, -1L)).isFalse();
+        assertThat(this.underTest.isClashing(2L, 11 * HOUR, HOUR, -1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("try put - only one of many concurrent screenings for the same time wins")
+    void givenConcurrentShows_whenTryPut_thenOnlyOneSucceeds() throws Exception {
+        //given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when
+        for(int i = 0; i < threads; i++){
+            long screeningId = 10L + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return this.underTest.tryPut(screeningId, 3L, 2L, 10 * HOUR);
+            }));
+        }
+        start.countDown();
+
+        int wins = 0;
+        for(Future<Boolean> result: results)
+            wins += result.get() ? 1 : 0;
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(wins).isEqualTo(1);
+    }
+}
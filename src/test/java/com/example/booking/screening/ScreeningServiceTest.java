@@ -6,6 +6,7 @@ import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.ScreeningNotFoundException;
 import com.example.booking.movie.Movie;
 import com.example.booking.movie.MovieRepository;
+import com.example.booking.pagination.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,7 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,6 +28,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -40,6 +45,9 @@ class ScreeningServiceTest {
     @Mock
     private AuditoriumRepository auditoriumRepository;
 
+    @Spy
+    private ScreeningSchedule screeningSchedule = new ScreeningSchedule();
+
     @InjectMocks
     private ScreeningService underTest;
 
@@ -83,10 +91,11 @@ class ScreeningServiceTest {
     @DisplayName("Get all Screening")
     void given_whenGetScreening_thenReturnListOfScreening() {
         //given
-        given(this.screeningRepository.findAll()).willReturn(List.of(this.screening));
+        given(this.screeningRepository.findByScreeningIdGreaterThanOrderByScreeningId(0L, KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT)))
+                .willReturn(List.of(this.screening));
 
         //when
-        List<Screening> screenings = this.underTest.getScreenings();
+        List<Screening> screenings = this.underTest.getScreenings(null, null).getItems();
 
         //then
         assertThat(screenings.size()).isEqualTo(1);
@@ -102,8 +111,8 @@ class ScreeningServiceTest {
         long showtime = FIXED_DATETIME.toEpochSecond(offset);
         long duration = 172L; //in mins
 
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, duration*60))
-                .willReturn(Optional.of(this.screening));
+        this.screeningSchedule.setMovieDuration(this.movie.getMovieId(), this.movie.getDuration());
+        this.screeningSchedule.put(this.screening.getScreeningId(), this.auditorium.getAuditoriumId(), this.movie.getMovieId(), this.screening.getShowTime());
         //when
         boolean isExist = this.underTest.isScreeningExist(auditoriumId, showtime, duration);
 
@@ -120,9 +129,6 @@ class ScreeningServiceTest {
         long auditoriumId = 1L;
         long showtime = FIXED_DATETIME.toEpochSecond(offset);
         long duration = 172L; //in mins
-
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, duration*60))
-                .willReturn(Optional.empty());
         //when
         boolean isExist = this.underTest.isScreeningExist(auditoriumId, showtime, duration);
 
@@ -152,8 +158,6 @@ class ScreeningServiceTest {
                 .build();
 
         given(this.movieRepository.findById(movieId)).willReturn(Optional.of(this.movie));
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, this.movie.getDuration()*60))
-                .willReturn(Optional.empty());
         given(this.auditoriumRepository.findById(auditoriumId)).willReturn(Optional.of(this.auditorium));
         given(this.screeningRepository.save(screeningInput)).willReturn(this.screening);
         //when
@@ -205,8 +209,8 @@ class ScreeningServiceTest {
                 .build();
 
         given(this.movieRepository.findById(movieId)).willReturn(Optional.of(this.movie));
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, this.movie.getDuration()*60))
-                .willReturn(Optional.of(this.screening));
+        this.screeningSchedule.setMovieDuration(this.movie.getMovieId(), this.movie.getDuration());
+        this.screeningSchedule.put(this.screening.getScreeningId(), this.auditorium.getAuditoriumId(), this.movie.getMovieId(), this.screening.getShowTime());
         //when
 
         //then
@@ -217,6 +221,62 @@ class ScreeningServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Add screening - throws exception for a time taken after the clash check")
+    void givenScreeningAddedConcurrently_whenAddScreening_thenThrowExceptionsForScreeningTime() {
+        //given
+        ScreeningDto screeningDto = ScreeningDto.builder()
+                .auditoriumId(this.auditorium.getAuditoriumId())
+                .movieId(this.movie.getMovieId())
+                .showTime(this.screening.getShowTime())
+                .build();
+
+        given(this.movieRepository.findById(this.movie.getMovieId())).willReturn(Optional.of(this.movie));
+        given(this.auditoriumRepository.findById(this.auditorium.getAuditoriumId())).willReturn(Optional.of(this.auditorium));
+        given(this.screeningRepository.save(any(Screening.class))).willAnswer(invocation -> {
+            this.screeningSchedule.setMovieDuration(this.movie.getMovieId(), this.movie.getDuration());
+            this.screeningSchedule.put(2L, this.auditorium.getAuditoriumId(), this.movie.getMovieId(), this.screening.getShowTime());
+            return this.screening;
+        });
+
+        //when
+
+        //then
+        assertThatThrownBy(()->this.underTest.addScreening(screeningDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Existing showtime for this auditorium for timing " + screeningDto.getShowTime());
+    }
+
+    @Test
+    @DisplayName("Add screening - a rolled back screening frees its time")
+    void givenRolledBackTransaction_whenAddScreening_thenFreeTheSlot() {
+        //given
+        ScreeningDto screeningDto = ScreeningDto.builder()
+                .auditoriumId(this.auditorium.getAuditoriumId())
+                .movieId(this.movie.getMovieId())
+                .showTime(this.screening.getShowTime())
+                .build();
+
+        given(this.movieRepository.findById(this.movie.getMovieId())).willReturn(Optional.of(this.movie));
+        given(this.auditoriumRepository.findById(this.auditorium.getAuditoriumId())).willReturn(Optional.of(this.auditorium));
+        given(this.screeningRepository.save(any(Screening.class))).willReturn(this.screening);
+
+        //when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.underTest.addScreening(screeningDto);
+            assertThat(this.underTest.isScreeningExist(this.auditorium.getAuditoriumId(), this.screening.getShowTime(), 60)).isTrue();
+            for(TransactionSynchronization synchronization: TransactionSynchronizationManager.getSynchronizations())
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        assertThat(this.underTest.isScreeningExist(this.auditorium.getAuditoriumId(), this.screening.getShowTime(), 60)).isFalse();
+    }
+
     @Test
     @DisplayName("Add screening - throws exception for auditorium not exist")
     void givenScreeningDto_whenAddScreening_thenThrowsExceptionForAuditoriumDoesNotExist() {
@@ -232,8 +292,6 @@ class ScreeningServiceTest {
                 .build();
 
         given(this.movieRepository.findById(movieId)).willReturn(Optional.of(this.movie));
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(auditoriumId, showtime, this.movie.getDuration()*60))
-                .willReturn(Optional.empty());
         given(this.auditoriumRepository.findById(auditoriumId)).willReturn(Optional.empty());
 
         //when
@@ -318,8 +376,6 @@ class ScreeningServiceTest {
         given(this.screeningRepository.findById(screeningId)).willReturn(Optional.of(this.screening));
         given(this.movieRepository.findById(movieId)).willReturn(Optional.of(this.movie));
         given(this.auditoriumRepository.findById(auditoriumId)).willReturn(Optional.of(this.auditorium));
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(this.auditorium.getAuditoriumId(), showTime, this.movie.getDuration() * 60))
-                .willReturn(Optional.empty());
 
         //when
         this.underTest.updateScreening(screeningId, ScreeningDto.builder()
@@ -426,8 +482,8 @@ class ScreeningServiceTest {
         given(this.screeningRepository.findById(screeningId)).willReturn(Optional.of(this.screening));
         given(this.movieRepository.findById(movieId)).willReturn(Optional.of(this.movie));
         given(this.auditoriumRepository.findById(auditoriumId)).willReturn(Optional.of(this.auditorium));
-        given(this.screeningRepository.findScreeningThatClashesBetweenShowTime(this.auditorium.getAuditoriumId(), showTime, this.movie.getDuration() * 60))
-                .willReturn(Optional.of(this.screening));
+        this.screeningSchedule.setMovieDuration(this.movie.getMovieId(), this.movie.getDuration());
+        this.screeningSchedule.put(2L, this.auditorium.getAuditoriumId(), this.movie.getMovieId(), this.screening.getShowTime());
 
         //when
         //then
@@ -0,0 +1,178 @@
+package com.example.booking.screening;
+
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.exception.ScreeningNotFoundException;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatAuditorium.SeatLayout;
+import com.example.booking.seatAuditorium.SeatLayoutCache;
+import com.example.booking.seatBooking.ScreeningMailboxes;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapServiceTest {
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private SeatLayoutCache seatLayoutCache;
+
+    @Mock
+    private ScreeningMailboxes screeningMailboxes;
+
+    @Spy
+    private ScreeningSchedule screeningSchedule = new ScreeningSchedule();
+
+    @Spy
+    private SeatOccupancyIndex seatOccupancyIndex = new SeatOccupancyIndex();
+
+    @InjectMocks
+    private SeatMapService underTest;
+
+    private Screening screening;
+    private SeatLayout seatLayout;
+
+    @BeforeEach
+    void setUp(){
+        Auditorium auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .numberOfSeats(8)
+                .build();
+
+        this.screening = Screening.builder()
+                .screeningId(1L)
+                .auditorium(auditorium)
+                .build();
+
+        List<SeatId> seatIds = new ArrayList<>();
+        for(String rowNumber: List.of("B", "A"))
+            for(int seatNumber = 4; seatNumber >= 1; seatNumber--)
+                seatIds.add(SeatId.builder()
+                        .rowNumber(rowNumber)
+                        .seatNumber(seatNumber)
+                        .build());
+
+        this.seatLayout = SeatLayout.of(1L, seatIds);
+    }
+
+    @Test
+    @DisplayName("Get seat map of screening with booked seats")
+    void givenBookedSeats_whenGetSeatMap_thenReturnRunsOfFreeAndTakenSeats() {
+        //given
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.seatLayoutCache.getLayout(1L)).willReturn(this.seatLayout);
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf("A", 1));
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf("A", 3));
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf("B", 3));
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf("B", 4));
+        this.seatOccupancyIndex.claim(2L, seatAuditoriumCKOf("B", 1));
+
+        //when
+        SeatMapDto seatMap = this.underTest.getSeatMap(1L);
+
+        //then
+        assertThat(seatMap.getAvailableSeats()).isEqualTo(4);
+        assertThat(seatMap.getRows()).hasSize(2);
+        assertThat(seatMap.getRows().get(0).getRowNumber()).isEqualTo("A");
+        assertThat(seatMap.getRows().get(0).getSeatNumbers()).containsExactly(1, 2, 3, 4);
+        assertThat(seatMap.getRows().get(0).getRuns()).containsExactly(0, 1, 1, 1, 1);
+        assertThat(seatMap.getRows().get(1).getRowNumber()).isEqualTo("B");
+        assertThat(seatMap.getRows().get(1).getRuns()).containsExactly(2, 2);
+    }
+
+    @Test
+    @DisplayName("Get seat map of a scheduled screening without reading the screening")
+    void givenScheduledScreening_whenGetSeatMap_thenTakeAuditoriumFromSchedule() {
+        //given
+        this.screeningSchedule.put(1L, 1L, 1L, 1646092800L);
+        given(this.seatLayoutCache.getLayout(1L)).willReturn(this.seatLayout);
+
+        //when
+        SeatMapDto seatMap = this.underTest.getSeatMap(1L);
+
+        //then
+        assertThat(seatMap.getAuditoriumId()).isEqualTo(1L);
+        assertThat(seatMap.getAvailableSeats()).isEqualTo(8);
+        verifyNoInteractions(this.screeningRepository);
+    }
+
+    @Test
+    @DisplayName("Get seat map without blocking - built on the caller when the layout is cached")
+    void givenScheduledScreeningAndCachedLayout_whenGetSeatMapAsync_thenCompleteOnCaller() {
+        //given
+        this.screeningSchedule.put(1L, 1L, 1L, 1646092800L);
+        given(this.seatLayoutCache.isCached(1L)).willReturn(true);
+        given(this.seatLayoutCache.getLayout(1L)).willReturn(this.seatLayout);
+
+        //when
+        CompletableFuture<SeatMapDto> seatMap = this.underTest.getSeatMapAsync(1L);
+
+        //then
+        assertThat(seatMap).isCompleted();
+        assertThat(seatMap.join().getAvailableSeats()).isEqualTo(8);
+        verify(this.screeningMailboxes, never()).submitBlocking(any());
+        verifyNoInteractions(this.screeningRepository);
+    }
+
+    @Test
+    @DisplayName("Get seat map without blocking - reads the database on the I/O pool")
+    void givenUnscheduledScreening_whenGetSeatMapAsync_thenSubmitBlocking() {
+        //given
+        given(this.screeningMailboxes.submitBlocking(any())).willAnswer(invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<SeatMapDto>>getArgument(0).get()));
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.seatLayoutCache.getLayout(1L)).willReturn(this.seatLayout);
+
+        //when
+        SeatMapDto seatMap = this.underTest.getSeatMapAsync(1L).join();
+
+        //then
+        assertThat(seatMap.getAuditoriumId()).isEqualTo(1L);
+        verify(this.screeningMailboxes).submitBlocking(any());
+    }
+
+    @Test
+    @DisplayName("Get seat map of missing screening")
+    void givenMissingScreening_whenGetSeatMap_thenThrowScreeningNotFoundException() {
+        //given
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.empty());
+
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.getSeatMap(1L))
+                .isInstanceOf(ScreeningNotFoundException.class);
+    }
+
+    private static SeatAuditoriumCK seatAuditoriumCKOf(String rowNumber, int seatNumber) {
+        return SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(SeatId.builder()
+                        .rowNumber(rowNumber)
+                        .seatNumber(seatNumber)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.booking.screening;
+
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapStreamTest {
+
+    private static final long SCREENING_ID = 1L;
+
+    @Mock
+    private SeatMapService seatMapService;
+
+    private SeatOccupancyIndex seatOccupancyIndex;
+    private SeatMapStream underTest;
+    private CountDownLatch stalled;
+
+    @BeforeEach
+    void setUp(){
+        this.seatOccupancyIndex = new SeatOccupancyIndex();
+        this.underTest = new SeatMapStream(this.seatMapService, this.seatOccupancyIndex, new ObjectMapper(),
+                60_000, 60_000, 2);
+        this.underTest.start();
+        this.stalled = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown(){
+        this.stalled.countDown();
+        this.underTest.stop();
+    }
+
+    @Test
+    @DisplayName("Seat map goes out before a delta flushed while it was read")
+    void givenDeltaFlushedDuringSubscribe_whenSubscribe_thenSendSeatMapFirst() throws Exception {
+        //given
+        given(this.seatMapService.getSeatMap(SCREENING_ID)).willAnswer(invocation -> {
+            this.seatOccupancyIndex.claim(SCREENING_ID, seat(1));
+            this.underTest.flush();
+            return SeatMapDto.builder().screeningId(SCREENING_ID).build();
+        });
+        RecordingEmitter emitter = new RecordingEmitter(null);
+
+        //when
+        this.underTest.subscribe(SCREENING_ID, emitter);
+
+        //then
+        assertThat(emitter.awaitEvents(2)).containsExactly(SeatMapStream.SEAT_MAP_EVENT, SeatMapStream.DELTA_EVENT);
+    }
+
+    @Test
+    @DisplayName("A stalled subscriber is dropped without holding up the others")
+    void givenStalledSubscriber_whenFlush_thenDropItAndKeepStreaming() throws Exception {
+        //given
+        given(this.seatMapService.getSeatMap(SCREENING_ID)).willReturn(SeatMapDto.builder().screeningId(SCREENING_ID).build());
+        RecordingEmitter stalledEmitter = new RecordingEmitter(this.stalled);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        this.underTest.subscribe(SCREENING_ID, stalledEmitter);
+        this.underTest.subscribe(SCREENING_ID, emitter);
+        emitter.awaitEvents(1);
+
+        //when
+        for(int seatNumber = 1; seatNumber <= 3; seatNumber++){
+            this.seatOccupancyIndex.claim(SCREENING_ID, seat(seatNumber));
+            this.underTest.flush();
+            emitter.awaitEvents(seatNumber + 1);
+        }
+
+        //then
+        assertThat(emitter.awaitEvents(4)).containsExactly(SeatMapStream.SEAT_MAP_EVENT,
+                SeatMapStream.DELTA_EVENT, SeatMapStream.DELTA_EVENT, SeatMapStream.DELTA_EVENT);
+        assertThat(this.underTest.getSubscriberCount(SCREENING_ID)).isEqualTo(1);
+        assertThat(stalledEmitter.events).isEmpty();
+    }
+
+    private static SeatAuditoriumCK seat(int seatNumber){
+        return SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(SeatId.builder()
+                        .rowNumber("A")
+                        .seatNumber(seatNumber)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Records the name of every event sent, optionally blocking each send like a client
+     * that stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch stalled;
+
+        private RecordingEmitter(CountDownLatch stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if(this.stalled != null){
+                try {
+                    this.stalled.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+
+            String text = builder.build().iterator().next().getData().toString();
+            this.events.add(text.substring("event:".length(), text.indexOf('\n')));
+        }
+
+        private List<String> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while(this.events.size() < count && System.nanoTime() < deadline)
+                Thread.sleep(10);
+            return this.events;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.booking.seat;
 
-import com.example.booking.config.AppConfig;
+import com.example.booking.etag.AggregateVersions;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,7 +28,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
-@WebMvcTest(controllers = {SeatController.class, AppConfig.class})
+@WebMvcTest(controllers = {SeatController.class})
 class SeatControllerTest {
 
     @Autowired
@@ -35,6 +37,9 @@ class SeatControllerTest {
     @MockBean
     private SeatService service;
 
+    @MockBean
+    private AggregateVersions aggregateVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,7 +60,8 @@ class SeatControllerTest {
     @DisplayName("Get seats")
     void given_whenGetSeats_thenReturnListOfSeats() throws Exception {
         //given
-        given(this.service.getSeats()).willReturn(List.of(this.seat));
+        given(this.service.getSeats(null, null)).willReturn(
+                KeysetPage.of(List.of(this.seat), KeysetPage.DEFAULT_LIMIT, seat -> Cursor.of(seat.getSeatId().getRowNumber(), seat.getSeatId().getSeatNumber())));
 
         //when
         ResultActions response =
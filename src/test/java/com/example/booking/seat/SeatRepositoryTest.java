@@ -1,8 +1,61 @@
 package com.example.booking.seat;
 
+import com.example.booking.pagination.KeysetPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 class SeatRepositoryTest {
 
-}
\ No newline at end of file
+    private final SeatRepository underTest;
+    private final TestEntityManager entityManager;
+
+    @Autowired
+    SeatRepositoryTest(SeatRepository underTest, TestEntityManager entityManager) {
+        this.underTest = underTest;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+        for(String rowNumber: List.of("A", "B"))
+            for(int seatNumber = 1; seatNumber <= 3; seatNumber++)
+                this.entityManager.persist(Seat.builder()
+                        .seatId(seatIdOf(rowNumber, seatNumber))
+                        .cost(new BigDecimal(10))
+                        .build());
+
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Pages of seats continue after the last key across rows")
+    void givenSeatsOfTwoRows_whenFindPageAfter_thenReturnSeatsAfterKeyInOrder() {
+
+        //when
+        List<Seat> page = this.underTest.findPageAfter("A", 2, KeysetPage.fetchOf(2));
+
+        //then
+        assertThat(page).extracting(Seat::getSeatId).containsExactly(
+                seatIdOf("A", 3),
+                seatIdOf("B", 1),
+                seatIdOf("B", 2));
+    }
+
+    private static SeatId seatIdOf(String rowNumber, int seatNumber) {
+        return SeatId.builder()
+                .rowNumber(rowNumber)
+                .seatNumber(seatNumber)
+                .build();
+    }
+}
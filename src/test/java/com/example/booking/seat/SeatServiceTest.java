@@ -1,7 +1,11 @@
 package com.example.booking.seat;
 
+import com.example.booking.cache.ReferenceCache;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.SeatNotFoundException;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +31,12 @@ class SeatServiceTest {
     @Mock
     private SeatRepository repository;
 
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private ReferenceCache referenceCache;
+
     @InjectMocks
     private SeatService underTest;
 
@@ -50,10 +60,10 @@ class SeatServiceTest {
                 .cost(new BigDecimal(10.10d))
                 .build();
 
-        given(this.repository.findAll()).willReturn(List.of(seat1, seat2));
+        given(this.repository.findFirstPage(KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT))).willReturn(List.of(seat1, seat2));
 
         //when
-        List<Seat> testSeats = this.underTest.getSeats();
+        List<Seat> testSeats = this.underTest.getSeats(null, null).getItems();
 
         //then
         assertThat(testSeats.size()).isEqualTo(2);
@@ -61,6 +71,32 @@ class SeatServiceTest {
         assertThat(testSeats.get(1)).isEqualTo(seat2);
     }
 
+    @Test
+    @DisplayName("Get seats page after composite cursor")
+    void givenCursorAndLimit_whenGetSeats_thenReturnPageAfterSeatIdWithNextCursor() {
+        //given
+        Seat seat1 = Seat.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber("A")
+                        .seatNumber(20)
+                        .build())
+                .build();
+        Seat seat2 = Seat.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber("B")
+                        .seatNumber(10)
+                        .build())
+                .build();
+        given(this.repository.findPageAfter("A", 10, KeysetPage.fetchOf(1))).willReturn(List.of(seat1, seat2));
+
+        //when
+        KeysetPage<Seat> testSeats = this.underTest.getSeats(Cursor.of("A", 10), 1);
+
+        //then
+        assertThat(testSeats.getItems()).containsExactly(seat1);
+        assertThat(testSeats.getNextCursor()).isEqualTo(Cursor.of("A", 20));
+    }
+
     @Test
     @DisplayName("Get seat by seatId")
     void givenSeatNumberRowId_whenGetSeat_thenReturnSeat() {
@@ -254,6 +290,7 @@ class SeatServiceTest {
 
         //then
         verify(this.repository, times(1)).deleteById(seatId);
+        verify(this.referenceCache).evictSeatAuditoriums();
     }
 
     @Test
@@ -1,9 +1,11 @@
 package com.example.booking.seatAuditorium;
 
 import com.example.booking.auditorium.Auditorium;
+import com.example.booking.etag.AggregateVersions;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.seat.Seat;
 import com.example.booking.seat.SeatId;
-import com.example.booking.config.AppConfig;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,7 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = {SeatAuditoriumController.class, AppConfig.class})
+@WebMvcTest(controllers = {SeatAuditoriumController.class})
 class SeatAuditoriumControllerTest {
 
     @Autowired
@@ -37,6 +39,9 @@ class SeatAuditoriumControllerTest {
     @MockBean
     private SeatAuditoriumService service;
 
+    @MockBean
+    private AggregateVersions aggregateVersions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -74,7 +79,9 @@ class SeatAuditoriumControllerTest {
     @DisplayName("Get SeatAuditorium")
     void given_whenGetSeatAuditoriums_thenReturnListOfSeatAuditoriumDto() throws Exception {
         //given
-        given(this.service.getSeatAuditoriumList()).willReturn(List.of(this.seatAuditorium));
+        given(this.service.getSeatAuditoriumList(null, null)).willReturn(
+                KeysetPage.of(List.of(this.seatAuditorium), KeysetPage.DEFAULT_LIMIT, seatAuditorium -> Cursor.of(seatAuditorium.getId().getAuditoriumId(),
+                        seatAuditorium.getId().getSeatId().getRowNumber(), seatAuditorium.getId().getSeatId().getSeatNumber())));
 
         //when
         ResultActions response =
@@ -1,8 +1,93 @@
 package com.example.booking.seatAuditorium;
 
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.pagination.KeysetPage;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 class SeatAuditoriumRepositoryTest {
 
-}
\ No newline at end of file
+    private final SeatAuditoriumRepository underTest;
+    private final TestEntityManager entityManager;
+    private final List<Long> auditoriumIds = new ArrayList<>();
+
+    @Autowired
+    SeatAuditoriumRepositoryTest(SeatAuditoriumRepository underTest, TestEntityManager entityManager) {
+        this.underTest = underTest;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Seat> seats = new ArrayList<>();
+        for(String rowNumber: List.of("A", "B"))
+            for(int seatNumber = 1; seatNumber <= 2; seatNumber++)
+                seats.add(this.entityManager.persist(Seat.builder()
+                        .seatId(SeatId.builder()
+                                .rowNumber(rowNumber)
+                                .seatNumber(seatNumber)
+                                .build())
+                        .cost(new BigDecimal(10))
+                        .build()));
+
+        for(int i = 0; i < 2; i++){
+            Auditorium auditorium = this.entityManager.persist(Auditorium.builder()
+                    .numberOfSeats(seats.size())
+                    .build());
+            this.auditoriumIds.add(auditorium.getAuditoriumId());
+            for(Seat seat: seats)
+                this.entityManager.persist(SeatAuditorium.builder()
+                        .id(SeatAuditoriumCK.builder()
+                                .auditoriumId(auditorium.getAuditoriumId())
+                                .seatId(seat.getSeatId())
+                                .build())
+                        .seat(seat)
+                        .auditorium(auditorium)
+                        .build());
+        }
+
+        this.entityManager.flush();
+        this.entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Pages of seats continue after the last key across rows and auditoriums")
+    void givenSeatsOfTwoAuditoriums_whenFindPageAfter_thenReturnSeatsAfterKeyInOrder() {
+
+        //given
+        long firstAuditoriumId = this.auditoriumIds.get(0);
+        long secondAuditoriumId = this.auditoriumIds.get(1);
+
+        //when
+        List<SeatAuditorium> page = this.underTest.findPageAfter(firstAuditoriumId, "A", 2, KeysetPage.fetchOf(2));
+
+        //then
+        assertThat(page).extracting(SeatAuditorium::getId).containsExactly(
+                seatAuditoriumCKOf(firstAuditoriumId, "B", 1),
+                seatAuditoriumCKOf(firstAuditoriumId, "B", 2),
+                seatAuditoriumCKOf(secondAuditoriumId, "A", 1));
+    }
+
+    private static SeatAuditoriumCK seatAuditoriumCKOf(long auditoriumId, String rowNumber, int seatNumber) {
+        return SeatAuditoriumCK.builder()
+                .auditoriumId(auditoriumId)
+                .seatId(SeatId.builder()
+                        .rowNumber(rowNumber)
+                        .seatNumber(seatNumber)
+                        .build())
+                .build();
+    }
+}
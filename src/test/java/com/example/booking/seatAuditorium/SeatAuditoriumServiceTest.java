@@ -2,8 +2,10 @@ package com.example.booking.seatAuditorium;
 
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.auditorium.AuditoriumRepository;
+import com.example.booking.etag.AggregateVersions;
 import com.example.booking.exception.BadRequestException;
 import com.example.booking.exception.SeatAuditoriumNotFoundException;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.seat.Seat;
 import com.example.booking.seat.SeatId;
 import com.example.booking.seat.SeatRepository;
@@ -38,6 +40,12 @@ class SeatAuditoriumServiceTest {
     @Mock
     private AuditoriumRepository auditoriumRepository;
 
+    @Mock
+    private SeatLayoutCache seatLayoutCache;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @InjectMocks
     private SeatAuditoriumService underTest;
 
@@ -75,10 +83,10 @@ class SeatAuditoriumServiceTest {
     @DisplayName("Get all seatAuditoriums")
     void given_whenGetSeatAuditoriumList_thenReturnListOfSeatAuditorium(){
         //given
-        given(this.seatAuditoriumRepository.findAll()).willReturn(List.of(this.seatAuditorium));
+        given(this.seatAuditoriumRepository.findFirstPage(KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT))).willReturn(List.of(this.seatAuditorium));
 
         //when
-        List<SeatAuditorium> testSeatAuditoriumList = this.underTest.getSeatAuditoriumList();
+        List<SeatAuditorium> testSeatAuditoriumList = this.underTest.getSeatAuditoriumList(null, null).getItems();
 
         //then
         assertThat(testSeatAuditoriumList.size()).isEqualTo(1);
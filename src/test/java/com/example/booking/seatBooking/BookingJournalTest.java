@@ -0,0 +1,248 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.account.Account;
+import com.example.booking.account.AccountRepository;
+import com.example.booking.screening.Screening;
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BookingJournalTest {
+
+    private static final int SIZE_BYTES = 4096;
+
+    @Mock
+    private SeatBookingRepository seatBookingRepository;
+
+    @Mock
+    private SeatAuditoriumRepository seatAuditoriumRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @TempDir
+    Path directory;
+
+    private final SeatOccupancyIndex seatOccupancyIndex = new SeatOccupancyIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingJournal underTest;
+
+    @BeforeEach
+    void setUp() {
+        // the writer is left idle so the tests drive every flush
+        this.underTest = new BookingJournal(this.seatBookingRepository, this.seatAuditoriumRepository,
+                this.accountRepository, this.screeningRepository, this.seatOccupancyIndex,
+                this.meterRegistry, true, this.directory.resolve("journal"), SIZE_BYTES, 60_000, 10);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException, InterruptedException {
+        this.underTest.stop();
+    }
+
+    @Test
+    @DisplayName("Bookings are refused until the journal has been recovered")
+    void givenNotRecovered_whenAppend_thenReturnFalse() throws IOException {
+        //given
+        this.underTest.start();
+
+        //when
+        //then
+        assertThat(this.underTest.append(1L, seatBookingDtoOf(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Journaled bookings are inserted in one batch with the ids they were acknowledged with")
+    @SuppressWarnings("unchecked")
+    void givenAppendedBookings_whenFlush_thenInsertAllOnce() throws IOException {
+        //given
+        this.underTest.start();
+        this.underTest.recover();
+        givenReferences();
+        given(this.seatBookingRepository.insertAllIfSeatFree(any())).willReturn(new boolean[]{true, true});
+        assertThat(this.underTest.append(1L, seatBookingDtoOf(1))).isTrue();
+        assertThat(this.underTest.append(2L, seatBookingDtoOf(2))).isTrue();
+
+        //when
+        int written = this.underTest.flush(false);
+
+        //then
+        ArgumentCaptor<List<SeatBooking>> captor = ArgumentCaptor.forClass(List.class);
+        verify(this.seatBookingRepository).insertAllIfSeatFree(captor.capture());
+        assertThat(written).isEqualTo(2);
+        assertThat(captor.getValue()).extracting(SeatBooking::getSeatBookingId).containsExactly(1L, 2L);
+        assertThat(captor.getValue()).extracting(SeatBooking::getBookedTime).containsExactly(1L, 2L);
+        assertThat(this.underTest.getLostBookings()).isZero();
+        assertThat(this.underTest.flush(false)).isZero();
+    }
+
+    @Test
+    @DisplayName("A journaled booking whose seat another booking took is counted as lost and keeps the seat claimed")
+    void givenSeatTakenByAnotherBooking_whenFlush_thenCountLostBookingWithoutRelease() throws IOException {
+        //given
+        this.underTest.start();
+        this.underTest.recover();
+        givenReferences();
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf(1));
+        assertThat(this.underTest.append(1L, seatBookingDtoOf(1))).isTrue();
+        given(this.seatBookingRepository.insertAllIfSeatFree(any())).willReturn(new boolean[]{false});
+        given(this.seatBookingRepository.isSeatBookedBy(1L, 1L, "Å", 1, 1L, 1L)).willReturn(false);
+
+        //when
+        this.underTest.flush(false);
+
+        //then
+        assertThat(this.underTest.getLostBookings()).isEqualTo(1);
+        assertThat(this.meterRegistry.get(BookingJournal.LOST_COUNTER).functionCounter().count()).isEqualTo(1.0);
+        assertThat(this.seatOccupancyIndex.isFree(1L, seatAuditoriumCKOf(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("A journaled booking that cannot be written is counted as lost and frees its seat")
+    void givenUnwritableBooking_whenFlush_thenCountLostBookingAndRelease() throws IOException {
+        //given
+        this.underTest.start();
+        this.underTest.recover();
+        givenReferences();
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf(1));
+        this.seatOccupancyIndex.claim(1L, seatAuditoriumCKOf(2));
+        assertThat(this.underTest.append(1L, seatBookingDtoOf(1))).isTrue();
+        assertThat(this.underTest.append(2L, seatBookingDtoOf(2))).isTrue();
+        given(this.seatBookingRepository.insertAllIfSeatFree(any())).willThrow(new DataIntegrityViolationException("fk"));
+        given(this.seatBookingRepository.insertIfSeatFree(any())).willAnswer(invocation -> {
+            if(invocation.<SeatBooking>getArgument(0).getBookedTime() == 1L)
+                throw new DataIntegrityViolationException("fk");
+            return Optional.of(2L);
+        });
+        given(this.seatBookingRepository.isSeatBookedBy(1L, 1L, "Å", 1, 1L, 1L)).willReturn(false);
+
+        //when
+        int written = this.underTest.flush(false);
+
+        //then
+        assertThat(written).isEqualTo(2);
+        assertThat(this.underTest.getLostBookings()).isEqualTo(1);
+        assertThat(this.seatOccupancyIndex.isFree(1L, seatAuditoriumCKOf(1))).isTrue();
+        assertThat(this.seatOccupancyIndex.isFree(1L, seatAuditoriumCKOf(2))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Replay skips bookings that were written before the crash")
+    void givenJournalLeftByCrash_whenRecover_thenInsertOnlyUnwrittenBookings() throws IOException {
+        //given
+        givenJournal(seatBookingDtoOf(1), seatBookingDtoOf(2));
+        givenReferences();
+        given(this.seatBookingRepository.insertIfSeatFree(any())).willAnswer(invocation ->
+                invocation.<SeatBooking>getArgument(0).getBookedTime() == 1L ? Optional.empty() : Optional.of(2L));
+        given(this.seatBookingRepository.isSeatBookedBy(1L, 1L, "Å", 1, 1L, 1L)).willReturn(true);
+        this.underTest.start();
+
+        //when
+        this.underTest.recover();
+
+        //then
+        verify(this.seatBookingRepository, times(2)).insertIfSeatFree(any());
+        assertThat(this.underTest.getLostBookings()).isZero();
+        assertThat(this.seatOccupancyIndex.isFree(1L, seatAuditoriumCKOf(2))).isFalse();
+        assertThat(this.underTest.flush(true)).isZero();
+        verify(this.seatBookingRepository, never()).insertAllIfSeatFree(any());
+    }
+
+    @Test
+    @DisplayName("Replay reports a booking whose seat was taken by another booking before the replay")
+    void givenSeatTakenBeforeReplay_whenRecover_thenReportLostBooking() throws IOException {
+        //given
+        givenJournal(seatBookingDtoOf(1));
+        givenReferences();
+        given(this.seatBookingRepository.insertIfSeatFree(any())).willReturn(Optional.empty());
+        given(this.seatBookingRepository.isSeatBookedBy(1L, 1L, "Å", 1, 1L, 1L)).willReturn(false);
+        this.underTest.start();
+
+        //when
+        this.underTest.recover();
+
+        //then
+        assertThat(this.underTest.getLostBookings()).isEqualTo(1);
+        assertThat(this.seatOccupancyIndex.isFree(1L, seatAuditoriumCKOf(1))).isFalse();
+        assertThat(this.underTest.flush(true)).isZero();
+    }
+
+    @Test
+    @DisplayName("Bookings round trip through the journal encoding")
+    void givenSeatBookingDto_whenEncodeAndDecode_thenReturnEqualDto() {
+        //given
+        SeatBookingDto seatBookingDto = seatBookingDtoOf(7);
+
+        //when
+        //then
+        assertThat(BookingJournal.decode(BookingJournal.encode(7L, seatBookingDto))).isEqualTo(seatBookingDto);
+    }
+
+    private void givenJournal(SeatBookingDto... seatBookingDtos) throws IOException {
+        try(JournalFile journalFile = JournalFile.open(this.directory.resolve("journal"), SIZE_BYTES)){
+            int position = 0;
+            for(SeatBookingDto seatBookingDto: seatBookingDtos)
+                position = journalFile.append(BookingJournal.encode(seatBookingDto.getSeatBookingId(), seatBookingDto));
+            journalFile.sync(position);
+        }
+    }
+
+    private void givenReferences() {
+        given(this.accountRepository.getById(1L)).willReturn(Account.builder().accountId(1L).build());
+        given(this.screeningRepository.getById(1L)).willReturn(Screening.builder().screeningId(1L).build());
+        given(this.seatAuditoriumRepository.getById(any())).willAnswer(invocation -> SeatAuditorium.builder()
+                .id(invocation.getArgument(0))
+                .build());
+    }
+
+    private static SeatBookingDto seatBookingDtoOf(int seatNumber) {
+        return SeatBookingDto.builder()
+                .seatBookingId((long) seatNumber)
+                .bookedTime((long) seatNumber)
+                .accountId(1L)
+                .screeningId(1L)
+                .auditoriumId(1L)
+                .rowNumber("Å")
+                .seatNumber(seatNumber)
+                .build();
+    }
+
+    private static SeatAuditoriumCK seatAuditoriumCKOf(int seatNumber) {
+        return SeatAuditoriumCK.builder()
+                .seatId(SeatId.builder()
+                        .rowNumber("Å")
+                        .seatNumber(seatNumber)
+                        .build())
+                .auditoriumId(1L)
+                .build();
+    }
+}
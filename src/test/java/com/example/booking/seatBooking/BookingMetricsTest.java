@@ -0,0 +1,43 @@
+package com.example.booking.seatBooking;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookingMetrics underTest = new BookingMetrics(this.meterRegistry);
+
+    @Test
+    @DisplayName("Each stage is timed from the end of the one before it")
+    void givenConsecutiveStages_whenRecord_thenTimeEachStageSeparately() {
+        //given
+        long start = this.underTest.start();
+
+        //when
+        long validated = this.underTest.record(BookingMetrics.Stage.VALIDATE, start);
+        long inserted = this.underTest.record(BookingMetrics.Stage.INSERT, validated);
+
+        //then
+        Timer validate = this.meterRegistry.get(BookingMetrics.STAGE_TIMER).tag("stage", "validate").timer();
+        Timer insert = this.meterRegistry.get(BookingMetrics.STAGE_TIMER).tag("stage", "insert").timer();
+        assertThat(validate.count()).isEqualTo(1);
+        assertThat(insert.count()).isEqualTo(1);
+        assertThat(validate.totalTime(TimeUnit.NANOSECONDS) + insert.totalTime(TimeUnit.NANOSECONDS))
+                .isEqualTo(inserted - start);
+    }
+
+    @Test
+    @DisplayName("Every stage is registered up front")
+    void given_whenCreate_thenRegisterTimerPerStage() {
+        //then
+        assertThat(this.meterRegistry.get(BookingMetrics.STAGE_TIMER).timers())
+                .hasSize(BookingMetrics.Stage.values().length);
+    }
+}
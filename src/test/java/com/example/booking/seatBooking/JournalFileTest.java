@@ -0,0 +1,132 @@
+package com.example.booking.seatBooking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalFileTest {
+
+    private static final int SIZE_BYTES = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Synced records are read back after the file is reopened")
+    void givenSyncedRecords_whenReopen_thenReadRecordsPastCheckpoint() throws IOException {
+        //given
+        Path path = this.directory.resolve("journal");
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            int first = journalFile.append(payloadOf(1L));
+            int second = journalFile.append(payloadOf(2L));
+            journalFile.sync(second);
+            journalFile.checkpoint(first);
+        }
+
+        //when
+        List<JournalFile.Record> records;
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            records = journalFile.read(10);
+
+            //then
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).getPayload().getLong()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    @DisplayName("Only synced records are handed to the writer")
+    void givenUnsyncedRecord_whenRead_thenSkipRecord() throws IOException {
+        try(JournalFile journalFile = JournalFile.open(this.directory.resolve("journal"), SIZE_BYTES)){
+            //given
+            journalFile.sync(journalFile.append(payloadOf(1L)));
+            journalFile.append(payloadOf(2L));
+
+            //when
+            List<JournalFile.Record> records = journalFile.read(10);
+
+            //then
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).getPayload().getLong()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("A torn record ends the journal on reopen")
+    void givenCorruptRecord_whenReopen_thenStopBeforeRecord() throws IOException {
+        //given
+        Path path = this.directory.resolve("journal");
+        int first;
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            first = journalFile.append(payloadOf(1L));
+            journalFile.sync(journalFile.append(payloadOf(2L)));
+        }
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE_BYTES);
+            buffer.put(first + JournalFile.RECORD_OVERHEAD, (byte) 0x7f);
+            buffer.force();
+        }
+
+        //when
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            List<JournalFile.Record> records = journalFile.read(10);
+
+            //then
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).getPayload().getLong()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("A drained journal starts over without replaying old records")
+    void givenDrainedJournal_whenReopen_thenReadNothing() throws IOException {
+        //given
+        Path path = this.directory.resolve("journal");
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            journalFile.append(payloadOf(1L));
+            int end = journalFile.append(payloadOf(2L));
+            journalFile.sync(end);
+            journalFile.checkpoint(end);
+            journalFile.sync(journalFile.append(payloadOf(3L)));
+        }
+
+        //when
+        try(JournalFile journalFile = JournalFile.open(path, SIZE_BYTES)){
+            List<JournalFile.Record> records = journalFile.read(10);
+
+            //then
+            assertThat(records).hasSize(1);
+            assertThat(records.get(0).getPayload().getLong()).isEqualTo(3L);
+            assertThat(records.get(0).getEnd()).isEqualTo(JournalFile.HEADER_SIZE + JournalFile.RECORD_OVERHEAD + Long.BYTES);
+        }
+    }
+
+    @Test
+    @DisplayName("Appends are refused once the journal is full")
+    void givenFullJournal_whenAppend_thenReturnMinusOne() throws IOException {
+        try(JournalFile journalFile = JournalFile.open(this.directory.resolve("journal"), SIZE_BYTES)){
+            //given
+            int records = (SIZE_BYTES - JournalFile.HEADER_SIZE) / (JournalFile.RECORD_OVERHEAD + Long.BYTES);
+            for(int i = 0; i < records; i++)
+                assertThat(journalFile.append(payloadOf(i))).isPositive();
+
+            //when
+            //then
+            assertThat(journalFile.append(payloadOf(records))).isEqualTo(-1);
+        }
+    }
+
+    private static ByteBuffer payloadOf(long value){
+        return ByteBuffer.allocate(Long.BYTES).putLong(0, value);
+    }
+}
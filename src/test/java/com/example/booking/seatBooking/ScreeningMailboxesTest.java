@@ -0,0 +1,140 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScreeningMailboxesTest {
+
+    private final ScreeningMailboxes underTest = new ScreeningMailboxes(4, 100, 4);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        this.underTest.stop();
+    }
+
+    @Test
+    @DisplayName("Writes for one screening run one at a time on the same thread")
+    void givenConcurrentWrites_whenCallForSameScreening_thenSerializeOnOneThread() throws Exception {
+        //given
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        //when
+        List<Future<?>> calls = new ArrayList<>();
+        for(int i = 0; i < 8; i++)
+            calls.add(callers.submit(() -> {
+                start.await();
+                for(int j = 0; j < 50; j++)
+                    this.underTest.run(7L, () -> {
+                        if(running.incrementAndGet() > 1)
+                            overlaps.incrementAndGet();
+                        threads.add(Thread.currentThread().getName());
+                        running.decrementAndGet();
+                    });
+                return null;
+            }));
+        start.countDown();
+        for(Future<?> call: calls)
+            call.get(10, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        //then
+        assertThat(overlaps.get()).isZero();
+        assertThat(threads).containsExactly("screening-mailbox-" + this.underTest.stripeOf(7L));
+    }
+
+    @Test
+    @DisplayName("Exceptions are rethrown to the caller")
+    void givenFailingWrite_whenCall_thenRethrowException() {
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.call(1L, () -> {
+            throw new BadRequestException("Missing or invalid seat number");
+        }))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Missing or invalid seat number");
+    }
+
+    @Test
+    @DisplayName("A write for the same screening from inside the mailbox runs inline")
+    void givenNestedWrite_whenCallForSameScreening_thenRunWithoutDeadlock() {
+        //when
+        String result = this.underTest.call(3L, () -> this.underTest.call(3L, () -> Thread.currentThread().getName()));
+
+        //then
+        assertThat(result).isEqualTo("screening-mailbox-" + this.underTest.stripeOf(3L));
+    }
+
+    @Test
+    @DisplayName("A missing screening id runs on the caller")
+    void givenNullScreeningId_whenCall_thenRunOnCaller() {
+        //when
+        String result = this.underTest.call(null, () -> Thread.currentThread().getName());
+
+        //then
+        assertThat(result).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("A full mailbox turns the write away with a 503")
+    void givenFullMailbox_whenSubmit_thenFailWithServiceUnavailable() throws Exception {
+        //given
+        ScreeningMailboxes mailboxes = new ScreeningMailboxes(1, 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Object> blocking = mailboxes.submit(1L, () -> {
+                running.countDown();
+                awaitQuietly(release);
+                return null;
+            });
+            running.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> queued = mailboxes.submit(1L, () -> "queued");
+
+            //when
+            CompletableFuture<String> rejected = mailboxes.submit(1L, () -> "rejected");
+
+            //then
+            assertThatThrownBy(rejected::join)
+                    .hasCauseInstanceOf(ServiceUnavailableException.class)
+                    .hasMessageContaining("Too many pending bookings for screening Id of 1");
+            release.countDown();
+            blocking.get(5, TimeUnit.SECONDS);
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+        }
+        finally {
+            release.countDown();
+            mailboxes.stop();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch){
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
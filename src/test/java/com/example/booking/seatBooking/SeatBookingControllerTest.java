@@ -3,12 +3,15 @@ package com.example.booking.seatBooking;
 import com.example.booking.account.Account;
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.movie.Movie;
+import com.example.booking.pagination.Cursor;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.screening.Screening;
 import com.example.booking.seat.Seat;
 import com.example.booking.seat.SeatId;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import com.example.booking.seatAuditorium.SeatAuditoriumCK;
-import com.example.booking.config.AppConfig;
+import com.example.booking.idempotency.IdempotencyStore;
+import com.example.booking.idempotency.IdempotentResponseRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +20,8 @@ import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -26,16 +31,19 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.times;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(controllers = {SeatBookingController.class, AppConfig.class})
+@WebMvcTest(controllers = {SeatBookingController.class, IdempotencyStore.class})
 class SeatBookingControllerTest {
 
     @Autowired
@@ -44,6 +52,15 @@ class SeatBookingControllerTest {
     @MockBean
     private SeatBookingService service;
 
+    @MockBean
+    private SeatBookingExportService seatBookingExportService;
+
+    @MockBean
+    private BookingMetrics bookingMetrics;
+
+    @MockBean
+    private IdempotentResponseRepository idempotentResponseRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,6 +71,7 @@ class SeatBookingControllerTest {
     private SeatAuditorium seatAuditorium;
     private Screening screening;
     private Account account;
+    private SeatBookingRow seatBookingRow;
 
     @BeforeEach
     void setUp(){
@@ -105,13 +123,17 @@ class SeatBookingControllerTest {
                 .screening(this.screening)
                 .account(this.account)
                 .build();
+
+        this.seatBookingRow = new SpelAwareProxyProjectionFactory().createProjection(SeatBookingRow.class,
+                SeatBookingMapper.toDto(this.seatBooking));
     }
 
     @Test
     @DisplayName("Get seatbooking")
     void given_whenGetSeatBookings_thenReturnListOfSeatBookingDto() throws Exception {
         //given
-        given(this.service.getSeatBookings()).willReturn(List.of(this.seatBooking));
+        given(this.service.getSeatBookings(null, null)).willReturn(
+                KeysetPage.of(List.of(this.seatBookingRow), KeysetPage.DEFAULT_LIMIT, seatBooking -> Cursor.of(seatBooking.getSeatBookingId())));
 
         //when
         ResultActions response =
@@ -130,7 +152,7 @@ class SeatBookingControllerTest {
         //given
         long bookingId = 1L;
 
-        given(this.service.getSeatBooking(bookingId)).willReturn(this.seatBooking);
+        given(this.service.getSeatBooking(bookingId)).willReturn(this.seatBookingRow);
 
         //when
         ResultActions response =
@@ -190,6 +212,139 @@ class SeatBookingControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Post SeatBooking - retry with the same idempotency key is replayed")
+    void givenIdempotencyKey_whenAddSeatBookingTwice_thenReplayFirstResponse() throws Exception {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .bookedTime(this.seatBooking.getBookedTime())
+                .seatNumber(1)
+                .rowNumber("A")
+                .screeningId(1L)
+                .build();
+        given(this.service.addSeatBooking(ArgumentMatchers.any(SeatBookingDto.class))).willReturn(this.seatBooking);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, "7f8e4a0c")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)));
+        ResultActions retry =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, "7f8e4a0c")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+        retry.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.seatBookingId", is(this.seatBooking.getSeatBookingId()), Long.class));
+        then(this.service).should(times(1)).addSeatBooking(ArgumentMatchers.any(SeatBookingDto.class));
+    }
+
+    @Test
+    @DisplayName("Post SeatBooking - idempotency key reused for another booking is rejected")
+    void givenIdempotencyKeyOfOtherBooking_whenAddSeatBooking_thenBadRequest() throws Exception {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .bookedTime(this.seatBooking.getBookedTime())
+                .seatNumber(1)
+                .rowNumber("A")
+                .screeningId(1L)
+                .build();
+        given(this.service.addSeatBooking(ArgumentMatchers.any(SeatBookingDto.class))).willReturn(this.seatBooking);
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                .header(IdempotencyStore.HEADER, "c41d9b27")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seatBookingDto)));
+        seatBookingDto.setSeatNumber(2);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, "c41d9b27")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingDto)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Post SeatBooking - retry while the first attempt runs gets 409 with Retry-After")
+    void givenIdempotencyKeyInProgress_whenAddSeatBooking_thenConflictWithRetryAfter() throws Exception {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .bookedTime(this.seatBooking.getBookedTime())
+                .seatNumber(1)
+                .rowNumber("A")
+                .screeningId(1L)
+                .build();
+        String content = objectMapper.writeValueAsString(seatBookingDto);
+        List<ResultActions> retries = new ArrayList<>();
+        given(this.service.addSeatBooking(ArgumentMatchers.any(SeatBookingDto.class))).willAnswer(invocation -> {
+            retries.add(this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                    .header(IdempotencyStore.HEADER, "5b0e11d3")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(content)));
+            return this.seatBooking;
+        });
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking")
+                        .header(IdempotencyStore.HEADER, "5b0e11d3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated());
+        retries.get(0).andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"));
+        then(this.service).should(times(1)).addSeatBooking(ArgumentMatchers.any(SeatBookingDto.class));
+    }
+
+    @Test
+    @DisplayName("Post SeatBooking batch")
+    void givenSeatBookingBatchDto_whenAddSeatBookings_thenReturnListOfSeatBookingDto() throws Exception {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .accountId(1L)
+                .auditoriumId(1L)
+                .bookedTime(bookedTime)
+                .screeningId(1L)
+                .seats(List.of(this.seatId))
+                .build();
+
+        given(this.service.addSeatBookings(ArgumentMatchers.any(SeatBookingBatchDto.class)))
+                .willReturn(List.of(this.seatBooking));
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/seatbooking/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(seatBookingBatchDto)));
+
+        //then
+        response.andExpect(MockMvcResultMatchers.status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].seatBookingId", is(this.seatBooking.getSeatBookingId()), Long.class))
+                .andExpect(jsonPath("$[0].rowNumber", is(this.seatId.getRowNumber())))
+                .andExpect(jsonPath("$[0].seatNumber", is(this.seatId.getSeatNumber())));
+
+    }
+
     @Test
     @DisplayName("Delete seatbooking by Id")
     void givenBookingId_whenDeleteSeatBooking_thenReturnNoContent() throws Exception {
@@ -1,8 +1,279 @@
 package com.example.booking.seatBooking;
 
+import com.example.booking.account.Account;
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.movie.Movie;
+import com.example.booking.pagination.KeysetPage;
+import com.example.booking.screening.Screening;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 
-@DataJpaTest
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class SeatBookingRepositoryTest {
 
-}
\ No newline at end of file
+    private final SeatBookingRepository underTest;
+    private final TestEntityManager entityManager;
+    private final List<SeatBooking> seatBookings = new ArrayList<>();
+    private Statistics statistics;
+
+    @Autowired
+    SeatBookingRepositoryTest(SeatBookingRepository underTest, TestEntityManager entityManager) {
+        this.underTest = underTest;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void setUp() {
+
+        Auditorium auditorium = this.entityManager.persist(Auditorium.builder()
+                .numberOfSeats(3)
+                .build());
+
+        Movie movie = this.entityManager.persist(Movie.builder()
+                .title("The batman")
+                .duration(60 + 60 + 52)
+                .startDate(LocalDate.of(2022, Month.MARCH, 02))
+                .endDate(LocalDate.of(2022, Month.MAY, 10))
+                .build());
+
+        Screening screening = this.entityManager.persist(Screening.builder()
+                .movie(movie)
+                .auditorium(auditorium)
+                .showTime(1646092800L)
+                .build());
+
+        Account account = this.entityManager.persist(Account.builder()
+                .name("tester")
+                .email("test@gmail.com")
+                .build());
+
+        for(int seatNumber = 10; seatNumber <= 30; seatNumber += 10){
+            Seat seat = this.entityManager.persist(Seat.builder()
+                    .seatId(SeatId.builder()
+                            .rowNumber("A")
+                            .seatNumber(seatNumber)
+                            .build())
+                    .cost(new BigDecimal(10))
+                    .build());
+
+            SeatAuditorium seatAuditorium = this.entityManager.persist(SeatAuditorium.builder()
+                    .id(SeatAuditoriumCK.builder()
+                            .auditoriumId(auditorium.getAuditoriumId())
+                            .seatId(seat.getSeatId())
+                            .build())
+                    .seat(seat)
+                    .auditorium(auditorium)
+                    .build());
+
+            this.seatBookings.add(this.entityManager.persist(SeatBooking.builder()
+                    .bookedTime(1646000000L + seatNumber)
+                    .seatAuditorium(seatAuditorium)
+                    .screening(screening)
+                    .account(account)
+                    .build()));
+        }
+
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        this.statistics = this.entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        this.statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Each page of seat bookings is read with one statement")
+    void givenSeatBookings_whenFindRowsAfter_thenExecuteOneStatementPerPage() {
+
+        //when
+        List<SeatBookingRow> firstPage = this.underTest.findRowsAfter(0L, KeysetPage.fetchOf(1));
+        List<SeatBookingDto> firstPageDtos = toDtos(firstPage);
+
+        //then
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(firstPageDtos).hasSize(2);
+
+        //when
+        this.statistics.clear();
+        List<SeatBookingRow> secondPage = this.underTest.findRowsAfter(firstPage.get(1).getSeatBookingId(),
+                KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT));
+        List<SeatBookingDto> secondPageDtos = toDtos(secondPage);
+
+        //then
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+        assertThat(secondPageDtos).hasSize(1);
+        assertThat(secondPageDtos.get(0)).isEqualTo(SeatBookingMapper.toDto(this.seatBookings.get(2)));
+    }
+
+    @Test
+    @DisplayName("A seat booking is read with one statement")
+    void givenSeatBookingId_whenFindRowById_thenExecuteOneStatement() {
+
+        //given
+        SeatBooking seatBooking = this.seatBookings.get(0);
+
+        //when
+        SeatBookingDto seatBookingDto = SeatBookingMapper.toDto(
+                this.underTest.findRowById(seatBooking.getSeatBookingId()).orElseThrow());
+
+        //then
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(this.statistics.getEntityLoadCount()).isZero();
+        assertThat(seatBookingDto).isEqualTo(SeatBookingMapper.toDto(seatBooking));
+    }
+
+    @Test
+    @DisplayName("A booking of a free seat is inserted with one statement")
+    void givenFreeSeat_whenInsertIfSeatFree_thenInsertWithOneStatement() {
+
+        //given
+        SeatBooking taken = this.seatBookings.get(0);
+        Screening screening = this.entityManager.persistFlushFind(Screening.builder()
+                .movie(taken.getScreening().getMovie())
+                .auditorium(taken.getScreening().getAuditorium())
+                .showTime(1646179200L)
+                .build());
+        this.statistics.clear();
+
+        //when
+        Optional<Long> seatBookingId = this.underTest.insertIfSeatFree(SeatBooking.builder()
+                .bookedTime(1646100000L)
+                .seatAuditorium(taken.getSeatAuditorium())
+                .screening(screening)
+                .account(taken.getAccount())
+                .build());
+
+        //then
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(seatBookingId).isPresent();
+        SeatBookingRow row = this.underTest.findRowById(seatBookingId.get()).orElseThrow();
+        assertThat(row.getScreeningId()).isEqualTo(screening.getScreeningId());
+        assertThat(row.getSeatNumber()).isEqualTo(taken.getSeatAuditorium().getId().getSeatId().getSeatNumber());
+    }
+
+    @Test
+    @DisplayName("A booking of a taken seat is not inserted")
+    void givenTakenSeat_whenInsertIfSeatFree_thenReturnEmpty() {
+
+        //given
+        SeatBooking taken = this.seatBookings.get(0);
+
+        //when
+        Optional<Long> seatBookingId = this.underTest.insertIfSeatFree(SeatBooking.builder()
+                .bookedTime(1646100000L)
+                .seatAuditorium(taken.getSeatAuditorium())
+                .screening(taken.getScreening())
+                .account(taken.getAccount())
+                .build());
+
+        //then
+        assertThat(this.statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(seatBookingId).isEmpty();
+        assertThat(this.underTest.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A batch inserts the bookings of free seats with their drawn ids and skips taken seats")
+    void givenFreeAndTakenSeats_whenInsertAllIfSeatFree_thenInsertOnlyFreeSeats() {
+
+        //given
+        SeatBooking taken = this.seatBookings.get(0);
+        Screening screening = this.entityManager.persistFlushFind(Screening.builder()
+                .movie(taken.getScreening().getMovie())
+                .auditorium(taken.getScreening().getAuditorium())
+                .showTime(1646179200L)
+                .build());
+        long freeId = this.underTest.nextSeatBookingId();
+        long takenId = this.underTest.nextSeatBookingId();
+
+        //when
+        boolean[] inserted = this.underTest.insertAllIfSeatFree(List.of(
+                SeatBooking.builder()
+                        .seatBookingId(freeId)
+                        .bookedTime(1646100000L)
+                        .seatAuditorium(taken.getSeatAuditorium())
+                        .screening(screening)
+                        .account(taken.getAccount())
+                        .build(),
+                SeatBooking.builder()
+                        .seatBookingId(takenId)
+                        .bookedTime(1646100000L)
+                        .seatAuditorium(taken.getSeatAuditorium())
+                        .screening(taken.getScreening())
+                        .account(taken.getAccount())
+                        .build()));
+
+        //then
+        assertThat(inserted).containsExactly(true, false);
+        assertThat(takenId).isNotEqualTo(freeId);
+        assertThat(this.underTest.findRowById(freeId)).get()
+                .extracting(SeatBookingRow::getScreeningId).isEqualTo(screening.getScreeningId());
+        assertThat(this.underTest.findRowById(takenId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("A seat is booked by the booking that holds it and not by any other")
+    void givenTakenSeat_whenIsSeatBookedBy_thenMatchOnlyItsBooking() {
+
+        //given
+        SeatBooking taken = this.seatBookings.get(0);
+        SeatAuditoriumCK seat = taken.getSeatAuditorium().getId();
+        long screeningId = taken.getScreening().getScreeningId();
+        long accountId = taken.getAccount().getAccountId();
+
+        //when
+        //then
+        assertThat(this.underTest.isSeatBookedBy(screeningId, seat.getAuditoriumId(), seat.getSeatId().getRowNumber(),
+                seat.getSeatId().getSeatNumber(), accountId, taken.getBookedTime())).isTrue();
+        assertThat(this.underTest.isSeatBookedBy(screeningId, seat.getAuditoriumId(), seat.getSeatId().getRowNumber(),
+                seat.getSeatId().getSeatNumber(), accountId, taken.getBookedTime() + 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("The schema turns away a second booking of a seat")
+    void givenTakenSeat_whenSaveAndFlush_thenThrowDataIntegrityViolation() {
+
+        //given
+        SeatBooking taken = this.seatBookings.get(0);
+
+        //when
+        //then
+        assertThatThrownBy(() -> this.underTest.saveAndFlush(SeatBooking.builder()
+                .bookedTime(1646100000L)
+                .seatAuditorium(taken.getSeatAuditorium())
+                .screening(taken.getScreening())
+                .account(taken.getAccount())
+                .build()))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(SeatBooking.SEAT_CONSTRAINT.toUpperCase());
+    }
+
+    private List<SeatBookingDto> toDtos(List<SeatBookingRow> rows) {
+        List<SeatBookingDto> seatBookingDtos = new ArrayList<>();
+        for(SeatBookingRow row: rows)
+            seatBookingDtos.add(SeatBookingMapper.toDto(row));
+        return seatBookingDtos;
+    }
+}
@@ -4,8 +4,10 @@ import com.example.booking.account.Account;
 import com.example.booking.account.AccountRepository;
 import com.example.booking.auditorium.Auditorium;
 import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.SeatAlreadyBookedException;
 import com.example.booking.exception.SeatBookingNotFoundException;
 import com.example.booking.movie.Movie;
+import com.example.booking.pagination.KeysetPage;
 import com.example.booking.screening.Screening;
 import com.example.booking.screening.ScreeningRepository;
 import com.example.booking.seat.Seat;
@@ -13,6 +15,7 @@ import com.example.booking.seat.SeatId;
 import com.example.booking.seatAuditorium.SeatAuditorium;
 import com.example.booking.seatAuditorium.SeatAuditoriumCK;
 import com.example.booking.seatAuditorium.SeatAuditoriumRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,17 +23,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -49,6 +66,18 @@ class SeatBookingServiceTest {
     @Mock
     private SeatBookingRepository seatBookingRepository;
 
+    @Spy
+    private SeatOccupancyIndex seatOccupancyIndex = new SeatOccupancyIndex();
+
+    @Mock
+    private BookingJournal bookingJournal;
+
+    @Spy
+    private ScreeningMailboxes screeningMailboxes = new ScreeningMailboxes(2, 100, 4);
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private SeatBookingService underTest;
 
@@ -59,6 +88,7 @@ class SeatBookingServiceTest {
     private SeatAuditorium seatAuditorium;
     private Screening screening;
     private Account account;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
     @BeforeEach
     void setUp(){
@@ -110,18 +140,49 @@ class SeatBookingServiceTest {
                 .build();
     }
 
+    @Test
+    @DisplayName("load seat occupancy - keeps seats claimed before the load")
+    void givenClaimedSeat_whenLoadSeatOccupancy_thenKeepClaimAndAddBookedSeats() {
+        //given
+        SeatAuditoriumCK claimedSeat = SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(SeatId.builder()
+                        .rowNumber("B")
+                        .seatNumber(2)
+                        .build())
+                .build();
+        this.seatOccupancyIndex.claim(1L, claimedSeat);
+        BookedSeat bookedSeat = this.projectionFactory.createProjection(BookedSeat.class, Map.of(
+                "screeningId", 1L,
+                "auditoriumId", 1L,
+                "rowNumber", "A",
+                "seatNumber", 1));
+        given(this.seatBookingRepository.findAllBookedSeats()).willReturn(List.of(bookedSeat));
+
+        //when
+        this.underTest.loadSeatOccupancy();
+
+        //then
+        assertThat(this.seatOccupancyIndex.isFree(1L, claimedSeat)).isFalse();
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isFalse();
+        verify(this.bookingJournal).recover();
+    }
+
     @Test
     @DisplayName("get list of seat booking")
     void given_whenGetSeatBookings_thenReturnListOfSeatBooking() {
 
         //given
-        given(this.seatBookingRepository.findAll()).willReturn(List.of(this.seatBooking));
+        SeatBookingRow seatBookingRow = this.projectionFactory.createProjection(SeatBookingRow.class,
+                SeatBookingMapper.toDto(this.seatBooking));
+        given(this.seatBookingRepository.findRowsAfter(0L, KeysetPage.fetchOf(KeysetPage.DEFAULT_LIMIT)))
+                .willReturn(List.of(seatBookingRow));
         //when
-        List<SeatBooking> testSeatBooking = this.underTest.getSeatBookings();
+        List<SeatBookingRow> testSeatBooking = this.underTest.getSeatBookings(null, null).getItems();
 
         //then
         assertThat(testSeatBooking.size()).isEqualTo(1);
-        assertThat(testSeatBooking.get(0)).isEqualTo(this.seatBooking);
+        assertThat(testSeatBooking.get(0)).isEqualTo(seatBookingRow);
 
     }
 
@@ -132,13 +193,15 @@ class SeatBookingServiceTest {
         //given
         long bookingId = 1L;
 
-        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.of(this.seatBooking));
+        SeatBookingRow seatBookingRow = this.projectionFactory.createProjection(SeatBookingRow.class,
+                SeatBookingMapper.toDto(this.seatBooking));
+        given(this.seatBookingRepository.findRowById(bookingId)).willReturn(Optional.of(seatBookingRow));
 
         //when
-        SeatBooking testSeatBooking = this.underTest.getSeatBooking(bookingId);
+        SeatBookingRow testSeatBooking = this.underTest.getSeatBooking(bookingId);
 
         //then
-        assertThat(testSeatBooking).isEqualTo(this.seatBooking);
+        assertThat(testSeatBooking).isEqualTo(seatBookingRow);
 
     }
 
@@ -150,7 +213,7 @@ class SeatBookingServiceTest {
         long bookingId = -1L;
 
         //when
-        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.empty());
+        given(this.seatBookingRepository.findRowById(bookingId)).willReturn(Optional.empty());
 
         //then
         assertThatThrownBy(()->this.underTest.getSeatBooking(bookingId))
@@ -190,22 +253,182 @@ class SeatBookingServiceTest {
         given(this.screeningRepository.findById(screeningId)).willReturn(Optional.of(this.screening));
         given(this.accountRepository.findById(accountId)).willReturn(Optional.of(this.account));
         given(this.seatAuditoriumRepository.findById(seatAuditoriumCK)).willReturn(Optional.of(this.seatAuditorium));
-        given(this.seatBookingRepository.save(SeatBooking.builder()
+        given(this.seatBookingRepository.insertIfSeatFree(SeatBooking.builder()
                 .account(this.account)
                 .screening(this.screening)
                 .seatAuditorium(this.seatAuditorium)
                 .bookedTime(seatBookingDto.getBookedTime())
                 .build())
-        ).willReturn(this.seatBooking);
+        ).willReturn(Optional.of(this.seatBooking.getSeatBookingId()));
 
         //when
         SeatBooking testSeatBooking = this.underTest.addSeatBooking(seatBookingDto);
 
         //then
-        assertThat(testSeatBooking).isEqualTo(this.seatBooking);
+        assertThat(testSeatBooking.getSeatBookingId()).isEqualTo(this.seatBooking.getSeatBookingId());
+        assertThat(testSeatBooking.getBookedTime()).isEqualTo(bookedTime);
+        assertThat(testSeatBooking.getAccount()).isEqualTo(this.account);
+        assertThat(testSeatBooking.getScreening()).isEqualTo(this.screening);
+        assertThat(testSeatBooking.getSeatAuditorium()).isEqualTo(this.seatAuditorium);
 
     }
 
+    @Test
+    @DisplayName("add seat booking - inserts for screenings sharing a mailbox run at the same time")
+    void givenScreeningsOnOneStripe_whenAddSeatBookingAsync_thenInsertConcurrently() throws Exception {
+        //given
+        Screening otherScreening = Screening.builder()
+                .screeningId(3L)
+                .auditorium(this.auditorium)
+                .build();
+        assertThat(this.screeningMailboxes.stripeOf(3L)).isEqualTo(this.screeningMailboxes.stripeOf(1L));
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.screeningRepository.findById(3L)).willReturn(Optional.of(otherScreening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findById(this.seatAuditorium.getId())).willReturn(Optional.of(this.seatAuditorium));
+        CountDownLatch inserting = new CountDownLatch(2);
+        Set<String> insertThreads = ConcurrentHashMap.newKeySet();
+        given(this.seatBookingRepository.insertIfSeatFree(any())).willAnswer(invocation -> {
+            insertThreads.add(Thread.currentThread().getName());
+            inserting.countDown();
+            // each insert only finishes once the other has started
+            return inserting.await(5, TimeUnit.SECONDS)
+                    ? Optional.of(invocation.<SeatBooking>getArgument(0).getScreening().getScreeningId())
+                    : Optional.empty();
+        });
+
+        //when
+        CompletableFuture<SeatBooking> first = this.underTest.addSeatBookingAsync(seatBookingDtoOf(1L));
+        CompletableFuture<SeatBooking> second = this.underTest.addSeatBookingAsync(seatBookingDtoOf(3L));
+
+        //then
+        assertThat(first.get(10, TimeUnit.SECONDS).getSeatBookingId()).isEqualTo(1L);
+        assertThat(second.get(10, TimeUnit.SECONDS).getSeatBookingId()).isEqualTo(3L);
+        assertThat(insertThreads).hasSize(2).noneMatch(thread -> thread.startsWith("screening-mailbox-"));
+    }
+
+    @Test
+    @DisplayName("add seat booking - acknowledges a journaled booking with a drawn id without inserting it")
+    void givenJournalEnabled_whenAddSeatBooking_thenAppendToJournalInsteadOfSaving() {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .seatNumber(1)
+                .rowNumber("A")
+                .auditoriumId(1L)
+                .screeningId(1L)
+                .accountId(1L)
+                .build();
+
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findById(this.seatAuditorium.getId())).willReturn(Optional.of(this.seatAuditorium));
+        given(this.bookingJournal.isAccepting()).willReturn(true);
+        given(this.seatBookingRepository.nextSeatBookingId()).willReturn(42L);
+        given(this.bookingJournal.append(42L, seatBookingDto)).willReturn(true);
+
+        //when
+        SeatBooking testSeatBooking = this.underTest.addSeatBooking(seatBookingDto);
+
+        //then
+        assertThat(testSeatBooking.getSeatBookingId()).isEqualTo(42L);
+        assertThat(testSeatBooking.getSeatAuditorium()).isEqualTo(this.seatAuditorium);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isFalse();
+        verify(this.seatBookingRepository, never()).insertIfSeatFree(any());
+    }
+
+    @Test
+    @DisplayName("add seat booking - throws exception for seat already booked")
+    void givenSeatBookingDto_whenAddSeatBooking_thenThrowsExceptionForSeatAlreadyBooked() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        long auditoriumId = 1L;
+        int seatNumber = 1;
+        String rowNumber = "A";
+        long accountId = 1L;
+        long screeningId = 1L;
+
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .bookedTime(bookedTime)
+                .seatNumber(seatNumber)
+                .rowNumber(rowNumber)
+                .auditoriumId(auditoriumId)
+                .screeningId(screeningId)
+                .accountId(accountId)
+                .build();
+
+        this.seatOccupancyIndex.claim(screeningId, this.seatAuditorium.getId());
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBooking(seatBookingDto))
+                .isInstanceOf(SeatAlreadyBookedException.class)
+                .hasMessageContaining("is already booked for screening Id of " + screeningId);
+
+        verify(this.screeningRepository, never()).findById(screeningId);
+        verify(this.seatBookingRepository, never()).insertIfSeatFree(any(SeatBooking.class));
+    }
+
+    @Test
+    @DisplayName("add seat booking - throws exception when the database already holds the seat")
+    void givenSeatBookedInDatabase_whenAddSeatBooking_thenThrowsExceptionAndKeepsClaim() {
+        //given
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .seatNumber(1)
+                .rowNumber("A")
+                .auditoriumId(1L)
+                .screeningId(1L)
+                .accountId(1L)
+                .build();
+
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findById(this.seatAuditorium.getId())).willReturn(Optional.of(this.seatAuditorium));
+        given(this.seatBookingRepository.insertIfSeatFree(any(SeatBooking.class))).willReturn(Optional.empty());
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBooking(seatBookingDto))
+                .isInstanceOf(SeatAlreadyBookedException.class)
+                .hasMessageContaining("is already booked for screening Id of 1");
+
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("add seat booking - releases the seat when the insert fails")
+    void givenSeatBookingDto_whenAddSeatBookingFailsToSave_thenReleasesSeat() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        long auditoriumId = 1L;
+        int seatNumber = 1;
+        String rowNumber = "A";
+        long accountId = 1L;
+        long screeningId = 1L;
+
+        SeatBookingDto seatBookingDto = SeatBookingDto.builder()
+                .bookedTime(bookedTime)
+                .seatNumber(seatNumber)
+                .rowNumber(rowNumber)
+                .auditoriumId(auditoriumId)
+                .screeningId(screeningId)
+                .accountId(accountId)
+                .build();
+
+        given(this.screeningRepository.findById(screeningId)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(accountId)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findById(this.seatAuditorium.getId())).willReturn(Optional.of(this.seatAuditorium));
+        given(this.seatBookingRepository.insertIfSeatFree(any(SeatBooking.class))).willThrow(new IllegalStateException("db down"));
+
+        //when
+        assertThatThrownBy(()->this.underTest.addSeatBooking(seatBookingDto))
+                .isInstanceOf(IllegalStateException.class);
+
+        //then
+        assertThat(this.seatOccupancyIndex.isFree(screeningId, this.seatAuditorium.getId())).isTrue();
+    }
+
     @Test
     @DisplayName("get seat booking - throw exception for invalid booking time")
     void givenSeatBookingDto_whenAddSeatBooking_thenThrowsExceptionForInvalidBookingTime() {
@@ -461,19 +684,193 @@ class SeatBookingServiceTest {
                         "auditoriumId of %s", seatNumber, rowNumber, auditoriumId));
     }
 
+    @Test
+    @DisplayName("add seat bookings")
+    void givenSeatBookingBatchDto_whenAddSeatBookings_thenReturnListOfSeatBooking() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        SeatId secondSeatId = SeatId.builder()
+                .rowNumber("A")
+                .seatNumber(2)
+                .build();
+
+        SeatAuditorium secondSeatAuditorium = SeatAuditorium.builder()
+                .id(SeatAuditoriumCK.builder()
+                        .auditoriumId(1L)
+                        .seatId(secondSeatId)
+                        .build())
+                .seat(Seat.builder()
+                        .seatId(secondSeatId)
+                        .cost(new BigDecimal(10.10d))
+                        .build())
+                .auditorium(this.auditorium)
+                .build();
+
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .bookedTime(bookedTime)
+                .auditoriumId(1L)
+                .accountId(1L)
+                .screeningId(1L)
+                .seats(List.of(this.seatId, secondSeatId))
+                .build();
+
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findAllByAuditoriumId(1L)).willReturn(List.of(this.seatAuditorium, secondSeatAuditorium));
+        given(this.seatBookingRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        //when
+        List<SeatBooking> testSeatBookings = this.underTest.addSeatBookings(seatBookingBatchDto);
+
+        //then
+        assertThat(testSeatBookings.size()).isEqualTo(2);
+        assertThat(testSeatBookings.get(1).getSeatAuditorium()).isEqualTo(secondSeatAuditorium);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isFalse();
+        assertThat(this.seatOccupancyIndex.isFree(1L, secondSeatAuditorium.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("add seat bookings - books nothing when one seat is taken")
+    void givenSeatBookingBatchDto_whenAddSeatBookingsWithTakenSeat_thenThrowsExceptionAndBooksNothing() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        SeatId secondSeatId = SeatId.builder()
+                .rowNumber("A")
+                .seatNumber(2)
+                .build();
+
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .bookedTime(bookedTime)
+                .auditoriumId(1L)
+                .accountId(1L)
+                .screeningId(1L)
+                .seats(List.of(this.seatId, secondSeatId))
+                .build();
+
+        SeatAuditoriumCK secondSeatAuditoriumCK = SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(secondSeatId)
+                .build();
+        this.seatOccupancyIndex.claim(1L, secondSeatAuditoriumCK);
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBookings(seatBookingBatchDto))
+                .isInstanceOf(SeatAlreadyBookedException.class);
+
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isTrue();
+        verify(this.seatBookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("add seat bookings - a seat the database already holds is a conflict")
+    void givenSeatBookedInDatabase_whenAddSeatBookings_thenThrowsExceptionAndReleasesSeats() {
+        //given
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .auditoriumId(1L)
+                .accountId(1L)
+                .screeningId(1L)
+                .seats(List.of(this.seatId))
+                .build();
+
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findAllByAuditoriumId(1L)).willReturn(List.of(this.seatAuditorium));
+        given(this.seatBookingRepository.saveAll(anyList())).willThrow(new DataIntegrityViolationException(
+                "could not execute batch", new SQLException("Unique index or primary key violation: \"PUBLIC.UK_SEAT_BOOKING_SCREENING_SEAT_INDEX_A\"")));
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBookings(seatBookingBatchDto))
+                .isInstanceOf(SeatAlreadyBookedException.class)
+                .hasMessage("One of the seats is already booked for screening Id of 1");
+
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("add seat bookings - throws exception for duplicate seats")
+    void givenSeatBookingBatchDto_whenAddSeatBookingsWithDuplicateSeat_thenThrowsException() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .bookedTime(bookedTime)
+                .auditoriumId(1L)
+                .accountId(1L)
+                .screeningId(1L)
+                .seats(List.of(this.seatId, SeatId.builder()
+                        .rowNumber("A")
+                        .seatNumber(1)
+                        .build()))
+                .build();
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBookings(seatBookingBatchDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Duplicate seat with row number: A and seat number: 1");
+    }
+
+    @Test
+    @DisplayName("add seat bookings - throws exception for non-existing SeatAuditorium")
+    void givenSeatBookingBatchDto_whenAddSeatBookings_thenThrowsExceptionForNonExistingSeatAuditorium() {
+        //given
+        long bookedTime = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00"));
+        SeatId secondSeatId = SeatId.builder()
+                .rowNumber("Z")
+                .seatNumber(99)
+                .build();
+
+        SeatBookingBatchDto seatBookingBatchDto = SeatBookingBatchDto.builder()
+                .bookedTime(bookedTime)
+                .auditoriumId(1L)
+                .accountId(1L)
+                .screeningId(1L)
+                .seats(List.of(this.seatId, secondSeatId))
+                .build();
+
+        given(this.screeningRepository.findById(1L)).willReturn(Optional.of(this.screening));
+        given(this.accountRepository.findById(1L)).willReturn(Optional.of(this.account));
+        given(this.seatAuditoriumRepository.findAllByAuditoriumId(1L)).willReturn(List.of(this.seatAuditorium));
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.addSeatBookings(seatBookingBatchDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("SeatAuditorium does not exist with row number: Z, seat number: 99");
+
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditorium.getId())).isTrue();
+        verify(this.seatBookingRepository, never()).saveAll(anyList());
+    }
+
+    private static SeatBookingDto seatBookingDtoOf(long screeningId) {
+        return SeatBookingDto.builder()
+                .bookedTime(LocalDateTime.now().toEpochSecond(ZoneOffset.UTC.of("+08:00")))
+                .seatNumber(1)
+                .rowNumber("A")
+                .auditoriumId(1L)
+                .screeningId(screeningId)
+                .accountId(1L)
+                .build();
+    }
+
     @Test
     @DisplayName("delete seat booking")
     void givenBookingId_whenDeleteSeatBooking_thenDoNothing() {
         //given
         long bookingId = 1L;
 
-        given(this.seatBookingRepository.existsById(bookingId)).willReturn(true);
+        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.of(this.seatBooking));
+        this.seatOccupancyIndex.claim(this.screening.getScreeningId(), this.seatAuditorium.getId());
 
         //when
         this.underTest.deleteSeatBooking(bookingId);
 
         //then
         verify(this.seatBookingRepository, times(1)).deleteById(bookingId);
+        assertThat(this.seatOccupancyIndex.isFree(this.screening.getScreeningId(), this.seatAuditorium.getId())).isTrue();
     }
 
     @Test
@@ -482,7 +879,7 @@ class SeatBookingServiceTest {
         //given
         long bookingId = 1L;
 
-        given(this.seatBookingRepository.existsById(bookingId)).willReturn(false);
+        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.empty());
 
         //when
         //then
@@ -491,6 +888,43 @@ class SeatBookingServiceTest {
                 .hasMessageContaining("Seat booking of id" + bookingId + " does not exist");
     }
 
+    @Test
+    @DisplayName("cancel seat booking of a screening")
+    void givenScreeningIdAndBookingId_whenCancelSeatBookingAsync_thenDeleteSeatBooking() {
+        //given
+        long bookingId = 1L;
+
+        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.of(this.seatBooking));
+        this.seatOccupancyIndex.claim(this.screening.getScreeningId(), this.seatAuditorium.getId());
+
+        //when
+        this.underTest.cancelSeatBookingAsync(this.screening.getScreeningId(), bookingId).join();
+
+        //then
+        verify(this.screeningMailboxes).submitBlocking(any());
+        verify(this.seatBookingRepository, times(1)).deleteById(bookingId);
+        assertThat(this.seatOccupancyIndex.isFree(this.screening.getScreeningId(), this.seatAuditorium.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("cancel seat booking of a screening - throws exceptions for booking of another screening")
+    void givenScreeningIdAndBookingId_whenCancelSeatBookingAsync_thenFailForBookingOfAnotherScreening() {
+        //given
+        long bookingId = 1L;
+        long screeningId = 2L;
+
+        given(this.seatBookingRepository.findById(bookingId)).willReturn(Optional.of(this.seatBooking));
+
+        //when
+        CompletableFuture<Void> cancel = this.underTest.cancelSeatBookingAsync(screeningId, bookingId);
+
+        //then
+        assertThatThrownBy(cancel::join)
+                .hasCauseInstanceOf(SeatBookingNotFoundException.class)
+                .hasMessageContaining("Seat booking of id " + bookingId + " does not exist for screening Id of " + screeningId);
+        verify(this.seatBookingRepository, never()).deleteById(bookingId);
+    }
+
     @Test
     @DisplayName("update seat booking")
     void givenBookingIdRowNumberSeatNumberAuditoriumIdScreeningIdUserId_whenUpdateSeatBooking_thenDoNothing(){
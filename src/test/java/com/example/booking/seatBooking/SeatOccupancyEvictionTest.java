@@ -0,0 +1,76 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.screening.ScreeningRepository;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SeatOccupancyEvictionTest {
+
+    private static final long NOW = 1_646_092_800L;
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    private SeatOccupancyIndex seatOccupancyIndex;
+    private SeatOccupancyEviction underTest;
+    private SeatAuditoriumCK seatAuditoriumCK;
+
+    @BeforeEach
+    void setUp(){
+        this.seatOccupancyIndex = new SeatOccupancyIndex();
+        this.underTest = new SeatOccupancyEviction(this.screeningRepository, this.seatOccupancyIndex, 60,
+                Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+        this.seatAuditoriumCK = SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(SeatId.builder()
+                        .rowNumber("A")
+                        .seatNumber(1)
+                        .build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Played and deleted screenings are evicted")
+    void givenPlayedScreening_whenEvictPlayedScreenings_thenKeepOnlyUnplayed(){
+        //given
+        this.seatOccupancyIndex.claim(1L, this.seatAuditoriumCK);
+        this.seatOccupancyIndex.claim(2L, this.seatAuditoriumCK);
+        this.seatOccupancyIndex.claim(3L, this.seatAuditoriumCK);
+        given(this.screeningRepository.findUnplayedScreeningIds(anyCollection(), eq(NOW))).willReturn(List.of(2L));
+
+        //when
+        int evicted = this.underTest.evictPlayedScreenings();
+
+        //then
+        assertThat(evicted).isEqualTo(2);
+        assertThat(this.seatOccupancyIndex.screeningIds()).containsExactly(2L);
+        assertThat(this.seatOccupancyIndex.isFree(2L, this.seatAuditoriumCK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Empty index does not query screenings")
+    void givenEmptyIndex_whenEvictPlayedScreenings_thenEvictNothing(){
+        //when
+        int evicted = this.underTest.evictPlayedScreenings();
+
+        //then
+        assertThat(evicted).isZero();
+    }
+}
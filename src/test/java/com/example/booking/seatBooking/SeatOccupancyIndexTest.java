@@ -0,0 +1,134 @@
+package com.example.booking.seatBooking;
+
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatOccupancyIndexTest {
+
+    private SeatOccupancyIndex underTest;
+    private SeatAuditoriumCK seatAuditoriumCK;
+
+    @BeforeEach
+    void setUp(){
+        this.underTest = new SeatOccupancyIndex();
+        this.seatAuditoriumCK = seatAuditoriumCK(1L, "A", 1);
+    }
+
+    @Test
+    @DisplayName("claim seat")
+    void givenFreeSeat_whenClaim_thenSeatIsTaken() {
+        //when
+        boolean isClaimed = this.underTest.claim(1L, this.seatAuditoriumCK);
+
+        //then
+        assertThat(isClaimed).isTrue();
+        assertThat(this.underTest.isFree(1L, this.seatAuditoriumCK)).isFalse();
+        assertThat(this.underTest.isFree(2L, this.seatAuditoriumCK)).isTrue();
+        assertThat(this.underTest.isFree(1L, seatAuditoriumCK(1L, "A", 2))).isTrue();
+    }
+
+    @Test
+    @DisplayName("claim seat - fails for taken seat")
+    void givenTakenSeat_whenClaim_thenReturnFalse() {
+        //given
+        this.underTest.claim(1L, this.seatAuditoriumCK);
+
+        //when
+        boolean isClaimed = this.underTest.claim(1L, seatAuditoriumCK(1L, "A", 1));
+
+        //then
+        assertThat(isClaimed).isFalse();
+    }
+
+    @Test
+    @DisplayName("release seat")
+    void givenTakenSeat_whenRelease_thenSeatIsFree() {
+        //given
+        this.underTest.claim(1L, this.seatAuditoriumCK);
+
+        //when
+        this.underTest.release(1L, this.seatAuditoriumCK);
+
+        //then
+        assertThat(this.underTest.isFree(1L, this.seatAuditoriumCK)).isTrue();
+        assertThat(this.underTest.claim(1L, this.seatAuditoriumCK)).isTrue();
+    }
+
+    @Test
+    @DisplayName("evict screening")
+    void givenTakenSeats_whenEvict_thenScreeningIsForgotten() {
+        //given
+        this.underTest.claim(1L, this.seatAuditoriumCK);
+        this.underTest.claim(2L, this.seatAuditoriumCK);
+
+        //when
+        this.underTest.evict(1L);
+
+        //then
+        assertThat(this.underTest.screeningIds()).containsExactly(2L);
+        assertThat(this.underTest.isFree(1L, this.seatAuditoriumCK)).isTrue();
+        assertThat(this.underTest.isFree(2L, this.seatAuditoriumCK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("notify listeners of seat changes")
+    void givenListener_whenClaimAndRelease_thenNotifyOncePerChange() {
+        //given
+        List<Boolean> changes = new ArrayList<>();
+        this.underTest.addListener((screeningId, auditoriumId, seatId, isTaken) -> changes.add(isTaken));
+
+        //when
+        this.underTest.claim(1L, this.seatAuditoriumCK);
+        this.underTest.claim(1L, this.seatAuditoriumCK);
+        this.underTest.release(1L, this.seatAuditoriumCK);
+        this.underTest.release(1L, this.seatAuditoriumCK);
+
+        //then
+        assertThat(changes).containsExactly(true, false);
+    }
+
+    @Test
+    @DisplayName("claim seat - only one of many concurrent claims wins")
+    void givenConcurrentClaims_whenClaim_thenOnlyOneSucceeds() throws Exception {
+        //given
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        //when
+        for(int i = 0; i < threads; i++)
+            results.add(executor.submit(() -> this.underTest.claim(1L, seatAuditoriumCK(1L, "A", 1))));
+
+        int wins = 0;
+        for(Future<Boolean> result: results)
+            wins += result.get() ? 1 : 0;
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(wins).isEqualTo(1);
+    }
+
+    private static SeatAuditoriumCK seatAuditoriumCK(long auditoriumId, String rowNumber, int seatNumber){
+        return SeatAuditoriumCK.builder()
+                .auditoriumId(auditoriumId)
+                .seatId(SeatId.builder()
+                        .rowNumber(rowNumber)
+                        .seatNumber(seatNumber)
+                        .build())
+                .build();
+    }
+}
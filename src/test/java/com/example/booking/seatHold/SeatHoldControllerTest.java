@@ -0,0 +1,154 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.account.Account;
+import com.example.booking.auditorium.Auditorium;
+import com.example.booking.exception.SeatHoldNotFoundException;
+import com.example.booking.screening.Screening;
+import com.example.booking.seat.Seat;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditorium;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.SeatBooking;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {SeatHoldController.class})
+class SeatHoldControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SeatHoldService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SeatId seatId;
+    private SeatHold seatHold;
+
+    @BeforeEach
+    void setUp(){
+        this.seatId = SeatId.builder()
+                .rowNumber("A")
+                .seatNumber(1)
+                .build();
+
+        this.seatHold = new SeatHold("hold-1", 1L, 1L, 1L,
+                List.of(SeatAuditoriumCK.builder()
+                        .auditoriumId(1L)
+                        .seatId(this.seatId)
+                        .build()),
+                1_000L);
+    }
+
+    @Test
+    @DisplayName("Post seat hold")
+    void givenSeatHoldDto_whenAddSeatHold_thenReturnSeatHoldDto() throws Exception {
+        //given
+        SeatHoldDto seatHoldDto = SeatHoldDto.builder()
+                .accountId(1L)
+                .screeningId(1L)
+                .auditoriumId(1L)
+                .seats(List.of(this.seatId))
+                .build();
+
+        given(this.service.holdSeats(ArgumentMatchers.any(SeatHoldDto.class))).willReturn(this.seatHold);
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/hold")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(this.objectMapper.writeValueAsString(seatHoldDto)));
+
+        //then
+        response.andExpect(status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.holdId", is("hold-1")))
+                .andExpect(jsonPath("$.state", is("HELD")))
+                .andExpect(jsonPath("$.expiryTime", is(1_000L), Long.class))
+                .andExpect(jsonPath("$.seats[0].rowNumber", is("A")));
+    }
+
+    @Test
+    @DisplayName("Confirm seat hold")
+    void givenHoldId_whenConfirmSeatHold_thenReturnListOfSeatBookingDto() throws Exception {
+        //given
+        Auditorium auditorium = Auditorium.builder()
+                .auditoriumId(1L)
+                .build();
+
+        SeatBooking seatBooking = SeatBooking.builder()
+                .seatBookingId(1L)
+                .bookedTime(1L)
+                .seatAuditorium(SeatAuditorium.builder()
+                        .auditorium(auditorium)
+                        .seat(Seat.builder()
+                                .seatId(this.seatId)
+                                .build())
+                        .build())
+                .screening(Screening.builder()
+                        .screeningId(1L)
+                        .auditorium(auditorium)
+                        .build())
+                .account(Account.builder()
+                        .accountId(1L)
+                        .build())
+                .build();
+
+        given(this.service.confirmSeatHold("hold-1")).willReturn(List.of(seatBooking));
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/hold/{holdId}/confirm", "hold-1"));
+
+        //then
+        response.andExpect(status().isCreated())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].seatBookingId", is(1L), Long.class));
+    }
+
+    @Test
+    @DisplayName("Get seat hold - not found")
+    void givenUnknownHoldId_whenGetSeatHold_thenReturnNotFound() throws Exception {
+        //given
+        given(this.service.getSeatHold("missing")).willThrow(new SeatHoldNotFoundException("Seat hold of id missing does not exist"));
+
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/hold/{holdId}", "missing"));
+
+        //then
+        response.andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Delete seat hold")
+    void givenHoldId_whenDeleteSeatHold_thenReturnNoContent() throws Exception {
+        //when
+        ResultActions response =
+                this.mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/hold/{holdId}", "hold-1"));
+
+        //then
+        response.andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.booking.seatHold;
+
+import com.example.booking.exception.BadRequestException;
+import com.example.booking.exception.SeatHoldNotFoundException;
+import com.example.booking.seat.SeatId;
+import com.example.booking.seatAuditorium.SeatAuditoriumCK;
+import com.example.booking.seatBooking.SeatBooking;
+import com.example.booking.seatBooking.SeatBookingBatchDto;
+import com.example.booking.seatBooking.SeatBookingService;
+import com.example.booking.seatBooking.SeatOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith({MockitoExtension.class})
+class SeatHoldServiceTest {
+
+    @Mock
+    private SeatBookingService seatBookingService;
+
+    private SeatOccupancyIndex seatOccupancyIndex;
+    private SeatHoldService underTest;
+    private SeatAuditoriumCK seatAuditoriumCK;
+    private SeatHoldDto seatHoldDto;
+
+    @BeforeEach
+    void setUp(){
+        this.seatOccupancyIndex = new SeatOccupancyIndex();
+        this.underTest = new SeatHoldService(this.seatBookingService, this.seatOccupancyIndex, 300, 900, 100);
+
+        SeatId seatId = SeatId.builder()
+                .rowNumber("A")
+                .seatNumber(1)
+                .build();
+
+        this.seatAuditoriumCK = SeatAuditoriumCK.builder()
+                .auditoriumId(1L)
+                .seatId(seatId)
+                .build();
+
+        this.seatHoldDto = SeatHoldDto.builder()
+                .accountId(1L)
+                .screeningId(1L)
+                .auditoriumId(1L)
+                .seats(List.of(seatId))
+                .holdSeconds(60L)
+                .build();
+    }
+
+    private void givenSeatsAreClaimed(){
+        given(this.seatBookingService.claimSeats(any(SeatBookingBatchDto.class))).willAnswer(invocation -> {
+            this.seatOccupancyIndex.claim(1L, this.seatAuditoriumCK);
+            return List.of(this.seatAuditoriumCK);
+        });
+    }
+
+    @Test
+    @DisplayName("hold seats")
+    void givenSeatHoldDto_whenHoldSeats_thenReturnSeatHold() {
+        //given
+        givenSeatsAreClaimed();
+        long before = System.currentTimeMillis();
+
+        //when
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+
+        //then
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.HELD);
+        assertThat(seatHold.getSeats()).containsExactly(this.seatAuditoriumCK);
+        assertThat(seatHold.getExpiryTime()).isGreaterThanOrEqualTo(before + 60_000L);
+        assertThat(this.underTest.getSeatHold(seatHold.getHoldId())).isSameAs(seatHold);
+    }
+
+    @Test
+    @DisplayName("hold seats - throws exception for invalid hold seconds")
+    void givenSeatHoldDto_whenHoldSeats_thenThrowsExceptionForInvalidHoldSeconds() {
+        //given
+        this.seatHoldDto.setHoldSeconds(901L);
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.holdSeats(this.seatHoldDto))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Hold seconds must be between 1 and 900");
+    }
+
+    @Test
+    @DisplayName("hold seats without blocking")
+    void givenSeatHoldDto_whenHoldSeatsAsync_thenCompleteWithSeatHold() {
+        //given
+        given(this.seatBookingService.claimSeatsAsync(any(SeatBookingBatchDto.class)))
+                .willReturn(CompletableFuture.completedFuture(List.of(this.seatAuditoriumCK)));
+
+        //when
+        SeatHold seatHold = this.underTest.holdSeatsAsync(this.seatHoldDto).join();
+
+        //then
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.HELD);
+        assertThat(seatHold.getSeats()).containsExactly(this.seatAuditoriumCK);
+        assertThat(this.underTest.getSeatHold(seatHold.getHoldId())).isSameAs(seatHold);
+    }
+
+    @Test
+    @DisplayName("expire seat hold")
+    void givenSeatHold_whenExpired_thenReleaseSeats() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+
+        //when
+        this.underTest.expireHolds(seatHold.getExpiryTime() + 1_000L);
+
+        //then
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.EXPIRED);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditoriumCK)).isTrue();
+        assertThatThrownBy(()->this.underTest.getSeatHold(seatHold.getHoldId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("confirm seat hold")
+    void givenSeatHold_whenConfirmSeatHold_thenReturnSeatBookingsAndKeepSeatsTaken() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+        SeatBooking seatBooking = SeatBooking.builder()
+                .seatBookingId(1L)
+                .build();
+        given(this.seatBookingService.addClaimedSeatBookings(any(SeatBookingBatchDto.class))).willReturn(List.of(seatBooking));
+
+        //when
+        List<SeatBooking> seatBookings = this.underTest.confirmSeatHold(seatHold.getHoldId());
+        this.underTest.expireHolds(seatHold.getExpiryTime() + 1_000L);
+
+        //then
+        ArgumentCaptor<SeatBookingBatchDto> seatBookingBatchDtoArgumentCaptor =
+                ArgumentCaptor.forClass(SeatBookingBatchDto.class);
+        verify(this.seatBookingService).addClaimedSeatBookings(seatBookingBatchDtoArgumentCaptor.capture());
+
+        assertThat(seatBookings).containsExactly(seatBooking);
+        assertThat(seatBookingBatchDtoArgumentCaptor.getValue().getSeats()).containsExactly(this.seatAuditoriumCK.getSeatId());
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.CONFIRMED);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditoriumCK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("confirm seat hold - keeps the hold when booking fails")
+    void givenSeatHold_whenConfirmSeatHoldFails_thenKeepSeatHold() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+        given(this.seatBookingService.addClaimedSeatBookings(any(SeatBookingBatchDto.class)))
+                .willThrow(new BadRequestException("Account does not exist with account Id of 1"));
+
+        //when
+        assertThatThrownBy(()->this.underTest.confirmSeatHold(seatHold.getHoldId()))
+                .isInstanceOf(BadRequestException.class);
+
+        //then
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.HELD);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditoriumCK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("confirm seat hold without blocking")
+    void givenSeatHold_whenConfirmSeatHoldAsync_thenCompleteWithSeatBookings() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+        SeatBooking seatBooking = SeatBooking.builder()
+                .seatBookingId(1L)
+                .build();
+        given(this.seatBookingService.addClaimedSeatBookingsAsync(any(SeatBookingBatchDto.class)))
+                .willReturn(CompletableFuture.completedFuture(List.of(seatBooking)));
+
+        //when
+        List<SeatBooking> seatBookings = this.underTest.confirmSeatHoldAsync(1L, seatHold.getHoldId()).join();
+
+        //then
+        assertThat(seatBookings).containsExactly(seatBooking);
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.CONFIRMED);
+        assertThatThrownBy(()->this.underTest.getSeatHold(seatHold.getHoldId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("confirm seat hold without blocking - keeps the hold when booking fails")
+    void givenSeatHold_whenConfirmSeatHoldAsyncFails_thenKeepSeatHold() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+        given(this.seatBookingService.addClaimedSeatBookingsAsync(any(SeatBookingBatchDto.class)))
+                .willReturn(CompletableFuture.failedFuture(new BadRequestException("Account does not exist with account Id of 1")));
+
+        //when
+        CompletableFuture<List<SeatBooking>> seatBookings = this.underTest.confirmSeatHoldAsync(1L, seatHold.getHoldId());
+
+        //then
+        assertThat(seatBookings).isCompletedExceptionally();
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.HELD);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditoriumCK)).isFalse();
+    }
+
+    @Test
+    @DisplayName("confirm seat hold without blocking - turns away a hold on another screening")
+    void givenSeatHoldOfOtherScreening_whenConfirmSeatHoldAsync_thenThrowSeatHoldNotFoundException() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+
+        //when
+        //then
+        assertThatThrownBy(()->this.underTest.confirmSeatHoldAsync(2L, seatHold.getHoldId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.HELD);
+    }
+
+    @Test
+    @DisplayName("release seat hold")
+    void givenSeatHold_whenReleaseSeatHold_thenReleaseSeats() {
+        //given
+        givenSeatsAreClaimed();
+        SeatHold seatHold = this.underTest.holdSeats(this.seatHoldDto);
+
+        //when
+        this.underTest.releaseSeatHold(seatHold.getHoldId());
+
+        //then
+        assertThat(seatHold.getState()).isEqualTo(SeatHold.State.RELEASED);
+        assertThat(this.seatOccupancyIndex.isFree(1L, this.seatAuditoriumCK)).isTrue();
+        assertThatThrownBy(()->this.underTest.confirmSeatHold(seatHold.getHoldId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+}
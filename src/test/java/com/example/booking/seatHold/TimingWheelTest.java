@@ -0,0 +1,97 @@
+package com.example.booking.seatHold;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private List<Long> expired;
+    private TimingWheel<Long> underTest;
+
+    @BeforeEach
+    void setUp(){
+        this.expired = new ArrayList<>();
+        this.underTest = new TimingWheel<>(TICK_MILLIS, 2, 3, 0L, this.expired::add);
+    }
+
+    @Test
+    @DisplayName("expire item at its deadline")
+    void givenScheduledItem_whenAdvanceTo_thenExpireAtDeadline() {
+        //given
+        this.underTest.schedule(35L, 35L);
+
+        //when
+        this.underTest.advanceTo(30L);
+
+        //then
+        assertThat(this.expired).isEmpty();
+
+        //when
+        this.underTest.advanceTo(40L);
+
+        //then
+        assertThat(this.expired).containsExactly(35L);
+    }
+
+    @Test
+    @DisplayName("expire items on every level and beyond the top wheel")
+    void givenItemsAcrossLevels_whenAdvanceTo_thenEachExpiresOnTime() {
+        //given
+        // 2 bits and 3 levels cover 64 ticks, 1000 needs to be parked and placed again
+        List<Long> deadlines = List.of(20L, 70L, 150L, 330L, 640L, 1000L, 2570L);
+        for(long deadline: deadlines)
+            this.underTest.schedule(deadline, deadline);
+
+        //when
+        //then
+        for(long now = 0; now <= 2600; now += TICK_MILLIS){
+            this.underTest.advanceTo(now);
+            for(long deadline: deadlines)
+                assertThat(this.expired.contains(deadline)).isEqualTo(deadline <= now);
+        }
+    }
+
+    @Test
+    @DisplayName("expire overdue item on next advance")
+    void givenOverdueItem_whenAdvanceTo_thenExpireImmediately() {
+        //given
+        this.underTest.advanceTo(500L);
+        this.underTest.schedule(100L, 100L);
+
+        //when
+        this.underTest.advanceTo(500L);
+
+        //then
+        assertThat(this.expired).containsExactly(100L);
+    }
+
+    @Test
+    @DisplayName("expire items scheduled while time moves on")
+    void givenItemsScheduledOverTime_whenAdvanceTo_thenEachExpiresAfterItsDelay() {
+        //given
+        List<Long> deadlines = new ArrayList<>();
+
+        //when
+        for(long now = 0; now < 3000; now += TICK_MILLIS){
+            long deadline = now + (now * 7 % 900) + 1;
+            deadlines.add(deadline);
+            this.underTest.schedule(deadline, deadline);
+            this.underTest.advanceTo(now);
+
+            //then
+            for(Long item: this.expired)
+                assertThat(item).isLessThanOrEqualTo(now);
+        }
+        this.underTest.advanceTo(5000L);
+
+        assertThat(this.expired).containsExactlyInAnyOrderElementsOf(deadlines);
+    }
+}
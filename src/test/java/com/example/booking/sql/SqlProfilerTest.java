@@ -0,0 +1,166 @@
+package com.example.booking.sql;
+
+import com.example.booking.exception.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlProfilerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlProfiler underTest = new SqlProfiler(
+            new StaticListableBeanFactory(Map.of("meterRegistry", this.meterRegistry)).getBeanProvider(MeterRegistry.class),
+            true, 1.0, 100, 2);
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sqlProfilerTest;DB_CLOSE_DELAY=-1");
+        this.dataSource = this.underTest.wrap(h2);
+        try(Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()){
+            statement.execute("create table film (id bigint primary key, title varchar(50))");
+        }
+        this.underTest.reset();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try(Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()){
+            statement.execute("drop table film");
+        }
+    }
+
+    @Test
+    @DisplayName("Literals and in-lists are replaced by placeholders")
+    void givenSqlWithLiterals_whenNormalize_thenReplaceLiterals() {
+        //when
+        String normalized = SqlProfiler.normalize("select f.id from film f0_\n  where f.title = 'It''s' and f.id in (?, ?, ?) and f.id > 10");
+
+        //then
+        assertThat(normalized).isEqualTo("select f.id from film f0_ where f.title = ? and f.id in (?) and f.id > ?");
+    }
+
+    @Test
+    @DisplayName("Updates and queries are recorded with their rows and endpoint")
+    void givenStatements_whenExecute_thenRecordRowsAndEndpoint() throws SQLException {
+        //given
+        RequestOrigin origin = new RequestOrigin("GET /api/v1/film");
+        RequestOrigin.bind(origin);
+
+        //when
+        try(Connection connection = this.dataSource.getConnection()){
+            for(long id = 1; id <= 3; id++)
+                try(PreparedStatement insert = connection.prepareStatement("insert into film (id, title) values (?, ?)")){
+                    insert.setLong(1, id);
+                    insert.setString(2, "Film " + id);
+                    insert.executeUpdate();
+                }
+            try(PreparedStatement select = connection.prepareStatement("select id from film where id in (?, ?)")){
+                select.setLong(1, 1);
+                select.setLong(2, 2);
+                try(ResultSet resultSet = select.executeQuery()){
+                    while(resultSet.next());
+                }
+            }
+        }
+        finally {
+            RequestOrigin.bind(null);
+        }
+
+        //then
+        List<SqlStatementStatsDto> top = this.underTest.getTopStatements(10, "count");
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).getSql()).isEqualTo("insert into film (id, title) values (?, ?)");
+        assertThat(top.get(0).getCount()).isEqualTo(3);
+        assertThat(top.get(0).getRows()).isEqualTo(3);
+        assertThat(top.get(0).getEndpoints()).containsEntry("GET /api/v1/film", 3L);
+        assertThat(top.get(1).getSql()).isEqualTo("select id from film where id in (?)");
+        assertThat(top.get(1).getRows()).isEqualTo(2);
+        assertThat(origin.getStatements()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Statements without a request are recorded without an endpoint")
+    void givenNoRequest_whenExecute_thenRecordWithoutEndpoint() throws SQLException {
+        //when
+        try(Connection connection = this.dataSource.getConnection(); Statement statement = connection.createStatement()){
+            statement.executeUpdate("insert into film (id, title) values (7, 'Seven')");
+        }
+
+        //then
+        List<SqlStatementStatsDto> top = this.underTest.getTopStatements(10, "total");
+        assertThat(top).hasSize(1);
+        assertThat(top.get(0).getSql()).isEqualTo("insert into film (id, title) values (?, ?)");
+        assertThat(top.get(0).getEndpoints()).containsOnlyKeys(SqlProfiler.NO_ENDPOINT);
+    }
+
+    @Test
+    @DisplayName("Completed requests record their statement count")
+    void givenCompletedRequest_whenRequestCompleted_thenRecordStatementCount() {
+        //given
+        RequestOrigin origin = new RequestOrigin("GET /api/v1/film");
+        origin.countStatement();
+        origin.countStatement();
+        origin.countStatement();
+
+        //when
+        this.underTest.requestCompleted(origin);
+
+        //then
+        assertThat(this.meterRegistry.get(SqlProfiler.STATEMENTS_PER_REQUEST)
+                .tag("endpoint", "GET /api/v1/film").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("The origin is carried to the thread running the task")
+    void givenOrigin_whenPropagate_thenBindOriginOnTask() throws Exception {
+        //given
+        RequestOrigin origin = new RequestOrigin("POST /api/v1/seatbooking");
+        RequestOrigin.bind(origin);
+        RequestOrigin[] seen = new RequestOrigin[1];
+
+        //when
+        try {
+            Supplier<RequestOrigin> task = RequestOrigin.propagate(RequestOrigin::current);
+            Thread thread = new Thread(() -> seen[0] = task.get());
+            thread.start();
+            thread.join();
+        }
+        finally {
+            RequestOrigin.bind(null);
+        }
+
+        //then
+        assertThat(seen[0]).isSameAs(origin);
+    }
+
+    @Test
+    @DisplayName("An unknown order or limit out of range is rejected")
+    void givenInvalidArguments_whenGetTopStatements_thenThrowBadRequest() {
+        assertThatThrownBy(() -> this.underTest.getTopStatements(10, "slowest"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Missing or invalid orderBy");
+        assertThatThrownBy(() -> this.underTest.getTopStatements(0, "total"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Missing or invalid limit");
+    }
+}